@@ -3,37 +3,281 @@
  */
 package com.codingnagger.adventofcode2023;
 
-import com.codingnagger.adventofcode2023.days.Day;
-import com.codingnagger.adventofcode2023.days.Day16;
+import com.codingnagger.adventofcode2023.runner.AnswerCache;
+import com.codingnagger.adventofcode2023.runner.BatchInputs;
+import com.codingnagger.adventofcode2023.runner.BatchResult;
+import com.codingnagger.adventofcode2023.runner.DayRegistry;
+import com.codingnagger.adventofcode2023.runner.DayResult;
+import com.codingnagger.adventofcode2023.runner.DayRunner;
+import com.codingnagger.adventofcode2023.runner.EngineCalibration;
+import com.codingnagger.adventofcode2023.runner.ModelCache;
+import com.codingnagger.adventofcode2023.runner.ModelSnapshots;
+import com.codingnagger.adventofcode2023.runner.PhaseMetrics;
+import com.codingnagger.adventofcode2023.runner.RepeatedRunResult;
+import com.codingnagger.adventofcode2023.runner.RunOptions;
+import com.codingnagger.adventofcode2023.runner.SolveServer;
 import com.codingnagger.adventofcode2023.utils.InputLoader;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
 
-import java.time.Instant;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 public class App {
     public static void main(String[] args) {
-        System.out.println("Advent of Code 2023");
+        var options = RunOptions.parse(args);
+        var reportToConsole = options.report().isPresent() && options.reportFile().isEmpty();
 
-        List<String> input = InputLoader.Load("day16.txt");
+        if (!reportToConsole) {
+            System.out.println("Advent of Code 2023");
+        }
 
-        Day day = new Day16();
+        if (options.server()) {
+            serve(options);
+            return;
+        }
 
-        System.out.println("Part 1:");
-        var partOneStart = Instant.now();
-        System.out.println(day.partOne(input));
-        var partOneEnd = Instant.now();
-        printDurationBetween(partOneStart, partOneEnd);
+        if (options.calibrate()) {
+            calibrate(options);
+            return;
+        }
 
-        System.out.println("Part 2:");
-        var partTwoStart = Instant.now();
-        System.out.println(day.partTwo(input));
-        var partTwoEnd = Instant.now();
-        printDurationBetween(partTwoStart, partTwoEnd);
+        if (options.iterations().isPresent()) {
+            print(recorded(options, () -> runRepeatedly(options)));
+            return;
+        }
+
+        if (options.batch().isPresent()) {
+            print(recorded(options, () -> runBatch(options)));
+            return;
+        }
+
+        var results = recorded(options, () -> run(options));
+
+        if (!reportToConsole) {
+            results.forEach(App::print);
+        }
+
+        options.report().ifPresent(format -> {
+            var report = format.render(results);
+
+            options.reportFile().ifPresentOrElse(file -> {
+                try {
+                    Files.writeString(file, report);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, () -> System.out.print(report));
+        });
+    }
+
+    private static <T> T recorded(RunOptions options, Supplier<T> run) {
+        return options.jfrFile()
+                .map(file -> recorded(file, run))
+                .orElseGet(run);
+    }
+
+    private static <T> T recorded(Path file, Supplier<T> run) {
+        try (var recording = new Recording(Configuration.getConfiguration("profile"))) {
+            recording.setName("advent-of-code");
+            recording.setDestination(file);
+            recording.start();
+
+            try {
+                return run.get();
+            } finally {
+                // Stopping is what writes the recording to its destination.
+                recording.stop();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (ParseException e) {
+            throw new IllegalStateException("Cannot read the JFR profile settings", e);
+        }
+    }
+
+    private static DayRunner runner(RunOptions options, DayRegistry registry, ModelCache modelCache) {
+        return configured(options, options.cache()
+                ? new DayRunner(registry, new AnswerCache(AnswerCache.DEFAULT_DIRECTORY, AnswerCache.DEFAULT_MAX_ENTRIES), modelCache, new ModelSnapshots(ModelSnapshots.DEFAULT_DIRECTORY))
+                : new DayRunner(registry, null, modelCache));
+    }
+
+    private static DayRunner configured(RunOptions options, DayRunner runner) {
+        var configured = options.timeout().map(runner::withDeadline).orElse(runner)
+                .withCalibration(EngineCalibration.load(EngineCalibration.DEFAULT_FILE));
+
+        if (options.threads().isPresent()) {
+            configured = configured.withPool(pool(options));
+        }
+
+        if (options.memoryBudget().isPresent()) {
+            configured = configured.withMemoryBudget(options.memoryBudget().getAsLong());
+        }
+
+        return configured;
+    }
+
+    private static ForkJoinPool pool(RunOptions options) {
+        return options.threads().isPresent() ? new ForkJoinPool(options.threads().getAsInt()) : ForkJoinPool.commonPool();
+    }
+
+    private static List<DayResult> run(RunOptions options) {
+        var registry = DayRegistry.load();
+        var runner = runner(options, registry, null);
+
+        if (options.all()) {
+            return runner.runAll(
+                    dayNumber -> InputLoader.ResourcePath(DayRunner.defaultInputFilename(dayNumber)),
+                    options.parts()
+            );
+        }
+
+        var dayNumber = options.day().orElseGet(registry::latestDayNumber);
+
+        return List.of(runner.run(dayNumber, inputPath(options, dayNumber), options.parts()));
+    }
+
+    private static RepeatedRunResult runRepeatedly(RunOptions options) {
+        var registry = DayRegistry.load();
+        var runner = configured(options, new DayRunner(registry));
+        var dayNumber = options.day().orElseGet(registry::latestDayNumber);
+
+        return runner.runRepeatedly(
+                dayNumber,
+                inputPath(options, dayNumber),
+                options.parts(),
+                options.warmups(),
+                options.iterations().orElseThrow()
+        );
+    }
+
+    private static BatchResult runBatch(RunOptions options) {
+        var registry = DayRegistry.load();
+        var dayNumber = options.day().orElseGet(registry::latestDayNumber);
+        var inputs = BatchInputs.resolve(options.batch().orElseThrow());
+
+        // A batch may hold the same input more than once, so parsed models are kept for the whole run.
+        return runner(options, registry, new ModelCache(options.modelCacheBytes())).runBatch(dayNumber, inputs, options.parts());
     }
 
-    static void printDurationBetween(Instant start, Instant end) {
-        var duration = end.toEpochMilli() - start.toEpochMilli();
-        System.out.printf("Executed in %d:%02d:%02d.%03d%n",
-                duration / 3600000, (duration % 3600000) / 60000, (duration % 60000) / 1000, duration % 1000);
+    private static void serve(RunOptions options) {
+        var registry = DayRegistry.load();
+        var address = new InetSocketAddress(InetAddress.getLoopbackAddress(), options.port());
+        var runner = new DayRunner(registry, null, new ModelCache(options.modelCacheBytes()));
+        var server = SolveServer.start(registry, configured(options, runner), address);
+
+        // The server's dispatcher thread keeps the JVM running until it is interrupted.
+        Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+
+        System.out.println("Solving on http://" + server.address().getHostString() + ":" + server.address().getPort()
+                + "/day/{n}/part/{p}");
+    }
+
+    private static void calibrate(RunOptions options) {
+        var registry = DayRegistry.load();
+        var calibration = EngineCalibration.calibrate(registry, pool(options));
+
+        calibration.save(EngineCalibration.DEFAULT_FILE);
+
+        for (var dayNumber : registry.dayNumbers()) {
+            calibration.sequentialLineLimit(registry.get(dayNumber)).ifPresent(limit -> System.out.println("Day " + dayNumber + ": "
+                    + (limit == EngineCalibration.ALWAYS_SEQUENTIAL ? "sequential at every size" : "sequential up to " + limit + " lines")));
+        }
+
+        System.out.println("Saved to " + EngineCalibration.DEFAULT_FILE);
+    }
+
+    private static Path inputPath(RunOptions options, int dayNumber) {
+        return options.input()
+                .orElseGet(() -> InputLoader.ResourcePath(DayRunner.defaultInputFilename(dayNumber)));
+    }
+
+    static void print(DayResult result) {
+        System.out.println("Day " + result.day() + ":");
+
+        result.potentialFailure().ifPresent(failure -> System.out.println("Failed: " + failure));
+
+        result.potentialPreparation().ifPresent(preparation -> {
+            System.out.println("Parse:");
+            printMetrics(preparation);
+        });
+
+        for (var part : result.parts()) {
+            System.out.println("Part " + part.part().number() + (part.cached() ? " (cached):" : ":"));
+            System.out.println(part.answer());
+            printMetrics(part.metrics());
+        }
+
+        if (!result.counters().isEmpty()) {
+            System.out.println("Counters: " + result.counters().entrySet().stream()
+                    .map(counter -> counter.getKey() + " " + counter.getValue())
+                    .collect(Collectors.joining(", ")));
+        }
+    }
+
+    static void print(RepeatedRunResult result) {
+        System.out.println("Day " + result.day() + ", " + result.iterations() + " iterations after "
+                + result.warmups() + " warm-up iterations:");
+
+        result.latencies().forEach((phase, latencies) -> System.out.printf(
+                "%s: min %s, p50 %s, p90 %s, p99 %s, max %s%n",
+                phase,
+                formatNanos(latencies.min()),
+                formatNanos(latencies.valueAtPercentile(50)),
+                formatNanos(latencies.valueAtPercentile(90)),
+                formatNanos(latencies.valueAtPercentile(99)),
+                formatNanos(latencies.max())
+        ));
+    }
+
+    private static String formatNanos(long nanos) {
+        return String.format("%.3f ms", nanos / 1_000_000.0);
+    }
+
+    static void print(BatchResult result) {
+        System.out.println("Day " + result.day() + " batch:");
+
+        for (var input : result.inputs()) {
+            var dayResult = input.result();
+            var outcome = dayResult.potentialFailure()
+                    .map(failure -> "failed: " + failure)
+                    .orElseGet(() -> dayResult.parts().stream()
+                            .map(part -> "part " + part.part().number() + " = " + part.answer())
+                            .collect(Collectors.joining(", ")));
+
+            System.out.println(input.input() + ": " + outcome);
+        }
+
+        System.out.printf("%d inputs (%d failed) in %.3f s: %.1f inputs/s, %.2f MB/s%n",
+                result.inputs().size(),
+                result.failureCount(),
+                result.elapsed().toNanos() / 1e9,
+                result.inputsPerSecond(),
+                result.megabytesPerSecond());
+    }
+
+    static void printMetrics(PhaseMetrics metrics) {
+        var duration = metrics.wallTime();
+        System.out.printf("Executed in %d:%02d:%02d.%03d",
+                duration.toHours(), duration.toMinutesPart(), duration.toSecondsPart(), duration.toMillisPart());
+
+        if (metrics.hasCpuTime()) {
+            System.out.printf(", cpu %.3f ms", metrics.cpuNanos() / 1_000_000.0);
+        }
+
+        if (metrics.hasAllocatedBytes()) {
+            System.out.printf(", allocated %.1f KiB", metrics.allocatedBytes() / 1024.0);
+        }
+
+        System.out.println();
     }
 }
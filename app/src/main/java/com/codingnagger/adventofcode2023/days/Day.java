@@ -1,7 +1,14 @@
 package com.codingnagger.adventofcode2023.days;
 
+import com.codingnagger.adventofcode2023.utils.SolveContext;
+
 import java.util.List;
 
+/**
+ * A day's puzzle. One instance answers every call, possibly from several threads at once, so implementations keep no
+ * mutable state between calls: whatever a call needs to track is allocated by that call. The pool, memory budget and
+ * counters of the solve in progress are found through {@link SolveContext#current()}.
+ */
 public interface Day {
     String partOne(List<String> input);
 
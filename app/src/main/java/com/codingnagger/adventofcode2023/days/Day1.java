@@ -1,12 +1,14 @@
 package com.codingnagger.adventofcode2023.days;
 
+import com.codingnagger.adventofcode2023.utils.LineShards;
+
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
-public class Day1 implements Day {
+public class Day1 implements StreamingDay {
 
     public static final List<String> NUMERIC_DIGITS = IntStream.rangeClosed(1, 9).mapToObj(String::valueOf).toList();
     public static final Map<String, String> LETTER_DIGITS_MAP = Map.of(
@@ -23,9 +25,14 @@ public class Day1 implements Day {
     public static final Set<String> LETTER_DIGITS = LETTER_DIGITS_MAP.keySet();
     public static final List<String> DIGITS = Stream.concat(NUMERIC_DIGITS.stream(), LETTER_DIGITS.stream()).toList();
 
+    @Override
+    public String partOne(Stream<String> input) {
+        return String.valueOf(input.mapToLong(this::calibrationValue).sum());
+    }
+
     @Override
     public String partOne(List<String> input) {
-        return String.valueOf(input.stream().mapToInt(this::calibrationValue).sum());
+        return String.valueOf(LineShards.sum(input, this::calibrationValue));
     }
 
     private int calibrationValue(String line) {
@@ -37,9 +44,14 @@ public class Day1 implements Day {
         return Integer.parseInt(String.valueOf(numbers.getFirst()) + numbers.getLast());
     }
 
+    @Override
+    public String partTwo(Stream<String> input) {
+        return String.valueOf(input.mapToLong(this::calibrationValuePartTwo).sum());
+    }
+
     @Override
     public String partTwo(List<String> input) {
-        return String.valueOf(input.stream().mapToInt(this::calibrationValuePartTwo).sum());
+        return String.valueOf(LineShards.sum(input, this::calibrationValuePartTwo));
     }
 
     private int calibrationValuePartTwo(String line) {
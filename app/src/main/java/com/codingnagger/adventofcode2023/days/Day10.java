@@ -1,652 +1,298 @@
 package com.codingnagger.adventofcode2023.days;
 
+import com.codingnagger.adventofcode2023.utils.LongArrayDeque;
+import com.codingnagger.adventofcode2023.utils.LongArrayList;
+import com.codingnagger.adventofcode2023.utils.LongOpenHashSet;
+import com.codingnagger.adventofcode2023.utils.grid.ByteGrid;
+import com.codingnagger.adventofcode2023.utils.grid.Direction;
+import com.codingnagger.adventofcode2023.utils.grid.PackedPoint;
+
 import java.util.*;
-import java.util.function.Function;
-import java.util.function.Predicate;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
-import java.util.stream.Stream;
 
-public class Day10 implements Day {
+public class Day10 implements PreparedDay<Day10.SurveyedLandscape> {
     @Override
-    public String partOne(List<String> input) {
-        return AlienLandscape.parse(input).furthestDistance() + "";
+    public SurveyedLandscape prepare(List<String> input) {
+        return AlienLandscape.parse(input).survey();
     }
 
     @Override
-    public String partTwo(List<String> input) {
-        return AlienLandscape.parse(input).nestSurface() + "";
-    }
-
-    record AlienLandscape(MapPosition[][] positions) {
-        private final static Long DEFAULT_DISTANCE = null;
-
-        public static AlienLandscape parse(List<String> input) {
-            return new AlienLandscape(
-                    IntStream.range(0, input.size())
-                            .mapToObj(rowIndex -> {
-                                var row = input.get(rowIndex).toCharArray();
-                                return IntStream.range(0, row.length)
-                                        .mapToObj(colIndex -> {
-                                            var col = row[colIndex];
-                                            return switch (col) {
-                                                case 'S' -> new AnimalStart(colIndex, rowIndex);
-                                                case '|' -> new VerticalPipe(colIndex, rowIndex, DEFAULT_DISTANCE);
-                                                case '-' -> new HorizontalPipe(colIndex, rowIndex, DEFAULT_DISTANCE);
-                                                case 'L' -> new NorthEastBend(colIndex, rowIndex, DEFAULT_DISTANCE);
-                                                case 'J' -> new NorthWestBend(colIndex, rowIndex, DEFAULT_DISTANCE);
-                                                case '7' -> new SouthWestBend(colIndex, rowIndex, DEFAULT_DISTANCE);
-                                                case 'F' -> new SouthEastBend(colIndex, rowIndex, DEFAULT_DISTANCE);
-                                                case '.' -> new Ground(colIndex, rowIndex);
-
-                                                default -> throw new RuntimeException("Unknown map character: " + col);
-                                            };
-                                        }).toArray(MapPosition[]::new);
-                            })
-                            .toArray(MapPosition[][]::new)
-            );
+    public String partOne(SurveyedLandscape model) {
+        if (model.circuit().size() == 1) {
+            throw new NoSuchElementException("No pipe connects to the animal start");
         }
 
-        long furthestDistance() {
-            return pipesWithDistanceFromStartAnimal().stream()
-                    .filter(MapPosition::hasDistance)
-                    .mapToLong(MapPosition::distance)
-                    .max()
-                    .orElseThrow();
-        }
-
-        private Set<MapPosition> pipesWithDistanceFromStartAnimal() {
-            var animalStart = findAnimalStart();
+        return model.furthestDistance() + "";
+    }
 
-            var positionsToVisit = new PriorityQueue<>(Comparator.comparingLong(MapPosition::distance));
-            positionsToVisit.add(animalStart);
-            var newPositions = new HashSet<MapPosition>();
+    @Override
+    public String partTwo(SurveyedLandscape model) {
+        return model.landscape().nestSurface(model.circuit()) + "";
+    }
 
-            while (!positionsToVisit.isEmpty()) {
-                var current = positionsToVisit.poll();
-                var neighbors = getVisitableNeighbors(current).stream()
-                        .map(neighbor ->
-                                newPositions.stream()
-                                        .filter(p -> p.x() == neighbor.x() && p.y() == neighbor.y())
-                                        .findFirst()
-                                        .orElse(neighbor)
-                        )
-                        .toList();
-
-                if (neighbors.isEmpty()) {
-                    continue;
-                }
+    /**
+     * The circuit holds the packed points of the animal start and every pipe connected to it.
+     */
+    record SurveyedLandscape(AlienLandscape landscape, LongOpenHashSet circuit, long furthestDistance) {
+    }
 
-                for (var neighbor : neighbors) {
-                    var newDistance = current.distance() + 1;
+    record AlienLandscape(ByteGrid tiles) {
+        private final static byte GROUND = '.';
+        private final static String MAP_CHARACTERS = "S|-LJ7F.";
+        private final static long UNREACHED = -1;
 
-                    if (neighbor.hasNoDistance() || neighbor.distance() > newDistance) {
-                        newPositions.remove(neighbor);
+        public static AlienLandscape parse(List<String> input) {
+            var tiles = ByteGrid.parse(input);
 
-                        neighbor = switch (neighbor) {
-                            case VerticalPipe v -> new VerticalPipe(v.x(), v.y(), newDistance);
-                            case HorizontalPipe h -> new HorizontalPipe(h.x(), h.y(), newDistance);
-                            case NorthEastBend ne -> new NorthEastBend(ne.x(), ne.y(), newDistance);
-                            case NorthWestBend nw -> new NorthWestBend(nw.x(), nw.y(), newDistance);
-                            case SouthEastBend se -> new SouthEastBend(se.x(), se.y(), newDistance);
-                            case SouthWestBend sw -> new SouthWestBend(sw.x(), sw.y(), newDistance);
-                            default -> throw new IllegalStateException("Illegal map position: " + neighbor);
-                        };
+            for (var i = 0; i < tiles.size(); i++) {
+                var tile = tiles.get(i);
 
-                        newPositions.add(neighbor);
-                        positionsToVisit.add(neighbor);
-                    }
+                if (MAP_CHARACTERS.indexOf(tile) == -1) {
+                    throw new RuntimeException("Unknown map character: " + (char) tile);
                 }
             }
 
-            return newPositions;
+            return new AlienLandscape(tiles);
         }
 
-        private Optional<MapPosition> getWestNeighbor(MapPosition current) {
-            if (current.x() == 0) {
-                return Optional.empty();
-            }
+        private MapPosition position(int index) {
+            var x = tiles.x(index);
+            var y = tiles.y(index);
+            var tile = tiles.get(index);
 
-            return Optional.of(positions[current.y()][current.x() - 1]);
-        }
+            return switch (tile) {
+                case 'S' -> new AnimalStart(x, y);
+                case '|' -> new VerticalPipe(x, y);
+                case '-' -> new HorizontalPipe(x, y);
+                case 'L' -> new NorthEastBend(x, y);
+                case 'J' -> new NorthWestBend(x, y);
+                case '7' -> new SouthWestBend(x, y);
+                case 'F' -> new SouthEastBend(x, y);
+                case GROUND -> new Ground(x, y);
 
-        private Optional<MapPosition> getEastNeighbor(MapPosition current) {
-            if (current.x() == positions[0].length - 1) {
-                return Optional.empty();
-            }
-
-            return Optional.of(positions[current.y()][current.x() + 1]);
+                default -> throw new RuntimeException("Unknown map character: " + (char) tile);
+            };
         }
 
-        private Optional<MapPosition> getNorthNeighbor(MapPosition current) {
-            if (current.y() == 0) {
-                return Optional.empty();
-            }
-
-            return Optional.of(positions[current.y() - 1][current.x()]);
-        }
+        SurveyedLandscape survey() {
+            var animalStart = findAnimalStart();
+            var start = PackedPoint.pack(animalStart.x(), animalStart.y());
 
-        private Optional<MapPosition> getSouthNeighbor(MapPosition current) {
-            if (current.y() == positions.length - 1) {
-                return Optional.empty();
-            }
+            // Every step costs the same, so a breadth-first search over packed points settles each pipe once.
+            var distances = new long[tiles.size()];
+            Arrays.fill(distances, UNREACHED);
+            distances[tiles.index(animalStart.x(), animalStart.y())] = 0;
 
-            return Optional.of(positions[current.y() + 1][current.x()]);
-        }
+            var positionsToVisit = new LongArrayDeque();
+            positionsToVisit.addLast(start);
+            var circuit = new LongOpenHashSet();
+            circuit.add(start);
+            var furthestDistance = 0L;
 
-        private List<MapPosition> getVisitableNeighbors(MapPosition current) {
-            var neighbors = new ArrayList<MapPosition>();
+            while (!positionsToVisit.isEmpty()) {
+                var current = positionsToVisit.removeFirst();
+                var index = tiles.index(PackedPoint.x(current), PackedPoint.y(current));
+                var tile = tiles.get(index);
 
-            if (current.isWestOpen()) {
-                getWestNeighbor(current)
-                        .filter(MapPosition::isEastOpen)
-                        .ifPresent(neighbors::add);
-            }
+                for (var direction : Direction.values()) {
+                    var neighbor = PackedPoint.move(current, direction);
 
-            if (current.isEastOpen()) {
-                getEastNeighbor(current)
-                        .filter(MapPosition::isWestOpen)
-                        .ifPresent(neighbors::add);
-            }
+                    if (!contains(neighbor)
+                            || !opensTowards(tile, direction)
+                            || !opensTowards(tile(neighbor), direction.opposite())) {
+                        continue;
+                    }
 
-            if (current.isNorthOpen()) {
-                getNorthNeighbor(current)
-                        .filter(MapPosition::isSouthOpen)
-                        .ifPresent(neighbors::add);
-            }
+                    var neighborIndex = tiles.index(PackedPoint.x(neighbor), PackedPoint.y(neighbor));
 
-            if (current.isSouthOpen()) {
-                getSouthNeighbor(current)
-                        .filter(MapPosition::isNorthOpen)
-                        .ifPresent(neighbors::add);
+                    if (distances[neighborIndex] == UNREACHED) {
+                        distances[neighborIndex] = distances[index] + 1;
+                        furthestDistance = Math.max(furthestDistance, distances[neighborIndex]);
+                        circuit.add(neighbor);
+                        positionsToVisit.addLast(neighbor);
+                    }
+                }
             }
 
-            return neighbors.stream()
-                    .filter(Predicate.not(AnimalStart.class::isInstance))
-                    .toList();
+            return new SurveyedLandscape(this, circuit, furthestDistance);
         }
 
-        private AnimalStart findAnimalStart() {
-            return Arrays.stream(positions)
-                    .map(Arrays::stream)
-                    .flatMap(stream -> stream.filter(AnimalStart.class::isInstance))
-                    .map(AnimalStart.class::cast)
-                    .findFirst()
-                    .orElseThrow();
+        private static boolean opensTowards(byte tile, Direction direction) {
+            return switch (direction) {
+                case UP -> tile == 'S' || tile == '|' || tile == 'L' || tile == 'J';
+                case DOWN -> tile == 'S' || tile == '|' || tile == '7' || tile == 'F';
+                case LEFT -> tile == 'S' || tile == '-' || tile == 'J' || tile == '7';
+                case RIGHT -> tile == 'S' || tile == '-' || tile == 'L' || tile == 'F';
+            };
         }
 
-        public Long nestSurface() {
-            var allPositions = allPositions();
-            var closedCircuit = Stream.concat(
-                    allPositions.stream().filter(AnimalStart.class::isInstance),
-                    pipesWithDistanceFromStartAnimal().stream()
-            ).collect(Collectors.toSet());
-
-            var ground = groundPositions(allPositions, closedCircuit);
-
-            if (ground.size() != allPositions.stream().filter(Ground.class::isInstance).count()) {
-                return new AlienLandscape(
-                        Arrays.stream(positions)
-                                .map(row -> Arrays.stream(row)
-                                        .map(p -> setContainsPosition(ground, p) ? new Ground(p.x(), p.y()) : p)
-                                        .toArray(MapPosition[]::new)
-                                )
-                                .toArray(MapPosition[][]::new)
-                ).nestSurface();
-            }
+        private AnimalStart findAnimalStart() {
+            var index = tiles.indexOf((byte) 'S');
 
-            if (ground.isEmpty()) {
-                return 0L;
+            if (index == ByteGrid.OUTSIDE) {
+                throw new NoSuchElementException("No animal start on the map");
             }
 
-            var groundPockets = findGroundPockets(ground, closedCircuit);
-
-            var groundPocketsMergedByCommonGround = mergePockets(groundPockets, (p, pocket) ->
-                    p.stream().anyMatch(pp -> setContainsPosition(pocket, pp)));
-            var groundPocketsMergedByNeighbours = mergePockets(groundPocketsMergedByCommonGround, (p, pocket) ->
-                    p.stream().anyMatch(g -> getNeighbors(g)
-                            .stream()
-                            .filter(Ground.class::isInstance)
-                            .map(Ground.class::cast)
-                            .anyMatch(pp -> setContainsPosition(pocket, pp))));
-
-            var alreadyOutsideGroundPockets = groundPocketsMergedByNeighbours.stream()
-                    .filter(p -> p.stream().anyMatch(g -> getNeighbors(g).size() < 4))
-                    .collect(Collectors.toSet());
-
-            var groundOutsideCircuit = alreadyOutsideGroundPockets.stream()
-                    .flatMap(Set::stream)
-                    .collect(Collectors.toSet());
-
-            var escapedGround = groundPocketsMergedByNeighbours.stream()
-                    .filter(Predicate.not(alreadyOutsideGroundPockets::contains))
-                    .filter(p -> p.stream().anyMatch(g -> this.canEscapeCircuit(g, closedCircuit, groundOutsideCircuit)))
-                    .flatMap(Set::stream)
-                    .collect(Collectors.toSet());
-
-            var allEscapedStuff = Stream.concat(
-                    groundOutsideCircuit.stream(),
-                    escapedGround.stream()
-            ).collect(Collectors.toSet());
-            printMap(allPositions, allEscapedStuff);
-
-            return (long) allPositions.size() - closedCircuit.size() - escapedGround.size() - groundOutsideCircuit.size();
+            return (AnimalStart) position(index);
         }
 
-        private boolean canEscapeCircuit(MapPosition g, Set<MapPosition> closedCircuit, Set<MapPosition> outside) {
-            var circuitNeighbors = getNeighbors(g).stream().filter(gg -> setContainsPosition(closedCircuit, gg)).toList();
-
-            var south = circuitNeighbors.stream().filter(n -> n.y() > g.y()).findFirst();
-            if (south.isPresent()) {
-                var southNeighbor = south.get();
-                var latestCircuitPipe = southNeighbor;
+        public long nestSurface(LongOpenHashSet circuit) {
+            var groundCount = tiles.count(GROUND);
 
-                if (!southNeighbor.isNorthOpen() && southNeighbor.isSouthOpen()) {
-                    var southerner = getSouthNeighbor(southNeighbor);
-
-                    while (southerner.isPresent() && southerner.get().isNorthOpen()) {
-                        latestCircuitPipe = southerner.filter(s -> setContainsPosition(closedCircuit, s)).orElse(latestCircuitPipe);
-                        southerner = getSouthNeighbor(southerner.get());
-                    }
+            if (tiles.size() - circuit.size() != groundCount) {
+                var groundedTiles = tiles.copy();
 
-                    if (latestCircuitPipe.isWestOpen() == southNeighbor.isWestOpen() && maybeOutside(outside, southerner)) {
-                        return true;
+                for (var i = 0; i < tiles.size(); i++) {
+                    if (!circuit.contains(PackedPoint.pack(tiles.x(i), tiles.y(i)))) {
+                        groundedTiles.set(i, GROUND);
                     }
                 }
-            }
-
-            var north = circuitNeighbors.stream().filter(n -> n.y() < g.y()).findFirst();
-            if (north.isPresent()) {
-                var northNeighbor = north.get();
-                var latestCircuitPipe = northNeighbor;
-
-                if (!northNeighbor.isSouthOpen() && northNeighbor.isNorthOpen()) {
-                    var northerner = getNorthNeighbor(northNeighbor);
-
-                    while (northerner.isPresent() && northerner.get().isSouthOpen()) {
-                        latestCircuitPipe = northerner.filter(s -> setContainsPosition(closedCircuit, s)).orElse(latestCircuitPipe);
-                        northerner = getNorthNeighbor(northerner.get());
-                    }
 
-                    if (latestCircuitPipe.isWestOpen() == northNeighbor.isWestOpen() && maybeOutside(outside, northerner)) {
-                        return true;
-                    }
-                }
+                // Grounding the stray pipes leaves the loop untouched, so its circuit carries over.
+                return new AlienLandscape(groundedTiles).nestSurface(circuit);
             }
 
-            var west = circuitNeighbors.stream().filter(n -> n.x() < g.x()).findFirst();
-            if (west.isPresent()) {
-                var westNeighbor = west.get();
-                var latestCircuitPipe = westNeighbor;
-
-                if (!westNeighbor.isEastOpen() && westNeighbor.isWestOpen()) {
-                    var wester = getWestNeighbor(westNeighbor);
-
-                    while (wester.isPresent() && wester.get().isEastOpen()) {
-                        latestCircuitPipe = wester.filter(s -> setContainsPosition(closedCircuit, s)).orElse(latestCircuitPipe);
-                        wester = getWestNeighbor(wester.get());
-                    }
-
-                    if (latestCircuitPipe.isNorthOpen() == westNeighbor.isNorthOpen() && maybeOutside(outside, wester)) {
-                        return true;
-                    }
-                }
+            if (groundCount == 0) {
+                return 0L;
             }
 
-            var east = circuitNeighbors.stream().filter(n -> n.x() > g.x()).findFirst();
-            if (east.isPresent()) {
-                var eastNeighbor = east.get();
-                var latestCircuitPipe = eastNeighbor;
+            var groundPockets = findGroundPockets();
+            var outside = new LongOpenHashSet();
 
-                if (!eastNeighbor.isWestOpen() && eastNeighbor.isEastOpen()) {
-                    var easter = getEastNeighbor(eastNeighbor);
+            groundPockets.stream()
+                    .filter(this::touchesEdge)
+                    .forEach(pocket -> pocket.stream().forEach(outside::add));
 
-                    while (easter.isPresent() && easter.get().isWestOpen()) {
-                        latestCircuitPipe = easter.filter(s -> setContainsPosition(closedCircuit, s)).orElse(latestCircuitPipe);
-                        easter = getEastNeighbor(easter.get());
-                    }
+            var escapedGround = groundPockets.stream()
+                    .filter(pocket -> !touchesEdge(pocket))
+                    .filter(pocket -> pocket.stream().anyMatch(g -> canEscapeCircuit(g, circuit, outside)))
+                    .mapToLong(LongArrayList::size)
+                    .sum();
 
-                    if (latestCircuitPipe.isNorthOpen() == eastNeighbor.isNorthOpen() && maybeOutside(outside, easter)) {
-                        return true;
-                    }
-                }
-            }
-
-            return false;
+            return (long) tiles.size() - circuit.size() - outside.size() - escapedGround;
         }
 
-        private static boolean maybeOutside(Set<MapPosition> outside, Optional<MapPosition> position) {
-            if (position.isEmpty()) {
-                return true;
+        private boolean canEscapeCircuit(long ground, LongOpenHashSet circuit, LongOpenHashSet outside) {
+            for (var direction : Direction.values()) {
+                if (canEscapeCircuit(ground, direction, circuit, outside)) {
+                    return true;
+                }
             }
 
-            return position
-                    .filter(Ground.class::isInstance)
-                    .map(Ground.class::cast)
-                    .filter(p -> setContainsPosition(outside, p))
-                    .isPresent();
+            return false;
         }
 
-        private HashSet<Set<MapPosition>> findGroundPockets(Set<Ground> ground, Set<MapPosition> closedCircuit) {
-            var visited = new HashSet<MapPosition>();
-            var groundPockets = new HashSet<Set<MapPosition>>();
-            var currentGroundPocket = new HashSet<MapPosition>();
-            var queue = new ArrayDeque<>(ground);
-
-            while (!queue.isEmpty()) {
-                var current = queue.poll();
-
-                if (visited.contains(current)) {
-                    continue;
-                }
-
-//                System.out.println("\n---\nVisiting: " + current.x() + ", " + current.y());
-                visited.add(current);
-                currentGroundPocket.add(current);
-
-                var neighbors = getNeighbors(current);
-                var groundNeighbors = neighbors.stream()
-                        .filter(Ground.class::isInstance)
-                        .map(Ground.class::cast)
-                        .toList();
-
-                if (!groundNeighbors.isEmpty() && currentGroundPocket.containsAll(groundNeighbors)) {
-                    currentGroundPocket.add(current);
-                    continue;
-                }
+        // Squeezes between the circuit pipe next to the ground and those following it away from the ground, and
+        // escapes when the squeeze ends on the map edge or on ground already known to be outside.
+        private boolean canEscapeCircuit(long ground, Direction direction, LongOpenHashSet circuit, LongOpenHashSet outside) {
+            var neighbor = PackedPoint.move(ground, direction);
 
-                var westVisited = traverseCircuit(current, this::getWestNeighbor);
-                if (westVisited.stream().allMatch(Predicate.not(v -> setContainsPosition(closedCircuit, v)))) {
-                    visited.addAll(westVisited);
-                    currentGroundPocket.addAll(
-                            westVisited.stream().filter(Ground.class::isInstance).map(Ground.class::cast).toList()
-                    );
-                }
+            if (!contains(neighbor) || !circuit.contains(neighbor)) {
+                return false;
+            }
 
-                var eastVisited = traverseCircuit(current, this::getEastNeighbor);
-                if (eastVisited.stream().allMatch(Predicate.not(v -> setContainsPosition(closedCircuit, v)))) {
-                    visited.addAll(eastVisited);
-                    currentGroundPocket.addAll(
-                            eastVisited.stream().filter(Ground.class::isInstance).map(Ground.class::cast).toList()
-                    );
-                }
+            var neighborTile = tile(neighbor);
 
-                var northVisited = traverseCircuit(current, this::getNorthNeighbor);
-                if (northVisited.stream().allMatch(Predicate.not(v -> setContainsPosition(closedCircuit, v)))) {
-                    visited.addAll(northVisited);
-                    currentGroundPocket.addAll(
-                            northVisited.stream().filter(Ground.class::isInstance).map(Ground.class::cast).toList()
-                    );
-                }
+            if (opensTowards(neighborTile, direction.opposite()) || !opensTowards(neighborTile, direction)) {
+                return false;
+            }
 
-                var southVisited = traverseCircuit(current, this::getSouthNeighbor);
-                if (southVisited.stream().allMatch(Predicate.not(v -> setContainsPosition(closedCircuit, v)))) {
-                    visited.addAll(southVisited);
-                    currentGroundPocket.addAll(
-                            southVisited.stream().filter(Ground.class::isInstance).map(Ground.class::cast).toList()
-                    );
-                }
+            var side = direction == Direction.UP || direction == Direction.DOWN ? Direction.LEFT : Direction.UP;
+            var latestCircuitTile = neighborTile;
+            var next = PackedPoint.move(neighbor, direction);
 
-                if (!groundNeighbors.isEmpty() && currentGroundPocket.containsAll(groundNeighbors)) {
-                    currentGroundPocket.add(current);
+            while (contains(next) && opensTowards(tile(next), direction.opposite())) {
+                if (circuit.contains(next)) {
+                    latestCircuitTile = tile(next);
                 }
 
-                groundPockets.add(currentGroundPocket);
-                currentGroundPocket = new HashSet<>();
+                next = PackedPoint.move(next, direction);
             }
-            return groundPockets;
-        }
 
-        private HashSet<Set<MapPosition>> mergePockets(HashSet<Set<MapPosition>> groundPockets, MergeDetector mergeDetector) {
-            var pocketsToMerge = new ArrayDeque<>(groundPockets);
-            var mergedPockets = new HashSet<Set<MapPosition>>();
+            return opensTowards(latestCircuitTile, side) == opensTowards(neighborTile, side)
+                    && (!contains(next) || tile(next) == GROUND && outside.contains(next));
+        }
 
-            while (!pocketsToMerge.isEmpty()) {
-                var pocket = pocketsToMerge.poll();
+        // Every tile off the circuit is ground by now, and pockets are the patches of ground that touch each other.
+        private List<LongArrayList> findGroundPockets() {
+            var visited = new LongOpenHashSet();
+            var groundPockets = new ArrayList<LongArrayList>();
 
-                var mergeablePocket = pocketsToMerge.stream()
-                        .filter(p -> p.stream().anyMatch(pp -> setContainsPosition(pocket, pp)))
-                        .findFirst()
-                        .or(() -> pocketsToMerge.stream()
-                                .filter(p -> mergeDetector.canMerge(pocket, p))
-                                .findFirst()
-                        );
+            for (var i = 0; i < tiles.size(); i++) {
+                var start = PackedPoint.pack(tiles.x(i), tiles.y(i));
 
-                if (mergeablePocket.isEmpty()) {
-                    mergedPockets.add(pocket);
+                if (tiles.get(i) != GROUND || !visited.add(start)) {
                     continue;
                 }
 
-                var definitelyMergeablePocket = mergeablePocket.get();
-                pocketsToMerge.remove(definitelyMergeablePocket);
+                var pocket = new LongArrayList();
+                var queue = new LongArrayDeque();
+                queue.addLast(start);
 
-                pocketsToMerge.add(
-                        Stream.concat(
-                                pocket.stream(),
-                                definitelyMergeablePocket.stream()
-                        ).collect(Collectors.toSet())
-                );
-            }
-            return mergedPockets;
-        }
-
-        private void printMap(List<MapPosition> allPositions, Set<MapPosition> groundOutsideLoop) {
-            var minX = allPositions.stream().mapToInt(MapPosition::x).min().orElseThrow();
-            var maxX = allPositions.stream().mapToInt(MapPosition::x).max().orElseThrow();
-            var minY = allPositions.stream().mapToInt(MapPosition::y).min().orElseThrow();
-            var maxY = allPositions.stream().mapToInt(MapPosition::y).max().orElseThrow();
+                while (!queue.isEmpty()) {
+                    var current = queue.removeFirst();
+                    pocket.add(current);
 
-            System.out.println();
+                    for (var direction : Direction.values()) {
+                        var neighbor = PackedPoint.move(current, direction);
 
-            for (var y = minY; y <= maxY; y++) {
-                for (var x = minX; x <= maxX; x++) {
-                    if (setContainsPosition(groundOutsideLoop, positions[y][x])) {
-                        System.out.print("0");
-                        continue;
-                    }
-
-                    switch (positions[y][x]) {
-                        case AnimalStart _ -> System.out.print("S");
-                        case VerticalPipe _ -> System.out.print("|");
-                        case HorizontalPipe _ -> System.out.print("-");
-                        case NorthEastBend _ -> System.out.print("L");
-                        case NorthWestBend _ -> System.out.print("J");
-                        case SouthEastBend _ -> System.out.print("F");
-                        case SouthWestBend _ -> System.out.print("7");
-//                        case Pipe _ -> System.out.print("#");
-                        case Ground g -> System.out.print(".");
-                        default -> throw new IllegalStateException("Unexpected value: " + positions[y][x]);
+                        if (contains(neighbor) && tile(neighbor) == GROUND && visited.add(neighbor)) {
+                            queue.addLast(neighbor);
+                        }
                     }
                 }
-                System.out.println();
-            }
-        }
-
-        private static HashSet<MapPosition> traverseCircuit(MapPosition start, Function<MapPosition, Optional<MapPosition>> nextPosition) {
-            var visited = new HashSet<MapPosition>();
 
-            var current = nextPosition.apply(start);
-
-            while (current.isPresent()) {
-                visited.add(current.get());
-                current = nextPosition.apply(current.get());
+                groundPockets.add(pocket);
             }
 
-            return visited;
-        }
-
-        private static boolean setContainsPosition(Set<? extends MapPosition> closedCircuit, MapPosition mapPosition) {
-            return closedCircuit.stream().anyMatch(p -> p.x() == mapPosition.x() && p.y() == mapPosition.y());
+            return groundPockets;
         }
 
-        private List<MapPosition> getNeighbors(MapPosition current) {
-            var neighbors = new ArrayList<MapPosition>();
-
-            getWestNeighbor(current).ifPresent(neighbors::add);
-            getEastNeighbor(current).ifPresent(neighbors::add);
-            getNorthNeighbor(current).ifPresent(neighbors::add);
-            getSouthNeighbor(current).ifPresent(neighbors::add);
+        private boolean touchesEdge(LongArrayList pocket) {
+            return pocket.stream().anyMatch(g -> {
+                var x = PackedPoint.x(g);
+                var y = PackedPoint.y(g);
 
-            return neighbors;
+                return x == 0 || y == 0 || x == tiles.width() - 1 || y == tiles.height() - 1;
+            });
         }
 
-        private static Set<Ground> groundPositions(List<MapPosition> positions, Set<MapPosition> closedCircuit) {
-            return positions
-                    .stream()
-                    .filter(Predicate.not(p -> setContainsPosition(closedCircuit, p)))
-                    .map(p -> p instanceof Ground ground ? ground : new Ground(p.x(), p.y()))
-                    .collect(Collectors.toSet());
+        private boolean contains(long point) {
+            return tiles.contains(PackedPoint.x(point), PackedPoint.y(point));
         }
 
-        private List<MapPosition> allPositions() {
-            return Arrays.stream(positions)
-                    .flatMap(row -> Arrays.stream(row, 0, row.length))
-                    .toList();
+        private byte tile(long point) {
+            return tiles.get(PackedPoint.x(point), PackedPoint.y(point));
         }
     }
 
-    interface MergeDetector {
-        boolean canMerge(Set<MapPosition> pocket1, Set<MapPosition> pocket2);
-    }
-
     interface MapPosition {
         int x();
 
         int y();
-
-        default boolean isNorthOpen() {
-            return false;
-        }
-
-        default boolean isWestOpen() {
-            return false;
-        }
-
-        default boolean isEastOpen() {
-            return false;
-        }
-
-        default boolean isSouthOpen() {
-            return false;
-        }
-
-        default Long distance() {
-            return null;
-        }
-
-        default Optional<Long> potentialDistance() {
-            return Optional.ofNullable(distance());
-        }
-
-        default boolean hasDistance() {
-            return potentialDistance().isPresent();
-        }
-
-        default boolean hasNoDistance() {
-            return !hasDistance();
-        }
     }
 
     interface Pipe extends MapPosition {
     }
 
     record AnimalStart(int x, int y) implements Pipe {
-        @Override
-        public boolean isEastOpen() {
-            return true;
-        }
-
-        @Override
-        public boolean isWestOpen() {
-            return true;
-        }
-
-        @Override
-        public boolean isNorthOpen() {
-            return true;
-        }
-
-        @Override
-        public boolean isSouthOpen() {
-            return true;
-        }
-
-        @Override
-        public Long distance() {
-            return 0L;
-        }
     }
 
-    record VerticalPipe(int x, int y, Long distance) implements Pipe {
-        @Override
-        public boolean isNorthOpen() {
-            return true;
-        }
-
-        @Override
-        public boolean isSouthOpen() {
-            return true;
-        }
+    record VerticalPipe(int x, int y) implements Pipe {
     }
 
-    record HorizontalPipe(int x, int y, Long distance) implements Pipe {
-        @Override
-        public boolean isWestOpen() {
-            return true;
-        }
-
-        @Override
-        public boolean isEastOpen() {
-            return true;
-        }
+    record HorizontalPipe(int x, int y) implements Pipe {
     }
 
-    record NorthEastBend(int x, int y, Long distance) implements Pipe {
-        @Override
-        public boolean isNorthOpen() {
-            return true;
-        }
-
-        @Override
-        public boolean isEastOpen() {
-            return true;
-        }
+    record NorthEastBend(int x, int y) implements Pipe {
     }
 
-    record NorthWestBend(int x, int y, Long distance) implements Pipe {
-        @Override
-        public boolean isNorthOpen() {
-            return true;
-        }
-
-        @Override
-        public boolean isWestOpen() {
-            return true;
-        }
+    record NorthWestBend(int x, int y) implements Pipe {
     }
 
-    record SouthEastBend(int x, int y, Long distance) implements Pipe {
-        @Override
-        public boolean isSouthOpen() {
-            return true;
-        }
-
-        @Override
-        public boolean isEastOpen() {
-            return true;
-        }
+    record SouthEastBend(int x, int y) implements Pipe {
     }
 
-    record SouthWestBend(int x, int y, Long distance) implements Pipe {
-        @Override
-        public boolean isSouthOpen() {
-            return true;
-        }
-
-        @Override
-        public boolean isWestOpen() {
-            return true;
-        }
+    record SouthWestBend(int x, int y) implements Pipe {
     }
 
     record Ground(int x, int y) implements MapPosition {
@@ -1,10 +1,10 @@
 package com.codingnagger.adventofcode2023.days;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 import java.util.function.Predicate;
 import java.util.stream.IntStream;
-import java.util.stream.LongStream;
 
 public class Day11 implements Day {
     @Override
@@ -23,37 +23,21 @@ public class Day11 implements Day {
 
     record GalaxyMap(long spaceMultiplier, List<Galaxy> galaxies) {
         public GalaxyMap expand() {
-            var minGalaxyX = galaxies.stream().mapToLong(Galaxy::x).min().orElseThrow();
-            var maxGalaxyX = galaxies.stream().mapToLong(Galaxy::x).max().orElseThrow();
-            var minGalaxyY = galaxies.stream().mapToLong(Galaxy::y).min().orElseThrow();
-            var maxGalaxyY = galaxies.stream().mapToLong(Galaxy::y).max().orElseThrow();
-
-            var rowsToExpand = LongStream.rangeClosed(minGalaxyY, maxGalaxyY)
-                    .filter(y -> galaxies.stream().noneMatch(galaxy -> galaxy.y() == y))
-                    .boxed()
-                    .toList();
-
-            var colsToExpand = LongStream.rangeClosed(minGalaxyX, maxGalaxyX)
-                    .filter(x -> galaxies.stream().noneMatch(galaxy -> galaxy.x() == x))
-                    .boxed()
-                    .toList();
+            var occupiedXs = galaxies.stream().mapToLong(Galaxy::x).sorted().distinct().toArray();
+            var occupiedYs = galaxies.stream().mapToLong(Galaxy::y).sorted().distinct().toArray();
 
             return new GalaxyMap(spaceMultiplier, galaxies.stream()
-                    .map(galaxy ->
-                            new Galaxy(
-                                    galaxy.x(),
-                                    galaxy.y() + (spaceMultiplier - 1) * rowsToExpand.stream().filter(y -> y < galaxy.y()).count()
-                            )
-                    )
-                    .map(galaxy ->
-                            new Galaxy(
-                                    galaxy.x() + (spaceMultiplier - 1) * colsToExpand.stream().filter(x -> x < galaxy.x()).count(),
-                                    galaxy.y()
-                            )
-                    ).toList()
+                    .map(galaxy -> new Galaxy(expand(galaxy.x(), occupiedXs), expand(galaxy.y(), occupiedYs)))
+                    .toList()
             );
         }
 
+        private long expand(long coordinate, long[] occupied) {
+            // Every coordinate between the first galaxy and this one that no galaxy occupies is empty space.
+            var emptyBefore = coordinate - occupied[0] - Arrays.binarySearch(occupied, coordinate);
+            return coordinate + (spaceMultiplier - 1) * emptyBefore;
+        }
+
         public static GalaxyMap parse(long spaceMultiplier, List<String> input) {
             return new GalaxyMap(
                     spaceMultiplier,
@@ -87,9 +71,21 @@ public class Day11 implements Day {
         }
 
         public long sumShortestDistances() {
-            return galaxyPairs().stream()
-                    .mapToLong(galaxyPair -> galaxyPair.left().distanceTo(galaxyPair.right()))
-                    .sum();
+            return sumOfDistances(galaxies.stream().mapToLong(Galaxy::x).sorted().toArray())
+                    + sumOfDistances(galaxies.stream().mapToLong(Galaxy::y).sorted().toArray());
+        }
+
+        private static long sumOfDistances(long[] sortedCoordinates) {
+            // Distances split per axis, where the i-th smallest coordinate lies past i others, so no pair is built.
+            var sum = 0L;
+            var preceding = 0L;
+
+            for (var i = 0; i < sortedCoordinates.length; i++) {
+                sum += sortedCoordinates[i] * i - preceding;
+                preceding += sortedCoordinates[i];
+            }
+
+            return sum;
         }
     }
 
@@ -1,5 +1,9 @@
 package com.codingnagger.adventofcode2023.days;
 
+import com.codingnagger.adventofcode2023.utils.Cancellation;
+import com.codingnagger.adventofcode2023.utils.LineShards;
+import com.codingnagger.adventofcode2023.utils.SolveContext;
+
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
@@ -7,27 +11,41 @@ import java.util.Set;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+public class Day12 implements StreamingDay {
+    @Override
+    public String partOne(Stream<String> input) {
+        return input.mapToLong(Day12::arrangementCount).sum() + "";
+    }
 
-public class Day12 implements Day {
     @Override
     public String partOne(List<String> input) {
-        return input.stream()
-                .map(SpringRow::parse)
-                .mapToInt(SpringRow::countPotentialDamagedSpringArrangements)
-                .sum() + "";
+        return LineShards.sum(input, Day12::arrangementCount) + "";
+    }
+
+    @Override
+    public String partTwo(Stream<String> input) {
+        return input.mapToLong(Day12::unfoldedArrangementCount).sum() + "";
     }
 
     @Override
     public String partTwo(List<String> input) {
-        return input.stream()
-                .map(SpringRow::parse)
-                .map(SpringRow::unfold)
-                .mapToInt(SpringRow::countPotentialDamagedSpringArrangements)
-                .sum() + "";
+        return LineShards.sum(input, Day12::unfoldedArrangementCount) + "";
+    }
+
+    private static int arrangementCount(String line) {
+        return SpringRow.parse(line).countPotentialDamagedSpringArrangements();
+    }
+
+    private static int unfoldedArrangementCount(String line) {
+        return SpringRow.parse(line).unfold().countPotentialDamagedSpringArrangements();
     }
 
     record SpringRow(String definition, int[] damagedSpringCounts) {
         public static final int REPEAT_COUNT = 5;
+        // A compact string plus its hash set entry, on top of one byte per spring.
+        private static final long ARRANGEMENT_OVERHEAD_BYTES = 80;
         private static final Pattern DAMAGED_SPRING_PATTERN = Pattern.compile("(#+)");
 
         public static SpringRow parse(String rowDefinition) {
@@ -49,6 +67,8 @@ public class Day12 implements Day {
         public Set<String> generateDamagedSpringArrangements() {
             var arrangements = generateArrangements(definition, damagedSpringCounts);
 
+            SolveContext.current().counter("arrangements").add(arrangements.size());
+
             return new HashSet<>(arrangements)
                     .stream()
                     .filter(this::validateArrangement)
@@ -56,6 +76,8 @@ public class Day12 implements Day {
         }
 
         private Set<String> generateArrangements(String arrangement, int[] damagedSpringCounts) {
+            Cancellation.checkpoint();
+
             var springIndex = IntStream.range(0, damagedSpringCounts.length)
                     .filter(i -> damagedSpringCounts[i] > 0)
                     .findFirst()
@@ -72,10 +94,16 @@ public class Day12 implements Day {
             var springCountsDamagedBranch = Arrays.copyOf(damagedSpringCounts, damagedSpringCounts.length);
             springCountsDamagedBranch[springIndex]--;
 
-            var next = new HashSet<String>();
+            var damagedBranch = generateArrangements(arrangement.replaceFirst("\\?", "#"), springCountsDamagedBranch);
+            var operationalBranch = generateArrangements(arrangement.replaceFirst("\\?", "."), damagedSpringCounts);
+            var arrangementCount = damagedBranch.size() + operationalBranch.size();
+
+            // Checked before the merged set is allocated, so an oversized row fails instead of growing it.
+            SolveContext.current().requireMemory(arrangementCount * (ARRANGEMENT_OVERHEAD_BYTES + arrangement.length()), "Spring arrangements");
 
-            next.addAll(generateArrangements(arrangement.replaceFirst("\\?", "#"), springCountsDamagedBranch));
-            next.addAll(generateArrangements(arrangement.replaceFirst("\\?", "."), damagedSpringCounts));
+            var next = HashSet.<String>newHashSet(arrangementCount);
+            next.addAll(damagedBranch);
+            next.addAll(operationalBranch);
 
             return next;
         }
@@ -1,5 +1,7 @@
 package com.codingnagger.adventofcode2023.days;
 
+import com.codingnagger.adventofcode2023.utils.grid.ByteGrid;
+
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -26,15 +28,11 @@ public class Day13 implements Day {
                     continue;
                 }
 
-                pages.add(new PatternNotePage(
-                        currentPageLines.stream().map(String::toCharArray).toArray(char[][]::new)
-                ));
+                pages.add(new PatternNotePage(ByteGrid.parse(currentPageLines)));
                 currentPageLines = new ArrayList<>();
             }
 
-            pages.add(new PatternNotePage(
-                    currentPageLines.stream().map(String::toCharArray).toArray(char[][]::new)
-            ));
+            pages.add(new PatternNotePage(ByteGrid.parse(currentPageLines)));
 
             return new Notebook(pages);
         }
@@ -58,7 +56,7 @@ public class Day13 implements Day {
         }
     }
 
-    record PatternNotePage(char[][] page) {
+    record PatternNotePage(ByteGrid page) {
         public int columnCountBeforeMirror() {
             var verticalAxis = findVerticalMirrorAxisInRow(0);
 
@@ -67,7 +65,7 @@ public class Day13 implements Day {
             }
 
             return verticalAxis.stream()
-                    .filter(axis -> IntStream.range(1, page.length)
+                    .filter(axis -> IntStream.range(1, page.height())
                             .allMatch(row -> isVerticallyMirroredRow(row, axis)))
                     .mapToInt(axis -> axis + 1)
                     .sum();
@@ -76,7 +74,7 @@ public class Day13 implements Day {
         private List<Integer> findVerticalMirrorAxisInRow(int row) {
             var result = new ArrayList<Integer>();
 
-            for (var x = 0; x <= page[row].length; x++) {
+            for (var x = 0; x <= page.width(); x++) {
                 if (isVerticallyMirroredRow(row, x)) {
                     result.add(x);
                 }
@@ -89,27 +87,27 @@ public class Day13 implements Day {
             var left = x;
             var right = x + 1;
 
-            if (right == page[row].length) {
+            if (right == page.width()) {
                 return false;
             }
 
-            while (left >= 0 && right < page[row].length
-                    && page[row][left] == page[row][right]) {
+            while (left >= 0 && right < page.width()
+                    && page.get(left, row) == page.get(right, row)) {
                 left--;
                 right++;
             }
 
-            return left == -1 || right == page[row].length;
+            return left == -1 || right == page.width();
         }
 
         public Optional<Long> rowsCountAboveMirror() {
             return findHorizontalMirrorAxis()
                     .map(i -> i + 1L)
-                    .filter(i -> i != 0 && i != page.length);
+                    .filter(i -> i != 0 && i != page.height());
         }
 
         private Optional<Integer> findHorizontalMirrorAxis() {
-            for (var y = 0; y <= page.length; y++) {
+            for (var y = 0; y <= page.height(); y++) {
                 if (isHorizontallyMirroredRow(y)) {
                     return Optional.of(y);
                 }
@@ -122,12 +120,8 @@ public class Day13 implements Day {
             var top = y;
             var bottom = y + 1;
 
-            while (top >= 0 && bottom < page.length) {
-                final var lambdaTop = top;
-                final var lambdaBottom = bottom;
-
-                if (!IntStream.range(0, page[top].length)
-                        .allMatch(x -> page[lambdaTop][x] == page[lambdaBottom][x])) {
+            while (top >= 0 && bottom < page.height()) {
+                if (!page.rowsEqual(top, bottom)) {
                     return false;
                 }
 
@@ -136,7 +130,7 @@ public class Day13 implements Day {
             }
 
 
-            return top == -1 || bottom == page.length;
+            return top == -1 || bottom == page.height();
         }
     }
 }
@@ -1,7 +1,9 @@
 package com.codingnagger.adventofcode2023.days;
 
-import java.util.Arrays;
-import java.util.HashMap;
+import com.codingnagger.adventofcode2023.utils.Cancellation;
+import com.codingnagger.adventofcode2023.utils.grid.ByteGrid;
+
+import java.util.HashSet;
 import java.util.List;
 import java.util.stream.IntStream;
 
@@ -16,45 +18,47 @@ public class Day14 implements Day {
         return Platform.parse(input).calculateLoadAfterOneBillionCycles() + "";
     }
 
-    record Platform(char[][] spaces) {
+    record Platform(ByteGrid spaces) {
         private final static int ONE_BILLION = 1_000_000_000;
+        private final static byte ROUNDED_ROCK = 'O';
+        private final static byte EMPTY = '.';
 
         public static Platform parse(List<String> input) {
-            return new Platform(
-                    input.stream()
-                            .map(String::toCharArray)
-                            .toArray(char[][]::new)
-            );
+            return new Platform(ByteGrid.parse(input));
         }
 
         public long calculateLoad() {
-            return IntStream.range(0, spaces.length)
+            return IntStream.range(0, spaces.height())
                     .mapToLong(row ->
-                            IntStream.range(0, spaces[row].length)
-                                    .filter(col -> spaces[row][col] == 'O')
-                                    .count() * (spaces.length - row)
+                            IntStream.range(0, spaces.width())
+                                    .filter(col -> spaces.get(col, row) == ROUNDED_ROCK)
+                                    .count() * (spaces.height() - row)
                     )
                     .sum();
         }
 
+        private ByteGrid withoutRoundedRocks() {
+            var newSpaces = spaces.copy();
+            newSpaces.replaceAll(ROUNDED_ROCK, EMPTY);
+            return newSpaces;
+        }
+
         public Platform tiltNorth() {
-            var newSpaces = Arrays.stream(spaces)
-                    .map(space -> new String(space).replaceAll("O", ".").toCharArray())
-                    .toArray(char[][]::new);
+            var newSpaces = withoutRoundedRocks();
 
-            for (var row = 0; row < spaces.length; row++) {
-                for (var col = 0; col < spaces[row].length; col++) {
-                    if (spaces[row][col] != 'O') {
+            for (var row = 0; row < spaces.height(); row++) {
+                for (var col = 0; col < spaces.width(); col++) {
+                    if (spaces.get(col, row) != ROUNDED_ROCK) {
                         continue;
                     }
 
                     var furthestNorth = row;
 
-                    while (furthestNorth > 0 && newSpaces[furthestNorth - 1][col] == '.') {
+                    while (furthestNorth > 0 && newSpaces.get(col, furthestNorth - 1) == EMPTY) {
                         furthestNorth--;
                     }
 
-                    newSpaces[furthestNorth][col] = spaces[row][col];
+                    newSpaces.set(col, furthestNorth, ROUNDED_ROCK);
                 }
             }
 
@@ -62,23 +66,21 @@ public class Day14 implements Day {
         }
 
         public Platform tiltSouth() {
-            var newSpaces = Arrays.stream(spaces)
-                    .map(space -> new String(space).replaceAll("O", ".").toCharArray())
-                    .toArray(char[][]::new);
+            var newSpaces = withoutRoundedRocks();
 
-            for (var row = spaces.length - 1; row >= 0; row--) {
-                for (var col = 0; col < spaces[row].length; col++) {
-                    if (spaces[row][col] != 'O') {
+            for (var row = spaces.height() - 1; row >= 0; row--) {
+                for (var col = 0; col < spaces.width(); col++) {
+                    if (spaces.get(col, row) != ROUNDED_ROCK) {
                         continue;
                     }
 
                     var furthestSouth = row;
 
-                    while (furthestSouth < spaces.length - 1 && newSpaces[furthestSouth + 1][col] == '.') {
+                    while (furthestSouth < spaces.height() - 1 && newSpaces.get(col, furthestSouth + 1) == EMPTY) {
                         furthestSouth++;
                     }
 
-                    newSpaces[furthestSouth][col] = spaces[row][col];
+                    newSpaces.set(col, furthestSouth, ROUNDED_ROCK);
                 }
             }
 
@@ -86,23 +88,21 @@ public class Day14 implements Day {
         }
 
         public Platform tiltEast() {
-            var newSpaces = Arrays.stream(spaces)
-                    .map(space -> new String(space).replaceAll("O", ".").toCharArray())
-                    .toArray(char[][]::new);
+            var newSpaces = withoutRoundedRocks();
 
-            for (var row = 0; row < spaces.length; row++) {
-                for (var col = spaces[row].length - 1; col >= 0; col--) {
-                    if (spaces[row][col] != 'O') {
+            for (var row = 0; row < spaces.height(); row++) {
+                for (var col = spaces.width() - 1; col >= 0; col--) {
+                    if (spaces.get(col, row) != ROUNDED_ROCK) {
                         continue;
                     }
 
                     var furthestEast = col;
 
-                    while (furthestEast < spaces[row].length - 1 && newSpaces[row][furthestEast + 1] == '.') {
+                    while (furthestEast < spaces.width() - 1 && newSpaces.get(furthestEast + 1, row) == EMPTY) {
                         furthestEast++;
                     }
 
-                    newSpaces[row][furthestEast] = spaces[row][col];
+                    newSpaces.set(furthestEast, row, ROUNDED_ROCK);
                 }
             }
 
@@ -110,23 +110,21 @@ public class Day14 implements Day {
         }
 
         public Platform tiltWest() {
-            var newSpaces = Arrays.stream(spaces)
-                    .map(space -> new String(space).replaceAll("O", ".").toCharArray())
-                    .toArray(char[][]::new);
+            var newSpaces = withoutRoundedRocks();
 
-            for (var row = 0; row < spaces.length; row++) {
-                for (var col = 0; col < spaces[row].length; col++) {
-                    if (spaces[row][col] != 'O') {
+            for (var row = 0; row < spaces.height(); row++) {
+                for (var col = 0; col < spaces.width(); col++) {
+                    if (spaces.get(col, row) != ROUNDED_ROCK) {
                         continue;
                     }
 
                     var furthestWest = col;
 
-                    while (furthestWest > 0 && newSpaces[row][furthestWest - 1] == '.') {
+                    while (furthestWest > 0 && newSpaces.get(furthestWest - 1, row) == EMPTY) {
                         furthestWest--;
                     }
 
-                    newSpaces[row][furthestWest] = spaces[row][col];
+                    newSpaces.set(furthestWest, row, ROUNDED_ROCK);
                 }
             }
 
@@ -134,29 +132,30 @@ public class Day14 implements Day {
         }
 
         public Platform cycle() {
+            // Finding the loop can take hundreds of cycles on a big platform, so each one looks for cancellation.
+            Cancellation.checkpoint();
+
             return tiltNorth().tiltWest().tiltSouth().tiltEast();
         }
 
         public long calculateLoadAfterOneBillionCycles() {
             var cycleDetectionCursor = this;
 
-            var visited = new HashMap<String, Boolean>();
+            var visited = new HashSet<ByteGrid>();
             int firstRepeatCount = 0;
 
             for (var i = 0; i < ONE_BILLION; i++) {
-                var cacheKey = Arrays.deepToString(cycleDetectionCursor.spaces);
-                if (visited.containsKey(cacheKey)) {
+                if (!visited.add(cycleDetectionCursor.spaces)) {
                     firstRepeatCount = i + 1;
                     break;
                 }
-                visited.put(cacheKey, true);
                 cycleDetectionCursor = cycleDetectionCursor.cycle();
             }
 
             var cycleSize = 1;
             var postRepeatCycleDetectionCursor = cycleDetectionCursor.cycle();
 
-            while (!Arrays.deepToString(postRepeatCycleDetectionCursor.spaces).equals(Arrays.deepToString(cycleDetectionCursor.spaces))) {
+            while (!postRepeatCycleDetectionCursor.spaces.equals(cycleDetectionCursor.spaces)) {
                 cycleSize++;
                 postRepeatCycleDetectionCursor = postRepeatCycleDetectionCursor.cycle();
             }
@@ -1,206 +1,194 @@
 package com.codingnagger.adventofcode2023.days;
 
-import java.util.ArrayDeque;
-import java.util.Arrays;
-import java.util.HashSet;
+import com.codingnagger.adventofcode2023.utils.Cancellation;
+import com.codingnagger.adventofcode2023.utils.LongArrayDeque;
+import com.codingnagger.adventofcode2023.utils.SolveContext;
+import com.codingnagger.adventofcode2023.utils.grid.ByteGrid;
+import com.codingnagger.adventofcode2023.utils.grid.Direction;
+import com.codingnagger.adventofcode2023.utils.grid.PackedPoint;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.List;
-import java.util.stream.IntStream;
 
-public class Day16 implements Day {
+public class Day16 implements SnapshotDay<Day16.Cave> {
     @Override
-    public String partOne(List<String> input) {
-        return Cave.parse(input)
-                .igniteBeam(new Beam(0, 0, Direction.RIGHT))
+    public Cave prepare(List<String> input) {
+        return Cave.parse(input);
+    }
+
+    @Override
+    public void writeSnapshot(Cave cave, DataOutput out) throws IOException {
+        out.writeInt(cave.floor.width());
+        out.writeInt(cave.floor.height());
+        out.write(cave.floor.toByteArray());
+    }
+
+    @Override
+    public Cave readSnapshot(ByteBuffer snapshot) {
+        var width = snapshot.getInt();
+        var height = snapshot.getInt();
+
+        if (width < 0 || height < 0 || (long) width * height > snapshot.remaining()) {
+            throw new IllegalArgumentException("Invalid grid size in snapshot: " + width + "x" + height);
+        }
+
+        var cells = new byte[width * height];
+        snapshot.get(cells);
+
+        return new Cave(ByteGrid.of(width, height, cells));
+    }
+
+    @Override
+    public String partOne(Cave cave) {
+        return cave.igniteBeam(beam(0, 0, Direction.RIGHT))
                 .countEnergizedTiles() + "";
     }
 
     @Override
-    public String partTwo(List<String> input) {
-        return Cave.parse(input)
-                .discoverOptimizedCountOfEnergizedTiles() + "";
+    public String partTwo(Cave cave) {
+        return cave.discoverOptimizedCountOfEnergizedTiles() + "";
     }
 
     static class Cave {
-        private final Tile[][] floor;
+        private static final Direction[] DIRECTIONS = Direction.values();
+        private static final int DIRECTION_COUNT = DIRECTIONS.length;
 
-        private Cave(Tile[][] floor) {
+        private final ByteGrid floor;
+
+        private Cave(ByteGrid floor) {
             this.floor = floor;
         }
 
-        public Cave igniteBeam(Beam beam) {
-            resetEnergizedTiles();
+        public EnergizedTiles igniteBeam(long beam) {
+            // Part two walks a beam from every edge tile, so each walk looks for cancellation before it starts.
+            Cancellation.checkpoint();
 
-            var queue = new ArrayDeque<Beam>();
-            queue.add(beam);
+            var queue = new LongArrayDeque();
+            queue.addLast(beam);
 
-            var visitedPath = new HashSet<Beam>();
+            var visitedPath = new boolean[floor.size() * DIRECTION_COUNT];
+            var energized = new boolean[floor.size()];
+            var explored = 0L;
 
             while (!queue.isEmpty()) {
-                var current = queue.poll();
+                var current = queue.removeFirst();
+                var x = PackedPoint.x(current);
+                var y = PackedPoint.y(current);
 
-                if (visitedPath.contains(current)) {
+                if (!floor.contains(x, y)) {
                     continue;
                 }
 
-                visitedPath.add(current);
+                var index = floor.index(x, y);
+                var pathIndex = index * DIRECTION_COUNT + PackedPoint.tag(current);
 
-                if (outsideCave(current)) {
+                if (visitedPath[pathIndex]) {
                     continue;
                 }
 
-                var tile = floor[current.y][current.x];
+                visitedPath[pathIndex] = true;
+                energized[index] = true;
+                explored++;
 
-                tile.directions(current.direction).forEach(newDirection -> queue.add(current.move(newDirection)));
+                follow(queue, x, y, floor.get(index), DIRECTIONS[PackedPoint.tag(current)]);
             }
 
-            return this;
-        }
-
-        private void resetEnergizedTiles() {
-            Arrays.stream(floor)
-                    .flatMap(Arrays::stream)
-                    .forEach(Tile::resetTraversalCount);
-        }
-
-        @SuppressWarnings("unused")
-        private void printEnergizedTiles() {
-            Arrays.stream(floor)
-                    .map(row -> Arrays.stream(row)
-                            .map(tile -> tile.isEnergized() ? '#' : '.')
-                            .collect(StringBuilder::new, StringBuilder::append, StringBuilder::append)
-                            .toString())
-                    .forEach(System.out::println);
-        }
+            SolveContext.current().counter("beamStates").add(explored);
 
-        private boolean outsideCave(Beam beam) {
-            return beam.x < 0 || beam.x >= floor[0].length || beam.y < 0 || beam.y >= floor.length;
+            return new EnergizedTiles(energized);
         }
 
         public static Cave parse(List<String> input) {
-            return new Cave(
-                    input.stream()
-                            .map(String::chars)
-                            .map(chars -> chars.mapToObj(c -> switch (c) {
-                                case '.' -> new EmptySpace();
-                                case '/' -> new BottomLeftToTopRightMirror();
-                                case '\\' -> new TopLeftToBottomRightMirror();
-                                case '-' -> new HorizontalSplitter();
-                                case '|' -> new VerticalSplitter();
-                                default -> throw new IllegalArgumentException("Unknown tile type: " + c);
-                            }).toArray(Tile[]::new))
-                            .toArray(Tile[][]::new)
-            );
-        }
-
-        public long countEnergizedTiles() {
-            return Arrays.stream(floor)
-                    .flatMap(Arrays::stream)
-                    .filter(Tile::isEnergized)
-                    .count();
-        }
-
-        public long discoverOptimizedCountOfEnergizedTiles() {
-            return IntStream.range(0, floor.length)
-                    .mapToObj(y -> IntStream.range(0, floor[y].length)
-                            .filter(x -> x == 0 || x == floor[y].length - 1 || y == 0 || y == floor.length - 1)
-                            .mapToObj(x -> List.of(
-                                    new Beam(x, y, Direction.UP),
-                                    new Beam(x, y, Direction.DOWN),
-                                    new Beam(x, y, Direction.LEFT),
-                                    new Beam(x, y, Direction.RIGHT)))
-                    )
-                    .flatMap(beams -> beams)
-                    .flatMap(List::stream)
-                    .map(this::igniteBeam)
-                    .mapToLong(Cave::countEnergizedTiles)
-                    .max()
-                    .orElseThrow();
-        }
-    }
+            var floor = ByteGrid.parse(input);
 
-    record Beam(int x, int y, Direction direction) {
-        public Beam move(Direction direction) {
-            return switch (direction) {
-                case UP -> new Beam(x, y - 1, direction);
-                case DOWN -> new Beam(x, y + 1, direction);
-                case LEFT -> new Beam(x - 1, y, direction);
-                case RIGHT -> new Beam(x + 1, y, direction);
-            };
-        }
-    }
-
-    static abstract class Tile {
-        private int beamTraversalCount = 0;
+            for (var i = 0; i < floor.size(); i++) {
+                switch (floor.get(i)) {
+                    case '.', '/', '\\', '-', '|' -> {
+                    }
+                    default -> throw new IllegalArgumentException("Unknown tile type: " + (char) floor.get(i));
+                }
+            }
 
-        public List<Direction> directions(Direction from) {
-            beamTraversalCount++;
-            return computeDirections(from);
+            return new Cave(floor);
         }
 
-        abstract List<Direction> computeDirections(Direction from);
+        public long discoverOptimizedCountOfEnergizedTiles() {
+            var mostEnergized = 0L;
 
+            for (var y = 0; y < floor.height(); y++) {
+                for (var x = 0; x < floor.width(); x++) {
+                    if (x != 0 && x != floor.width() - 1 && y != 0 && y != floor.height() - 1) {
+                        continue;
+                    }
 
-        public boolean isEnergized() {
-            return beamTraversalCount > 0;
-        }
+                    for (var direction : DIRECTIONS) {
+                        mostEnergized = Math.max(mostEnergized, igniteBeam(beam(x, y, direction)).countEnergizedTiles());
+                    }
+                }
+            }
 
-        public void resetTraversalCount() {
-            beamTraversalCount = 0;
+            return mostEnergized;
+        }
+
+        private static void follow(LongArrayDeque queue, int x, int y, byte tile, Direction from) {
+            switch (tile) {
+                case '/' -> queue.addLast(step(x, y, switch (from) {
+                    case DOWN -> Direction.LEFT;
+                    case UP -> Direction.RIGHT;
+                    case RIGHT -> Direction.UP;
+                    case LEFT -> Direction.DOWN;
+                }));
+                case '\\' -> queue.addLast(step(x, y, switch (from) {
+                    case DOWN -> Direction.RIGHT;
+                    case UP -> Direction.LEFT;
+                    case RIGHT -> Direction.DOWN;
+                    case LEFT -> Direction.UP;
+                }));
+                case '-' -> {
+                    if (from == Direction.UP || from == Direction.DOWN) {
+                        queue.addLast(step(x, y, Direction.LEFT));
+                        queue.addLast(step(x, y, Direction.RIGHT));
+                    } else {
+                        queue.addLast(step(x, y, from));
+                    }
+                }
+                case '|' -> {
+                    if (from == Direction.LEFT || from == Direction.RIGHT) {
+                        queue.addLast(step(x, y, Direction.UP));
+                        queue.addLast(step(x, y, Direction.DOWN));
+                    } else {
+                        queue.addLast(step(x, y, from));
+                    }
+                }
+                default -> queue.addLast(step(x, y, from));
+            }
         }
-    }
-
-    enum Direction {
-        UP, DOWN, LEFT, RIGHT
-    }
 
-    static class EmptySpace extends Tile {
-        @Override
-        List<Direction> computeDirections(Direction from) {
-            return List.of(from);
+        private static long step(int x, int y, Direction direction) {
+            return beam(x + direction.dx(), y + direction.dy(), direction);
         }
     }
 
-    static class BottomLeftToTopRightMirror extends Tile {
-        @Override
-        List<Direction> computeDirections(Direction from) {
-            return switch (from) {
-                case DOWN -> List.of(Direction.LEFT);
-                case UP -> List.of(Direction.RIGHT);
-                case RIGHT -> List.of(Direction.UP);
-                case LEFT -> List.of(Direction.DOWN);
-            };
-        }
-    }
+    record EnergizedTiles(boolean[] tiles) {
+        public long countEnergizedTiles() {
+            var count = 0L;
 
-    static class TopLeftToBottomRightMirror extends Tile {
-        @Override
-        List<Direction> computeDirections(Direction from) {
-            return switch (from) {
-                case DOWN -> List.of(Direction.RIGHT);
-                case UP -> List.of(Direction.LEFT);
-                case RIGHT -> List.of(Direction.DOWN);
-                case LEFT -> List.of(Direction.UP);
-            };
-        }
-    }
+            for (var tile : tiles) {
+                if (tile) {
+                    count++;
+                }
+            }
 
-    static class HorizontalSplitter extends Tile {
-        @Override
-        List<Direction> computeDirections(Direction from) {
-            return switch (from) {
-                case LEFT, RIGHT -> List.of(from);
-                case UP, DOWN -> List.of(Direction.LEFT, Direction.RIGHT);
-            };
+            return count;
         }
     }
 
-    static class VerticalSplitter extends Tile {
-        @Override
-        List<Direction> computeDirections(Direction from) {
-            return switch (from) {
-                case LEFT, RIGHT -> List.of(Direction.UP, Direction.DOWN);
-                case UP, DOWN -> List.of(from);
-            };
-        }
+    /**
+     * A beam is packed as its tile with its heading's ordinal as the tag, so the queue holds plain longs.
+     */
+    static long beam(int x, int y, Direction direction) {
+        return PackedPoint.pack(x, y, direction.ordinal());
     }
 }
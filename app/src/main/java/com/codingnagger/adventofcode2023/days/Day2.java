@@ -1,24 +1,31 @@
 package com.codingnagger.adventofcode2023.days;
 
+import com.codingnagger.adventofcode2023.utils.AsciiScanner;
+import com.codingnagger.adventofcode2023.utils.LineShards;
+
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.stream.Stream;
+
+public class Day2 implements StreamingDay {
+    private static final List<String> KNOWN_GEM_NAMES = List.of("red", "green", "blue");
+    private static final Bag PART_ONE_BAG = createBag(12, 13, 14);
 
-public class Day2 implements Day {
-    private static final int GAME_DEFINITION_PREFIX_LENGTH = "Game ".length();
+    @Override
+    public String partOne(Stream<String> input) {
+        return String.valueOf(input.mapToLong(Day2::possibleGameId).sum());
+    }
 
     @Override
     public String partOne(List<String> input) {
-        var bag = createBag(12, 13, 14);
-
-        return String.valueOf(
-                input.stream()
-                        .map(Game::parse)
-                        .filter(game -> game.isPossibleWithBag(bag))
-                        .mapToInt(Game::id)
-                        .sum()
-        );
+        return String.valueOf(LineShards.sum(input, Day2::possibleGameId));
+    }
+
+    private static int possibleGameId(String line) {
+        var game = Game.parse(line);
+
+        return game.isPossibleWithBag(PART_ONE_BAG) ? game.id() : 0;
     }
 
     private static Bag createBag(int reds, int greens, int blues) {
@@ -29,15 +36,18 @@ public class Day2 implements Day {
         ));
     }
 
+    @Override
+    public String partTwo(Stream<String> input) {
+        return String.valueOf(input.mapToLong(Day2::smallestBagPower).sum());
+    }
+
     @Override
     public String partTwo(List<String> input) {
-        return String.valueOf(
-                input.stream()
-                        .map(Game::parse)
-                        .map(Game::smallestPossibleBag)
-                        .mapToInt(Bag::power)
-                        .sum()
-        );
+        return String.valueOf(LineShards.sum(input, Day2::smallestBagPower));
+    }
+
+    private static int smallestBagPower(String line) {
+        return Game.parse(line).smallestPossibleBag().power();
     }
 
     record Bag(List<GemDefinition> gems) {
@@ -70,10 +80,17 @@ public class Day2 implements Day {
 
     record Game(int id, List<GameSet> sets) {
         static Game parse(String gameDefinition) {
-            var idAndSets = Arrays.stream(gameDefinition.substring(GAME_DEFINITION_PREFIX_LENGTH).split(": ")).toList();
-            var id = Integer.parseInt(idAndSets.get(0));
-            var sets = Arrays.stream(idAndSets.get(1).split("; ")).map(GameSet::parse).toList();
-            return new Game(id, sets);
+            var scanner = new AsciiScanner(gameDefinition).expect("Game ");
+            var id = scanner.nextInt();
+            var sets = new ArrayList<GameSet>();
+
+            scanner.expect(": ");
+
+            do {
+                sets.add(GameSet.parse(scanner));
+            } while (scanner.tryConsume("; "));
+
+            return new Game(id, Collections.unmodifiableList(sets));
         }
 
         public boolean isPossibleWithBag(Bag bag) {
@@ -90,10 +107,14 @@ public class Day2 implements Day {
     }
 
     record GameSet(List<GemDefinition> gems) {
-        public static GameSet parse(String setDefinition) {
-            return new GameSet(
-                    Arrays.stream(setDefinition.split(", ")).map(GemDefinition::parse).toList()
-            );
+        public static GameSet parse(AsciiScanner scanner) {
+            var gems = new ArrayList<GemDefinition>();
+
+            do {
+                gems.add(GemDefinition.parse(scanner));
+            } while (scanner.tryConsume(", "));
+
+            return new GameSet(Collections.unmodifiableList(gems));
         }
 
         public boolean isPossibleWithBag(Bag bag) {
@@ -102,13 +123,18 @@ public class Day2 implements Day {
     }
 
     record GemDefinition(String name, int count) {
-        public static GemDefinition parse(String description) {
-            var splitDescription = description.split(" ");
+        public static GemDefinition parse(AsciiScanner scanner) {
+            var count = scanner.nextInt();
 
-            return new GemDefinition(
-                    splitDescription[1],
-                    Integer.parseInt(splitDescription[0])
-            );
+            scanner.skipWhitespace();
+
+            for (var name : KNOWN_GEM_NAMES) {
+                if (scanner.tryConsume(name)) {
+                    return new GemDefinition(name, count);
+                }
+            }
+
+            return new GemDefinition(scanner.nextWord(), count);
         }
 
         public boolean matchesName(GemDefinition gemDefinition) {
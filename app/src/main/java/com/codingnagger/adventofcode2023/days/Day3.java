@@ -1,8 +1,9 @@
 package com.codingnagger.adventofcode2023.days;
 
-import java.util.ArrayList;
+import com.codingnagger.adventofcode2023.utils.grid.ByteGrid;
+
 import java.util.List;
-import java.util.function.Predicate;
+import java.util.function.IntPredicate;
 import java.util.stream.IntStream;
 
 public class Day3 implements Day {
@@ -24,100 +25,97 @@ public class Day3 implements Day {
         );
     }
 
-    record EngineSchematic(char[][] map) {
+    record EngineSchematic(ByteGrid map) {
 
         private static final char VOID = '.';
         private static final char GEAR = '*';
 
         public static EngineSchematic parse(List<String> input) {
-            return new EngineSchematic(
-                    input.stream()
-                            .map(String::toCharArray)
-                            .toArray(char[][]::new)
-            );
+            return new EngineSchematic(ByteGrid.parse(input));
         }
 
         public IntStream findPartNumbers() {
-            return findNumberMatches(
-                    digitLocation -> hasNeighborMatching(
-                            digitLocation.y,
-                            digitLocation.x,
-                            neighbor -> charAt(neighbor) != VOID && !Character.isDigit(charAt(neighbor))));
-        }
-
-        public IntStream findNumberMatches(Predicate<Location> predicate) {
-            var result = new ArrayList<String>();
-            var currentNumber = new StringBuilder();
-            var match = false;
+            var partNumbers = IntStream.builder();
 
-            for (var row = 0; row < map.length; row++) {
-                for (var col = 0; col < map[row].length; col++) {
-                    char current = map[row][col];
+            forEachNumber((number, row, first, last) -> {
+                if (anyNeighbor(row, first, last, this::isSymbol)) {
+                    partNumbers.add(number);
+                }
+            });
 
-                    if (Character.isDigit(current)) {
-                        currentNumber.append(current);
+            return partNumbers.build();
+        }
 
-                        if (!match) {
-                            match = predicate.test(new Location(col, row));
-                        }
-                    } else {
-                        if (match) {
-                            result.add(currentNumber.toString());
-                        }
+        public IntStream findGearRatios() {
+            // Gears are remembered by grid index, so each number only looks at the cells around it once.
+            var adjacentNumbers = new int[map.size()];
+            var ratios = new int[map.size()];
 
-                        currentNumber = new StringBuilder();
-                        match = false;
-                    }
+            forEachNumber((number, row, first, last) -> anyNeighbor(row, first, last, index -> {
+                if (map.get(index) == GEAR) {
+                    ratios[index] = adjacentNumbers[index]++ == 0 ? number : ratios[index] * number;
                 }
-            }
 
-            return result.stream().mapToInt(Integer::parseInt);
+                return false;
+            }));
+
+            return IntStream.range(0, map.size())
+                    .filter(index -> adjacentNumbers[index] == 2)
+                    .map(index -> ratios[index]);
         }
 
-        private char charAt(Location location) {
-            return map[location.y][location.x];
+        private boolean isSymbol(int index) {
+            var cell = map.get(index);
+            return cell != VOID && !isDigit(cell);
         }
 
-        private boolean hasNeighborMatching(int row, int col, Predicate<Location> match) {
-            int minRow = Math.max(row - 1, 0);
-            int maxRow = Math.min(row + 1, map.length - 1);
-            int minCol = Math.max(col - 1, 0);
-            int maxCol = Math.min(col + 1, map[row].length - 1);
+        private void forEachNumber(NumberVisitor visitor) {
+            for (var row = 0; row < map.height(); row++) {
+                var col = 0;
 
-            for (var r = minRow; r <= maxRow; r++) {
-                for (var c = minCol; c <= maxCol; c++) {
-                    if (match.test(new Location(c, r))) {
-                        return true;
+                while (col < map.width()) {
+                    if (!isDigit(map.get(col, row))) {
+                        col++;
+                        continue;
                     }
+
+                    var first = col;
+                    var number = 0;
+
+                    while (col < map.width() && isDigit(map.get(col, row))) {
+                        number = number * 10 + map.get(col, row) - '0';
+                        col++;
+                    }
+
+                    visitor.visit(number, row, first, col - 1);
                 }
             }
-            return false;
         }
 
-        public IntStream findGearRatios() {
-            var locations = new ArrayList<Location>();
+        private boolean anyNeighbor(int row, int first, int last, IntPredicate match) {
+            var minRow = Math.max(row - 1, 0);
+            var maxRow = Math.min(row + 1, map.height() - 1);
+            var minCol = Math.max(first - 1, 0);
+            var maxCol = Math.min(last + 1, map.width() - 1);
 
-            for (var row = 0; row < map.length; row++) {
-                for (var col = 0; col < map[row].length; col++) {
-                    if (map[row][col] == GEAR) {
-                        locations.add(new Location(col, row));
+            for (var r = minRow; r <= maxRow; r++) {
+                for (var c = minCol; c <= maxCol; c++) {
+                    if (match.test(map.index(c, r))) {
+                        return true;
                     }
                 }
             }
 
-            return locations.stream()
-                    .map(
-                            l -> findNumberMatches(
-                                    digitLocation -> hasNeighborMatching(
-                                            digitLocation.y,
-                                            digitLocation.x,
-                                            neighbor -> l.x == neighbor.x && l.y == neighbor.y
-                                    )).toArray())
-                    .filter(numbers -> numbers.length == 2)
-                    .mapToInt(numbers -> numbers[0] * numbers[1]);
+            return false;
+        }
+
+        private static boolean isDigit(byte cell) {
+            return cell >= '0' && cell <= '9';
         }
     }
 
-    record Location(int x, int y) {
+    @FunctionalInterface
+    private interface NumberVisitor {
+        void visit(int number, int row, int first, int last);
     }
 }
@@ -1,68 +1,100 @@
 package com.codingnagger.adventofcode2023.days;
 
-import java.util.Arrays;
+import com.codingnagger.adventofcode2023.utils.AsciiScanner;
+import com.codingnagger.adventofcode2023.utils.LineShards;
+import com.codingnagger.adventofcode2023.utils.LongArrayList;
+
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+public class Day4 implements StreamingDay {
+    @Override
+    public String partOne(Stream<String> input) {
+        return String.valueOf(input.mapToLong(Day4::score).sum());
+    }
 
-public class Day4 implements Day {
     @Override
     public String partOne(List<String> input) {
-        return String.valueOf(
-                input.stream()
-                        .map(ScratchCard::parse)
-                        .mapToLong(ScratchCard::calculateScore)
-                        .sum()
-        );
+        return String.valueOf(LineShards.sum(input, Day4::score));
+    }
+
+    private static long score(String line) {
+        return ScratchCard.parse(line).calculateScore();
     }
 
     @Override
-    public String partTwo(List<String> input) {
-        return String.valueOf(
-                new Game(input.stream().map(ScratchCard::parse).toList()).calculateScore()
-        );
+    public String partTwo(Stream<String> input) {
+        var game = new Game();
+
+        input.map(ScratchCard::parse).forEachOrdered(game::play);
+
+        return String.valueOf(game.cardCount());
     }
 
-    record Game(List<ScratchCard> scratchCards) {
-        public long calculateScore() {
-            var multipliers = new long[scratchCards.size()];
-            Arrays.fill(multipliers, 1);
+    static class Game {
+        private long[] pendingCopies = new long[16];
+        private int cursor = 0;
+        private long cardCount = 0;
 
-            var originalWinningCounts = scratchCards.stream().map(ScratchCard::winningCardsCount).toArray(Long[]::new);
+        void play(ScratchCard scratchCard) {
+            var copies = 1 + pendingCopies[cursor];
+            var winningCount = (int) scratchCard.winningCardsCount();
 
-            for (var i = 0; i < scratchCards.size(); i++) {
-                for (var bonusCounts = 1; bonusCounts <= originalWinningCounts[i]; bonusCounts++) {
-                    multipliers[i + bonusCounts] += multipliers[i];
-                }
+            pendingCopies[cursor] = 0;
+            cardCount += copies;
+            ensureCapacity(winningCount + 1);
+
+            for (var bonusCount = 1; bonusCount <= winningCount; bonusCount++) {
+                pendingCopies[(cursor + bonusCount) % pendingCopies.length] += copies;
+            }
+
+            cursor = (cursor + 1) % pendingCopies.length;
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity <= pendingCopies.length) {
+                return;
             }
 
-            return scratchCards.stream()
-                    .map(s -> s.id - 1)
-                    .mapToLong(index -> multipliers[index])
-                    .sum();
+            var resized = new long[Math.max(capacity, pendingCopies.length * 2)];
+
+            for (var i = 0; i < pendingCopies.length; i++) {
+                resized[i] = pendingCopies[(cursor + i) % pendingCopies.length];
+            }
+
+            pendingCopies = resized;
+            cursor = 0;
+        }
+
+        long cardCount() {
+            return cardCount;
         }
     }
 
     record ScratchCard(int id, Numbers winning, Numbers mine) implements Comparable<ScratchCard> {
-        private static final Pattern PARSING_PATTERN = Pattern.compile("Card\\s+([0-9]+): ([^|]+) \\| (.+)");
-
         static ScratchCard parse(String line) {
+            var scanner = new AsciiScanner(line).expect("Card");
+            var id = scanner.nextInt();
 
-            Matcher matcher = PARSING_PATTERN.matcher(line);
+            scanner.skipWhitespace().expect(':');
+            var winning = Numbers.parse(scanner);
 
-            if (!matcher.find()) {
-                throw new IllegalStateException("Invalid card input " + line);
-            }
+            scanner.skipWhitespace().expect('|');
+            var mine = Numbers.parse(scanner);
 
-            return new ScratchCard(
-                    Integer.parseInt(matcher.group(1)),
-                    Numbers.parse(matcher.group(2)),
-                    Numbers.parse(matcher.group(3))
-            );
+            return new ScratchCard(id, winning, mine);
         }
 
         private long winningCardsCount() {
-            return winning.values().stream().filter(mine.values::contains).count();
+            var count = 0L;
+
+            for (var i = 0; i < winning.values().size(); i++) {
+                if (mine.values().contains(winning.values().get(i))) {
+                    count++;
+                }
+            }
+
+            return count;
         }
 
         long calculateScore() {
@@ -76,14 +108,15 @@ public class Day4 implements Day {
         }
     }
 
-    record Numbers(List<Long> values) {
-        static Numbers parse(String definition) {
-            return new Numbers(
-                    Arrays.stream(definition.split(" "))
-                            .filter(s -> !s.isBlank())
-                            .map(Long::parseLong)
-                            .toList()
-            );
+    record Numbers(LongArrayList values) {
+        static Numbers parse(AsciiScanner scanner) {
+            var values = new LongArrayList();
+
+            while (scanner.hasNextNumber()) {
+                values.add(scanner.nextLong());
+            }
+
+            return new Numbers(values);
         }
     }
 }
@@ -1,92 +1,169 @@
 package com.codingnagger.adventofcode2023.days;
 
+import com.codingnagger.adventofcode2023.utils.AsciiScanner;
+import com.codingnagger.adventofcode2023.utils.LongArrayList;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.*;
-import java.util.regex.Pattern;
 
-public class Day5 implements Day {
-    private static final Pattern SEED_PAIR_PATTERN = Pattern.compile("(\\d+) (\\d+)");
+public class Day5 implements SnapshotDay<Day5.AlmanacNotes> {
+
+    @Override
+    public AlmanacNotes prepare(List<String> input) {
+        return new AlmanacNotes(
+            parseSeeds(input),
+            parseSeedRanges(input),
+            Almanac.parseConverters(input)
+        );
+    }
+
+    @Override
+    public void writeSnapshot(AlmanacNotes notes, DataOutput out) throws IOException {
+        var seeds = notes.seeds().values();
+        out.writeInt(seeds.size());
+        for (var i = 0; i < seeds.size(); i++) {
+            out.writeLong(seeds.get(i));
+        }
+
+        out.writeInt(notes.seedRanges().ranges().size());
+        for (var range : notes.seedRanges().ranges()) {
+            out.writeLong(range.start());
+            out.writeLong(range.length());
+        }
+
+        out.writeInt(notes.converters().size());
+        for (var converter : notes.converters()) {
+            SnapshotDay.writeString(out, converter.name());
+            out.writeInt(converter.converterRanges().size());
+
+            for (var range : converter.converterRanges()) {
+                out.writeLong(range.destinationStart());
+                out.writeLong(range.sourceStart());
+                out.writeLong(range.length());
+            }
+        }
+    }
 
     @Override
-    public String partOne(List<String> input) {
-        var almanac = Almanac.parse(input, parseSeeds(input));
+    public AlmanacNotes readSnapshot(ByteBuffer snapshot) {
+        var seedCount = SnapshotDay.readCount(snapshot, Long.BYTES);
+        var seeds = new LongArrayList(seedCount);
+        for (var i = 0; i < seedCount; i++) {
+            seeds.add(snapshot.getLong());
+        }
+
+        var seedRanges = new NumberRange[SnapshotDay.readCount(snapshot, 2 * Long.BYTES)];
+        for (var i = 0; i < seedRanges.length; i++) {
+            seedRanges[i] = new NumberRange(snapshot.getLong(), snapshot.getLong());
+        }
+
+        // A converter holds at least its name's length and its range count.
+        var converters = new Converter[SnapshotDay.readCount(snapshot, 2 * Integer.BYTES)];
+        for (var i = 0; i < converters.length; i++) {
+            var name = SnapshotDay.readString(snapshot);
+            var ranges = new ConverterRange[SnapshotDay.readCount(snapshot, 3 * Long.BYTES)];
+
+            for (var j = 0; j < ranges.length; j++) {
+                ranges[j] = new ConverterRange(snapshot.getLong(), snapshot.getLong(), snapshot.getLong());
+            }
+
+            converters[i] = new Converter(name, List.of(ranges));
+        }
+
+        return new AlmanacNotes(
+            new Numbers(seeds),
+            new NumberRanges(List.of(seedRanges)),
+            List.of(converters)
+        );
+    }
+
+    @Override
+    public String partOne(AlmanacNotes notes) {
+        var almanac = new Almanac(notes.seeds(), notes.converters());
         return String.valueOf(
             almanac.lowestLocation()
         );
     }
 
     @Override
-    public String partTwo(List<String> input) {
-        var almanac = Almanac.parse(input, parseSeedRanges(input));
+    public String partTwo(AlmanacNotes notes) {
+        var almanac = new Almanac(notes.seedRanges(), notes.converters());
         return String.valueOf(
             almanac.lowestLocation()
         );
     }
 
-    private static ConvertibleNumbers<NumberRanges> parseSeedRanges(List<String> input) {
-        var seedDefinition = extractSeedsDefinition(input);
+    private static NumberRanges parseSeedRanges(List<String> input) {
+        var scanner = seedsDefinitionScanner(input);
         var seedsRanges = new ArrayList<NumberRange>();
-        var seedMatcher = SEED_PAIR_PATTERN.matcher(seedDefinition);
-
-        while (seedMatcher.find()) {
-            seedsRanges.add(
-                new NumberRange(
-                    Long.parseLong(seedMatcher.group(1)),
-                    Long.parseLong(seedMatcher.group(2))
-                )
-            );
+
+        while (scanner.hasNextNumber()) {
+            seedsRanges.add(new NumberRange(scanner.nextLong(), scanner.nextLong()));
         }
 
         return new NumberRanges(seedsRanges);
     }
 
-    private static String extractSeedsDefinition(List<String> input) {
-        return input.get(0).split(": ")[1];
+    private static AsciiScanner seedsDefinitionScanner(List<String> input) {
+        return new AsciiScanner(input.get(0)).skipPast(':');
     }
 
     private static Numbers parseSeeds(List<String> input) {
-        return new Numbers(
-            Arrays.stream(extractSeedsDefinition(input).split(" "))
-                .map(Long::parseLong)
-                .toList()
-        );
+        var scanner = seedsDefinitionScanner(input);
+        var seeds = new LongArrayList();
+
+        while (scanner.hasNextNumber()) {
+            seeds.add(scanner.nextLong());
+        }
+
+        return new Numbers(seeds);
+    }
+
+    record AlmanacNotes(Numbers seeds, NumberRanges seedRanges, List<Converter> converters) {
+        AlmanacNotes {
+            converters = List.copyOf(converters);
+        }
     }
 
     record Almanac(ConvertibleNumbers seeds, List<Converter> converters) {
-        private static final Pattern CONVERTER_PATTERN = Pattern.compile("(\\S+) map:");
-        private static final Pattern CONVERTER_RANGE_PATTERN = Pattern.compile("(\\d+) (\\d+) (\\d+)");
+        private static final String CONVERTER_SUFFIX = " map:";
 
         public static Almanac parse(List<String> input, ConvertibleNumbers seeds) {
+            return new Almanac(seeds, parseConverters(input));
+        }
 
+        static List<Converter> parseConverters(List<String> input) {
             var converters = new ArrayList<Converter>();
 
             var currentConverterName = "";
             var currentConverterRanges = new ArrayList<ConverterRange>();
 
             for (var line : input) {
-                var converterMatcher = CONVERTER_PATTERN.matcher(line);
-                if (converterMatcher.matches()) {
+                if (line.endsWith(CONVERTER_SUFFIX)) {
                     if (!currentConverterName.isBlank()) {
                         converters.add(new Converter(currentConverterName, currentConverterRanges));
                     }
 
-                    currentConverterName = converterMatcher.group(1);
+                    currentConverterName = line.substring(0, line.length() - CONVERTER_SUFFIX.length());
                     currentConverterRanges = new ArrayList<>();
                     continue;
                 }
 
-                var rangeMatcher = CONVERTER_RANGE_PATTERN.matcher(line);
-                if (rangeMatcher.matches()) {
+                var rangeScanner = new AsciiScanner(line);
+                if (!currentConverterName.isBlank() && rangeScanner.hasNextNumber()) {
                     currentConverterRanges.add(new ConverterRange(
-                        Long.parseLong(rangeMatcher.group(1)),
-                        Long.parseLong(rangeMatcher.group(2)),
-                        Long.parseLong(rangeMatcher.group(3))
+                        rangeScanner.nextLong(),
+                        rangeScanner.nextLong(),
+                        rangeScanner.nextLong()
                     ));
                 }
             }
 
             converters.add(new Converter(currentConverterName, currentConverterRanges));
 
-            return new Almanac(seeds, converters);
+            return converters;
         }
 
         long lowestLocation() {
@@ -106,27 +183,36 @@ public class Day5 implements Day {
         long lowestValue();
     }
 
-    record Numbers(List<Long> values) implements ConvertibleNumbers<Numbers> {
+    record Numbers(LongArrayList values) implements ConvertibleNumbers<Numbers> {
+        Numbers {
+            values = LongArrayList.copyOf(values);
+        }
+
         @Override
         public Numbers convert(Converter converter) {
-            return new Numbers(
-                values.stream()
-                    .map(value ->
-                        converter.converterRangeFor(value)
-                            .map(converterRange -> converterRange.transform(value))
-                            .orElse(value)
-                    )
-                    .toList()
-            );
+            var converted = new LongArrayList(values.size());
+
+            for (var i = 0; i < values.size(); i++) {
+                var value = values.get(i);
+                var converterRange = converter.converterRangeFor(value);
+
+                converted.add(converterRange.isPresent() ? converterRange.get().transform(value) : value);
+            }
+
+            return new Numbers(converted);
         }
 
         @Override
         public long lowestValue() {
-            return values.stream().min(Long::compareTo).orElseThrow();
+            return values.stream().min().orElseThrow();
         }
     }
 
     record NumberRanges(List<NumberRange> ranges) implements ConvertibleNumbers<NumberRanges> {
+        NumberRanges {
+            ranges = List.copyOf(ranges);
+        }
+
         @Override
         public NumberRanges convert(Converter converter) {
             return new NumberRanges(
@@ -175,6 +261,10 @@ public class Day5 implements Day {
     }
 
     record Converter(String name, List<ConverterRange> converterRanges) {
+        Converter {
+            converterRanges = List.copyOf(converterRanges);
+        }
+
         public Optional<ConverterRange> converterRangeFor(long value) {
             return converterRanges.stream()
                 .filter(converterRange -> converterRange.contains(value))
@@ -1,5 +1,7 @@
 package com.codingnagger.adventofcode2023.days;
 
+import com.codingnagger.adventofcode2023.utils.AsciiScanner;
+
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.LongStream;
@@ -25,28 +27,40 @@ public class Day6 implements Day {
     }
 
     private List<Race> parseRaces(List<String> input) {
-        var times = input.get(0).split(":")[1].trim().split("\\s+");
-        var recordDistances = input.get(1).split(":")[1].trim().split("\\s+");
+        var times = new AsciiScanner(input.get(0)).skipPast(':');
+        var recordDistances = new AsciiScanner(input.get(1)).skipPast(':');
 
-        var races = new ArrayList<Race>(times.length);
+        var races = new ArrayList<Race>();
 
-        for (var i = 0; i < times.length; i++) {
-            races.add(new Race(Long.parseLong(times[i]), Long.parseLong(recordDistances[i])));
+        while (times.hasNextNumber()) {
+            races.add(new Race(times.nextLong(), recordDistances.nextLong()));
         }
 
         return races;
     }
 
     private Race parseBigRace(List<String> input) {
-        var time = String.join("", input.get(0).split(":")[1].trim().split("\\s+"));
-        var recordDistance = String.join("", input.get(1).split(":")[1].trim().split("\\s+"));
-
         return new Race(
-            Long.parseLong(time),
-            Long.parseLong(recordDistance)
+            parseKernedNumber(input.get(0)),
+            parseKernedNumber(input.get(1))
         );
     }
 
+    private static long parseKernedNumber(String line) {
+        var scanner = new AsciiScanner(line).skipPast(':');
+        var value = 0L;
+
+        while (scanner.hasNext()) {
+            var c = scanner.next();
+
+            if (Character.isDigit(c)) {
+                value = value * 10 + (c - '0');
+            }
+        }
+
+        return value;
+    }
+
 
     record Race(long duration, long recordDistance) {
         public long numberOfRecordWinningWays() {
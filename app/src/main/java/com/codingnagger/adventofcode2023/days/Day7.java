@@ -1,5 +1,7 @@
 package com.codingnagger.adventofcode2023.days;
 
+import com.codingnagger.adventofcode2023.utils.IntIntOpenHashMap;
+
 import java.util.*;
 
 public class Day7 implements Day {
@@ -88,7 +90,7 @@ public class Day7 implements Day {
 
         List<Card> cards();
 
-        Map<Card, Integer> getGroupedCards();
+        IntIntOpenHashMap getGroupedCards();
 
         default boolean isFiveOfKind() {
             return PatternDetector.isFiveOfKind(getGroupedCards());
@@ -127,10 +129,11 @@ public class Day7 implements Day {
 
 
         @Override
-        public Map<Card, Integer> getGroupedCards() {
+        public IntIntOpenHashMap getGroupedCards() {
             var groupedCards = PatternDetector.groupedCards(this);
+            var joker = Card.CJ.ordinal();
 
-            if (!groupedCards.containsKey(Card.CJ)) {
+            if (!groupedCards.containsKey(joker)) {
                 return groupedCards;
             }
 
@@ -138,22 +141,25 @@ public class Day7 implements Day {
                 return groupedCards;
             }
 
-            var strongestCard = groupedCards.entrySet()
-                .stream()
-                .filter(entry -> entry.getKey() != Card.CJ)
-                .max(Map.Entry.comparingByValue())
-                .map(Map.Entry::getKey)
-                .orElseThrow();
+            var cards = groupedCards.keys();
+            var strongestCard = -1;
 
-            var updatedGroup = new HashMap<Card, Integer>();
+            for (var card : cards) {
+                if (card != joker && (strongestCard == -1
+                    || groupedCards.getOrDefault(card, 0) > groupedCards.getOrDefault(strongestCard, 0))) {
+                    strongestCard = card;
+                }
+            }
 
-            for (var card : groupedCards.keySet()) {
-                if (card == Card.CJ) continue;
+            var updatedGroup = new IntIntOpenHashMap(cards.length);
+
+            for (var card : cards) {
+                if (card == joker) continue;
 
                 updatedGroup.put(
                     card,
-                    groupedCards.get(card) +
-                        (card == strongestCard ? groupedCards.get(Card.CJ) : 0)
+                    groupedCards.getOrDefault(card, 0) +
+                        (card == strongestCard ? groupedCards.getOrDefault(joker, 0) : 0)
                 );
             }
             return updatedGroup;
@@ -213,7 +219,7 @@ public class Day7 implements Day {
         }
 
         @Override
-        public Map<Card, Integer> getGroupedCards() {
+        public IntIntOpenHashMap getGroupedCards() {
             return PatternDetector.groupedCards(this);
         }
 
@@ -231,47 +237,40 @@ public class Day7 implements Day {
         private PatternDetector() {
         }
 
-        public static boolean isFiveOfKind(Map<Card, Integer> groupedCards) {
-            return groupedCards.values().stream().anyMatch(count -> count == 5);
+        public static boolean isFiveOfKind(IntIntOpenHashMap groupedCards) {
+            return groupedCards.containsValue(5);
         }
 
-        public static boolean isFourOfKind(Map<Card, Integer> groupedCards) {
-            return groupedCards.values().stream().anyMatch(count -> count == 4);
+        public static boolean isFourOfKind(IntIntOpenHashMap groupedCards) {
+            return groupedCards.containsValue(4);
         }
 
-        public static boolean isFullHouse(Map<Card, Integer> groupedCards) {
-            return groupedCards.values().stream().anyMatch(count -> count == 3) &&
-                groupedCards.values().stream().anyMatch(count -> count == 2);
+        public static boolean isFullHouse(IntIntOpenHashMap groupedCards) {
+            return groupedCards.containsValue(3) && groupedCards.containsValue(2);
         }
 
-        public static boolean isThreeOfKind(Map<Card, Integer> groupedCards) {
-            return groupedCards.values().stream().anyMatch(count -> count == 3) &&
-                groupedCards.values().stream().anyMatch(count -> count == 1);
+        public static boolean isThreeOfKind(IntIntOpenHashMap groupedCards) {
+            return groupedCards.containsValue(3) && groupedCards.containsValue(1);
         }
 
-        public static boolean isTwoPair(Map<Card, Integer> groupedCards) {
-            return groupedCards.size() == 3 &&
-                groupedCards.values().stream().anyMatch(count -> count == 2);
+        public static boolean isTwoPair(IntIntOpenHashMap groupedCards) {
+            return groupedCards.size() == 3 && groupedCards.containsValue(2);
         }
 
-        public static boolean isOnePair(Map<Card, Integer> groupedCards) {
-            return groupedCards.size() == 4 &&
-                groupedCards.values().stream().anyMatch(count -> count == 2);
+        public static boolean isOnePair(IntIntOpenHashMap groupedCards) {
+            return groupedCards.size() == 4 && groupedCards.containsValue(2);
         }
 
-        public static boolean isHighCard(Map<Card, Integer> groupedCards) {
+        public static boolean isHighCard(IntIntOpenHashMap groupedCards) {
             return groupedCards.size() == 5;
         }
 
-        private static Map<Card, Integer> groupedCards(PlayableHand hand) {
-            var group = new HashMap<Card, Integer>();
+        // Cards are keyed by ordinal, so counting a hand neither boxes nor hashes enum constants.
+        private static IntIntOpenHashMap groupedCards(PlayableHand hand) {
+            var group = new IntIntOpenHashMap(hand.cards().size());
 
             for (var card : hand.cards()) {
-                if (group.containsKey(card)) {
-                    group.put(card, group.get(card) + 1);
-                } else {
-                    group.put(card, 1);
-                }
+                group.addTo(card.ordinal(), 1);
             }
             return group;
         }
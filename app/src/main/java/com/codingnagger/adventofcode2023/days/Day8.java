@@ -1,18 +1,70 @@
 package com.codingnagger.adventofcode2023.days;
 
+import com.codingnagger.adventofcode2023.utils.AsciiScanner;
+import com.codingnagger.adventofcode2023.utils.Cancellation;
+import com.codingnagger.adventofcode2023.utils.IntArrayDeque;
+import com.codingnagger.adventofcode2023.utils.LongArrayList;
+import com.codingnagger.adventofcode2023.utils.SolveContext;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.*;
 import java.util.function.Predicate;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
-public class Day8 implements Day {
-    private static final Pattern NODE_PATTERN = Pattern.compile("([0-9A-Z]{3}) = \\(([0-9A-Z]{3}), ([0-9A-Z]{3})\\)");
+public class Day8 implements SnapshotDay<Day8.CamelPouchMap> {
+
+    @Override
+    public CamelPouchMap prepare(List<String> input) {
+        return CamelPouchMap.parse(input);
+    }
+
+    @Override
+    public void writeSnapshot(CamelPouchMap map, DataOutput out) throws IOException {
+        out.writeInt(map.instructions().length);
+        for (var instruction : map.instructions()) {
+            out.writeByte(instruction.ordinal());
+        }
+
+        // Nodes are written once as a name table, and their neighbours as indices into it.
+        out.writeInt(map.names().length);
+        for (var name : map.names()) {
+            SnapshotDay.writeString(out, name);
+        }
+
+        for (var i = 0; i < map.names().length; i++) {
+            out.writeInt(map.left()[i]);
+            out.writeInt(map.right()[i]);
+        }
+    }
+
+    @Override
+    public CamelPouchMap readSnapshot(ByteBuffer snapshot) {
+        var instructions = new Instruction[SnapshotDay.readCount(snapshot, Byte.BYTES)];
+        for (var i = 0; i < instructions.length; i++) {
+            instructions[i] = Instruction.values()[snapshot.get()];
+        }
+
+        // A node holds at least its name's length and its two neighbours.
+        var names = new String[SnapshotDay.readCount(snapshot, 3 * Integer.BYTES)];
+        for (var i = 0; i < names.length; i++) {
+            names[i] = SnapshotDay.readString(snapshot);
+        }
+
+        var left = new int[names.length];
+        var right = new int[names.length];
+        for (var i = 0; i < names.length; i++) {
+            left[i] = Objects.checkIndex(snapshot.getInt(), names.length);
+            right[i] = Objects.checkIndex(snapshot.getInt(), names.length);
+        }
+
+        return new CamelPouchMap(instructions, names, left, right);
+    }
 
     @Override
-    public String partOne(List<String> input) {
+    public String partOne(CamelPouchMap map) {
         return String.valueOf(
-                CamelPouchMap.parse(input).stepCountToDestination(
+                map.stepCountToDestination(
                         "AAA"::equals,
                         "ZZZ"::equals
                 )
@@ -20,75 +72,156 @@ public class Day8 implements Day {
     }
 
     @Override
-    public String partTwo(List<String> input) {
+    public String partTwo(CamelPouchMap map) {
         return String.valueOf(
-                CamelPouchMap.parse(input).stepCountToDestination(
+                map.stepCountToDestination(
                         start -> start.endsWith("A"),
                         end -> end.endsWith("Z")
                 )
         );
     }
 
-    record CamelPouchMap(Instruction[] instructions, Map<String, Node> network) {
+    /**
+     * The network as index tables: nodes are numbered by their position in the sorted {@code names}, and
+     * {@code left[i]} and {@code right[i]} hold the numbers of node {@code i}'s neighbours.
+     */
+    record CamelPouchMap(Instruction[] instructions, String[] names, int[] left, int[] right) {
         public static CamelPouchMap parse(List<String> input) {
-            return new CamelPouchMap(
-                    Arrays.stream(input.get(0).split(""))
-                            .map(Instruction::valueOf)
-                            .toArray(Instruction[]::new),
-                    input.stream()
-                            .skip(2)
-                            .map(NODE_PATTERN::matcher)
-                            .filter(Matcher::matches)
-                            .map(matcher -> new Node(
-                                    matcher.group(1),
-                                    matcher.group(2),
-                                    matcher.group(3)
-                            ))
-                            .collect(Collectors.toUnmodifiableMap(Node::current, node -> node))
-            );
+            var instructions = input.get(0).chars()
+                    .mapToObj(instruction -> Instruction.parse((char) instruction))
+                    .toArray(Instruction[]::new);
+            var nodes = input.stream()
+                    .skip(2)
+                    .filter(line -> !line.isBlank())
+                    .map(Node::parse)
+                    .sorted(Comparator.comparing(Node::current))
+                    .toList();
+
+            var names = nodes.stream().map(Node::current).toArray(String[]::new);
+            var left = new int[names.length];
+            var right = new int[names.length];
+
+            for (var i = 0; i < names.length; i++) {
+                if (i > 0 && names[i].equals(names[i - 1])) {
+                    throw new IllegalArgumentException("Duplicate node: " + names[i]);
+                }
+
+                left[i] = indexOf(names, nodes.get(i).left());
+                right[i] = indexOf(names, nodes.get(i).right());
+            }
+
+            return new CamelPouchMap(instructions, names, left, right);
+        }
+
+        private static int indexOf(String[] sortedNames, String name) {
+            var index = Arrays.binarySearch(sortedNames, name);
+
+            if (index < 0) {
+                throw new IllegalArgumentException("Unknown node: " + name);
+            }
+
+            return index;
         }
 
         public long stepCountToDestination(Predicate<String> startPredicate, Predicate<String> destinationPredicate) {
+            // The walk runs on node indices, so every step is array lookups rather than string hashing.
+            var destination = new boolean[names.length];
+            var destinationCount = 0;
+            var currents = new IntArrayDeque();
+            var arrived = 0;
+
+            for (var i = 0; i < names.length; i++) {
+                destination[i] = destinationPredicate.test(names[i]);
+
+                if (destination[i]) {
+                    destinationCount++;
+                }
+
+                if (startPredicate.test(names[i])) {
+                    currents.addLast(i);
+
+                    if (destination[i]) {
+                        arrived++;
+                    }
+                }
+            }
+
+            // Ghosts meeting on a node walk on as one, so each step keeps a node once.
+            var lastVisitedAt = new long[names.length];
+            var cycled = new boolean[names.length];
+            var cycles = new LongArrayList();
             var currentInstructionIndex = 0;
-            var currents = network.keySet().stream().filter(startPredicate).collect(Collectors.toUnmodifiableSet());
-            var destinations = network.keySet().stream().filter(destinationPredicate).collect(Collectors.toUnmodifiableSet());
             var steps = 0L;
 
-            var cycles = new HashMap<String, Long>();
+            while (arrived != destinationCount && cycles.size() != destinationCount) {
+                Cancellation.checkpoint();
 
-            while (!currents.containsAll(destinations) && !cycles.keySet().containsAll(destinations)) {
-                var instruction = instructions[currentInstructionIndex];
-                currents = currents.stream()
-                        .map(network::get)
-                        .map(node -> switch (instruction) {
-                            case L -> node.left();
-                            case R -> node.right();
-                        }).collect(Collectors.toUnmodifiableSet());
+                var next = switch (instructions[currentInstructionIndex]) {
+                    case L -> left;
+                    case R -> right;
+                };
                 currentInstructionIndex = (currentInstructionIndex + 1) % instructions.length;
                 steps++;
+                arrived = 0;
+
+                for (var ghosts = currents.size(); ghosts > 0; ghosts--) {
+                    var node = next[currents.removeFirst()];
+
+                    if (lastVisitedAt[node] == steps) {
+                        continue;
+                    }
 
-                final var currentSteps = steps;
+                    lastVisitedAt[node] = steps;
+                    currents.addLast(node);
 
-                currents.stream()
-                        .filter(destinations::contains)
-                        .filter(Predicate.not(cycles.keySet()::contains))
-                        .forEach(destination -> cycles.put(destination, currentSteps));
+                    if (destination[node]) {
+                        arrived++;
+
+                        if (!cycled[node]) {
+                            cycled[node] = true;
+                            cycles.add(steps);
+                        }
+                    }
+                }
             }
-            return currents.containsAll(destinations) ? steps : greaterCommonMultiple(cycles.values());
+
+            SolveContext.current().counter("steps").add(steps);
+
+            return arrived == destinationCount ? steps : greaterCommonMultiple(cycles);
         }
 
-        private long greaterCommonMultiple(Collection<Long> values) {
+        private long greaterCommonMultiple(LongArrayList values) {
             return values.stream()
                     .reduce(1L, (a, b) -> a * b / greatestCommonDivisor(a, b));
         }
 
-        private long greatestCommonDivisor(Long a, Long b) {
+        private long greatestCommonDivisor(long a, long b) {
             return b == 0 ? a : greatestCommonDivisor(b, a % b);
         }
     }
 
-    enum Instruction {L, R}
+    enum Instruction {
+        L, R;
+
+        static Instruction parse(char instruction) {
+            return switch (instruction) {
+                case 'L' -> L;
+                case 'R' -> R;
+                default -> throw new IllegalArgumentException("Unknown instruction: " + instruction);
+            };
+        }
+    }
 
     record Node(String current, String left, String right) {
+        static Node parse(String definition) {
+            var scanner = new AsciiScanner(definition);
+            var current = scanner.nextWord();
+            var left = scanner.expect(" = (").nextWord();
+            var right = scanner.expect(", ").nextWord();
+
+            scanner.expect(')');
+
+            return new Node(current, left, right);
+        }
     }
 }
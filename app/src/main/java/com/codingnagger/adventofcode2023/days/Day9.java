@@ -1,32 +1,54 @@
 package com.codingnagger.adventofcode2023.days;
 
-import java.util.Arrays;
+import com.codingnagger.adventofcode2023.utils.AsciiScanner;
+import com.codingnagger.adventofcode2023.utils.LineShards;
+import com.codingnagger.adventofcode2023.utils.LongArrayList;
+
 import java.util.List;
-import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+public class Day9 implements StreamingDay {
+    @Override
+    public String partOne(Stream<String> input) {
+        return input.mapToLong(Day9::nextValue).sum() + "";
+    }
 
-public class Day9 implements Day {
     @Override
     public String partOne(List<String> input) {
-        return input.stream()
-                .map(line -> Arrays.asList(line.split(" ")))
-                .map(line -> line.stream().map(Long::parseLong).toList())
-                .map(ValueHistory::new)
-                .mapToLong(ValueHistory::extrapolateNextValue)
-                .sum() + "";
+        return LineShards.sum(input, Day9::nextValue) + "";
+    }
+
+    @Override
+    public String partTwo(Stream<String> input) {
+        return input.mapToLong(Day9::previousValue).sum() + "";
     }
 
     @Override
     public String partTwo(List<String> input) {
-        return input.stream()
-                .map(line -> Arrays.asList(line.split(" ")))
-                .map(line -> line.stream().map(Long::parseLong).toList())
-                .map(ValueHistory::new)
-                .mapToLong(ValueHistory::extrapolatePreviousValue)
-                .sum() + "";
+        return LineShards.sum(input, Day9::previousValue) + "";
+    }
+
+    private static long nextValue(String line) {
+        return ValueHistory.parse(line).extrapolateNextValue();
+    }
+
+    private static long previousValue(String line) {
+        return ValueHistory.parse(line).extrapolatePreviousValue();
     }
 
-    record ValueHistory(List<Long> history) {
-        public Long extrapolateNextValue() {
+    record ValueHistory(LongArrayList history) {
+        static ValueHistory parse(String line) {
+            var scanner = new AsciiScanner(line);
+            var history = new LongArrayList();
+
+            while (scanner.hasNextNumber()) {
+                history.add(scanner.nextLong());
+            }
+
+            return new ValueHistory(history);
+        }
+
+        public long extrapolateNextValue() {
             var size = history.size();
             var nextSequence = getNextSequence(size);
 
@@ -37,7 +59,7 @@ public class Day9 implements Day {
             return new ValueHistory(nextSequence).extrapolateNextValue() + history.getLast();
         }
 
-        public Long extrapolatePreviousValue() {
+        public long extrapolatePreviousValue() {
             var size = history.size();
             var nextSequence = getNextSequence(size);
 
@@ -48,14 +70,26 @@ public class Day9 implements Day {
             return history.getFirst() - new ValueHistory(nextSequence).extrapolatePreviousValue();
         }
 
-        private boolean allSequenceEquals(List<Long> nextSequence) {
-            return nextSequence.stream().allMatch(nextSequence.getFirst()::equals);
+        private boolean allSequenceEquals(LongArrayList nextSequence) {
+            var first = nextSequence.getFirst();
+
+            for (var i = 1; i < nextSequence.size(); i++) {
+                if (nextSequence.get(i) != first) {
+                    return false;
+                }
+            }
+
+            return true;
         }
 
-        private List<Long> getNextSequence(int size) {
-            return IntStream.range(1, size)
-                    .mapToObj(i -> history.get(i) - history.get(i - 1))
-                    .toList();
+        private LongArrayList getNextSequence(int size) {
+            var nextSequence = new LongArrayList(size);
+
+            for (var i = 1; i < size; i++) {
+                nextSequence.add(history.get(i) - history.get(i - 1));
+            }
+
+            return nextSequence;
         }
     }
 }
@@ -0,0 +1,25 @@
+package com.codingnagger.adventofcode2023.days;
+
+import java.util.List;
+
+/**
+ * A day that parses its input once into an immutable model that both parts then solve from. The model may be shared
+ * between threads and calls, so solving must never modify it.
+ */
+public interface PreparedDay<T> extends Day {
+    T prepare(List<String> input);
+
+    String partOne(T model);
+
+    String partTwo(T model);
+
+    @Override
+    default String partOne(List<String> input) {
+        return partOne(prepare(input));
+    }
+
+    @Override
+    default String partTwo(List<String> input) {
+        return partTwo(prepare(input));
+    }
+}
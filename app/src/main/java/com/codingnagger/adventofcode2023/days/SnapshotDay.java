@@ -0,0 +1,49 @@
+package com.codingnagger.adventofcode2023.days;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A prepared day whose model can be saved in a compact binary form and read back without parsing the text input.
+ * {@link #readSnapshot(ByteBuffer)} must read exactly what {@link #writeSnapshot(Object, DataOutput)} wrote, in
+ * big-endian order.
+ */
+public interface SnapshotDay<T> extends PreparedDay<T> {
+    void writeSnapshot(T model, DataOutput out) throws IOException;
+
+    T readSnapshot(ByteBuffer snapshot);
+
+    static void writeString(DataOutput out, String value) throws IOException {
+        var bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Reads an element count, rejecting one that the rest of the snapshot cannot hold, so that a corrupt count fails
+     * before anything is allocated for it.
+     */
+    static int readCount(ByteBuffer snapshot, int minimumElementBytes) {
+        var count = snapshot.getInt();
+
+        if (count < 0 || (long) count * minimumElementBytes > snapshot.remaining()) {
+            throw new IllegalArgumentException("Invalid count in snapshot: " + count);
+        }
+
+        return count;
+    }
+
+    static String readString(ByteBuffer snapshot) {
+        var length = snapshot.getInt();
+
+        if (length < 0 || length > snapshot.remaining()) {
+            throw new IllegalArgumentException("Invalid string length in snapshot: " + length);
+        }
+
+        var bytes = new byte[length];
+        snapshot.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,23 @@
+package com.codingnagger.adventofcode2023.days;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * A day whose answers fold the input line by line, so it can be fed lines as they are read without keeping them.
+ */
+public interface StreamingDay extends Day {
+    String partOne(Stream<String> input);
+
+    String partTwo(Stream<String> input);
+
+    @Override
+    default String partOne(List<String> input) {
+        return partOne(input.stream());
+    }
+
+    @Override
+    default String partTwo(List<String> input) {
+        return partTwo(input.stream());
+    }
+}
@@ -0,0 +1,148 @@
+package com.codingnagger.adventofcode2023.runner;
+
+import com.codingnagger.adventofcode2023.days.Day;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Answers kept on disk, one small file per day part, named after the SHA-256 of the input bytes, the day class and
+ * a stamp of its compiled code and of the shared code under it, so that changing either the input or the solution
+ * misses the cache. The least
+ * recently used entries are deleted once there are more than {@code maxEntries}.
+ */
+public class AnswerCache {
+    public static final Path DEFAULT_DIRECTORY = Path.of(System.getProperty("user.home"), ".cache", "advent-of-code-2023", "answers");
+    public static final int DEFAULT_MAX_ENTRIES = 1_000;
+
+    // Bump when the key or entry layout changes so older entries are never read back.
+    private static final String FORMAT_VERSION = "2";
+    private static final String ENTRY_SUFFIX = ".answer";
+
+    private final Path directory;
+    private final int maxEntries;
+    private final Path sharedCodeRoot;
+    private final Map<Class<?>, String> codeStamps = new ConcurrentHashMap<>();
+
+    public AnswerCache(Path directory, int maxEntries) {
+        this(directory, maxEntries, Digests.codeRoot(Day.class));
+    }
+
+    AnswerCache(Path directory, int maxEntries, Path sharedCodeRoot) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("An answer cache needs room for at least one entry but got " + maxEntries);
+        }
+
+        this.directory = directory;
+        this.maxEntries = maxEntries;
+        this.sharedCodeRoot = sharedCodeRoot;
+    }
+
+    public Key key(Day day, Path input) {
+        return key(day, Digests.inputDigest(input));
+    }
+
+    public Key key(Day day, byte[] input) {
+        return key(day, Digests.inputDigest(input));
+    }
+
+    Key key(Day day, String inputDigest) {
+        var digest = Digests.sha256();
+        digest.update(FORMAT_VERSION.getBytes(StandardCharsets.UTF_8));
+        digest.update(day.getClass().getName().getBytes(StandardCharsets.UTF_8));
+        digest.update(codeStamps.computeIfAbsent(day.getClass(), type -> Digests.codeStamp(type, sharedCodeRoot)).getBytes(StandardCharsets.UTF_8));
+        digest.update(inputDigest.getBytes(StandardCharsets.UTF_8));
+
+        return new Key(HexFormat.of().formatHex(digest.digest()));
+    }
+
+    public Optional<String> get(Key key, Part part) {
+        var entry = entry(key, part);
+        String answer;
+
+        try {
+            answer = Files.readString(entry, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            // Missing or unreadable, the day is simply solved again.
+            return Optional.empty();
+        }
+
+        try {
+            Files.setLastModifiedTime(entry, FileTime.from(Instant.now()));
+        } catch (IOException ignored) {
+            // A stale timestamp only makes the entry an earlier candidate for eviction.
+        }
+
+        return Optional.of(answer);
+    }
+
+    public void put(Key key, Part part, String answer) {
+        try {
+            Files.createDirectories(directory);
+            var temporary = Files.createTempFile(directory, key.hash(), ".tmp");
+
+            try {
+                Files.writeString(temporary, answer, StandardCharsets.UTF_8);
+                Files.move(temporary, entry(key, part), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temporary);
+            }
+
+            evictLeastRecentlyUsed();
+        } catch (IOException ignored) {
+            // The cache only saves time, so a read-only or full cache directory just leaves answers uncached.
+        }
+    }
+
+    private synchronized void evictLeastRecentlyUsed() throws IOException {
+        var entries = new ArrayList<CachedEntry>();
+
+        try (var files = Files.list(directory)) {
+            for (var file : (Iterable<Path>) files::iterator) {
+                if (file.getFileName().toString().endsWith(ENTRY_SUFFIX)) {
+                    lastUsed(file).ifPresent(lastUsed -> entries.add(new CachedEntry(file, lastUsed)));
+                }
+            }
+        }
+
+        if (entries.size() <= maxEntries) {
+            return;
+        }
+
+        entries.sort(Comparator.comparing(CachedEntry::lastUsed));
+
+        for (var entry : entries.subList(0, entries.size() - maxEntries)) {
+            Files.deleteIfExists(entry.file());
+        }
+    }
+
+    private static Optional<FileTime> lastUsed(Path file) throws IOException {
+        try {
+            return Optional.of(Files.getLastModifiedTime(file));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        }
+    }
+
+    private Path entry(Key key, Part part) {
+        return directory.resolve(key.hash() + "-part" + part.number() + ENTRY_SUFFIX);
+    }
+
+    public record Key(String hash) {
+    }
+
+    private record CachedEntry(Path file, FileTime lastUsed) {
+    }
+}
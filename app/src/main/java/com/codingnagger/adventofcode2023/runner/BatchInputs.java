@@ -0,0 +1,71 @@
+package com.codingnagger.adventofcode2023.runner;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Resolves a batch argument to input files: every regular file of a directory, or the files matching a glob such as
+ * {@code inputs/day5/*.txt}, where {@code **} also descends into subdirectories.
+ */
+public final class BatchInputs {
+    private static final String GLOB_CHARACTERS = "*?[{";
+
+    private BatchInputs() {
+    }
+
+    public static List<Path> resolve(String pattern) {
+        var path = Path.of(pattern);
+
+        if (Files.isDirectory(path)) {
+            return regularFiles(path, 1, _ -> true);
+        }
+
+        var base = globBase(path);
+
+        if (base.equals(path)) {
+            if (!Files.isRegularFile(path)) {
+                throw new IllegalArgumentException("No batch input at " + pattern);
+            }
+
+            return List.of(path);
+        }
+
+        var matcher = FileSystems.getDefault().getPathMatcher("glob:" + base.relativize(path));
+        return regularFiles(base, Integer.MAX_VALUE, file -> matcher.matches(base.relativize(file)));
+    }
+
+    private static Path globBase(Path path) {
+        var base = path.isAbsolute() ? path.getRoot() : Path.of("");
+
+        for (var element : path) {
+            if (element.toString().chars().anyMatch(c -> GLOB_CHARACTERS.indexOf(c) >= 0)) {
+                return base;
+            }
+
+            base = base.resolve(element);
+        }
+
+        return base;
+    }
+
+    private static List<Path> regularFiles(Path directory, int depth, Predicate<Path> filter) {
+        var start = directory.toString().isEmpty() ? Path.of(".") : directory;
+
+        try (Stream<Path> files = Files.walk(start, depth)) {
+            return files
+                    .filter(Files::isRegularFile)
+                    .map(file -> directory.toString().isEmpty() ? start.relativize(file) : file)
+                    .filter(filter)
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.codingnagger.adventofcode2023.runner;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+public record BatchResult(int day, List<InputResult> inputs, long totalBytes, Duration elapsed) {
+    private static final double BYTES_PER_MEGABYTE = 1024 * 1024;
+
+    public BatchResult {
+        inputs = List.copyOf(inputs);
+    }
+
+    public double inputsPerSecond() {
+        return inputs.size() / seconds();
+    }
+
+    public double megabytesPerSecond() {
+        return totalBytes / BYTES_PER_MEGABYTE / seconds();
+    }
+
+    public long failureCount() {
+        return inputs.stream().filter(input -> input.result().potentialFailure().isPresent()).count();
+    }
+
+    private double seconds() {
+        return Math.max(elapsed.toNanos(), 1) / 1e9;
+    }
+
+    public record InputResult(Path input, DayResult result) {
+    }
+}
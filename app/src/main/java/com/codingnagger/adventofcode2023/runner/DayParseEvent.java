@@ -0,0 +1,32 @@
+package com.codingnagger.adventofcode2023.runner;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.codingnagger.adventofcode2023.DayParse")
+@Label("Day Parse")
+@Category("Advent of Code")
+@Description("Preparing the model of a day from its input")
+class DayParseEvent extends Event {
+    @Label("Day")
+    int day;
+
+    @Label("Input Lines")
+    @Description("-1 when the input is read while solving")
+    long inputLines;
+
+    @Label("Input Size")
+    @DataAmount
+    @Description("-1 when the input was handed over as lines")
+    long inputBytes;
+
+    DayParseEvent(int day, InputSize inputSize) {
+        this.day = day;
+        this.inputLines = inputSize.lines();
+        this.inputBytes = inputSize.bytes();
+    }
+}
@@ -0,0 +1,69 @@
+package com.codingnagger.adventofcode2023.runner;
+
+import com.codingnagger.adventofcode2023.days.Day;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.ServiceLoader;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+public class DayRegistry {
+    private static final Pattern DAY_CLASS_NAME_PATTERN = Pattern.compile("Day([0-9]+)");
+
+    private final SortedMap<Integer, Day> days;
+
+    DayRegistry(Collection<? extends Day> days) {
+        var registeredDays = new TreeMap<Integer, Day>();
+
+        for (var day : days) {
+            var dayNumber = dayNumber(day.getClass());
+
+            if (registeredDays.putIfAbsent(dayNumber, day) != null) {
+                throw new IllegalStateException("Day " + dayNumber + " is registered more than once");
+            }
+        }
+
+        this.days = Collections.unmodifiableSortedMap(registeredDays);
+    }
+
+    public static DayRegistry load() {
+        return new DayRegistry(
+                ServiceLoader.load(Day.class)
+                        .stream()
+                        .map(ServiceLoader.Provider::get)
+                        .toList()
+        );
+    }
+
+    public static int dayNumber(Class<? extends Day> dayClass) {
+        var matcher = DAY_CLASS_NAME_PATTERN.matcher(dayClass.getSimpleName());
+
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Cannot infer day number from " + dayClass.getName());
+        }
+
+        return Integer.parseInt(matcher.group(1));
+    }
+
+    public Day get(int dayNumber) {
+        var day = days.get(dayNumber);
+
+        if (day == null) {
+            throw new IllegalArgumentException("Unknown day: " + dayNumber + ", available days are " + days.keySet());
+        }
+
+        return day;
+    }
+
+    public SortedSet<Integer> dayNumbers() {
+        return Collections.unmodifiableSortedSet(new TreeSet<>(days.keySet()));
+    }
+
+    public int latestDayNumber() {
+        return days.lastKey();
+    }
+}
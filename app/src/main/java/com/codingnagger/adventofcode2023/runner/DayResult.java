@@ -0,0 +1,33 @@
+package com.codingnagger.adventofcode2023.runner;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+public record DayResult(int day, PhaseMetrics preparation, List<PartResult> parts, Map<String, Long> counters, Throwable failure) {
+    public static DayResult succeeded(int day, List<PartResult> parts) {
+        return succeeded(day, null, parts);
+    }
+
+    public static DayResult succeeded(int day, PhaseMetrics preparation, List<PartResult> parts) {
+        return succeeded(day, preparation, parts, Map.of());
+    }
+
+    public static DayResult succeeded(int day, PhaseMetrics preparation, List<PartResult> parts, Map<String, Long> counters) {
+        return new DayResult(day, preparation, List.copyOf(parts), Collections.unmodifiableMap(new TreeMap<>(counters)), null);
+    }
+
+    public static DayResult failed(int day, Throwable failure) {
+        return new DayResult(day, null, List.of(), Map.of(), failure);
+    }
+
+    public Optional<PhaseMetrics> potentialPreparation() {
+        return Optional.ofNullable(preparation);
+    }
+
+    public Optional<Throwable> potentialFailure() {
+        return Optional.ofNullable(failure);
+    }
+}
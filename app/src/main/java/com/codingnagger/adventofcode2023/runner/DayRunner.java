@@ -0,0 +1,484 @@
+package com.codingnagger.adventofcode2023.runner;
+
+import com.codingnagger.adventofcode2023.days.Day;
+import com.codingnagger.adventofcode2023.days.PreparedDay;
+import com.codingnagger.adventofcode2023.days.SnapshotDay;
+import com.codingnagger.adventofcode2023.days.StreamingDay;
+import com.codingnagger.adventofcode2023.utils.InputLoader;
+import com.codingnagger.adventofcode2023.utils.LatencyHistogram;
+import com.codingnagger.adventofcode2023.utils.LoadedInput;
+import com.codingnagger.adventofcode2023.utils.SolveContext;
+import jdk.jfr.Event;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.StructuredTaskScope;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+public class DayRunner {
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.HOURS.toNanos(1);
+    private static final int SIGNIFICANT_DIGITS = 3;
+    // A String header and its byte array header, on top of the characters.
+    private static final long STRING_OVERHEAD_BYTES = 40;
+
+    private final DayRegistry registry;
+    private final AnswerCache answerCache;
+    private final ModelCache modelCache;
+    private final ModelSnapshots snapshots;
+    private final Duration deadline;
+    private final ForkJoinPool pool;
+    private final long memoryBudget;
+    private final EngineCalibration calibration;
+
+    public DayRunner(DayRegistry registry) {
+        this(registry, null, null);
+    }
+
+    public DayRunner(DayRegistry registry, AnswerCache answerCache, ModelCache modelCache) {
+        this(registry, answerCache, modelCache, null);
+    }
+
+    public DayRunner(DayRegistry registry, AnswerCache answerCache, ModelCache modelCache, ModelSnapshots snapshots) {
+        this(registry, answerCache, modelCache, snapshots, null, null, Long.MAX_VALUE, EngineCalibration.none());
+    }
+
+    private DayRunner(
+            DayRegistry registry,
+            AnswerCache answerCache,
+            ModelCache modelCache,
+            ModelSnapshots snapshots,
+            Duration deadline,
+            ForkJoinPool pool,
+            long memoryBudget,
+            EngineCalibration calibration
+    ) {
+        this.registry = registry;
+        this.answerCache = answerCache;
+        this.modelCache = modelCache;
+        this.snapshots = snapshots;
+        this.deadline = deadline;
+        this.pool = pool;
+        this.memoryBudget = memoryBudget;
+        this.calibration = calibration;
+    }
+
+    /**
+     * Gives every day at most {@code deadline} to solve its parts once its input is parsed. Parts still running then
+     * are interrupted and the day fails with a {@link CancellationException}.
+     */
+    public DayRunner withDeadline(Duration deadline) {
+        if (deadline.isNegative() || deadline.isZero()) {
+            throw new IllegalArgumentException("A deadline must be positive but was " + deadline);
+        }
+
+        return new DayRunner(registry, answerCache, modelCache, snapshots, deadline, pool, memoryBudget, calibration);
+    }
+
+    /**
+     * Runs the days' parallel engines, and batch mode, on {@code pool} instead of the common pool.
+     */
+    public DayRunner withPool(ForkJoinPool pool) {
+        return new DayRunner(registry, answerCache, modelCache, snapshots, deadline, pool, memoryBudget, calibration);
+    }
+
+    public DayRunner withMemoryBudget(long bytes) {
+        if (bytes <= 0) {
+            throw new IllegalArgumentException("A memory budget must be positive but was " + bytes);
+        }
+
+        return new DayRunner(registry, answerCache, modelCache, snapshots, deadline, pool, bytes, calibration);
+    }
+
+    /**
+     * Lets each day switch from sequential to parallel engines at its calibrated input size instead of the default.
+     */
+    public DayRunner withCalibration(EngineCalibration calibration) {
+        return new DayRunner(registry, answerCache, modelCache, snapshots, deadline, pool, memoryBudget, calibration);
+    }
+
+    public static String defaultInputFilename(int dayNumber) {
+        return "day" + dayNumber + ".txt";
+    }
+
+    public DayResult run(int dayNumber, List<String> input, List<Part> parts) {
+        return solve(dayNumber, input, InputSize.ofLines(input.size()), parts);
+    }
+
+    public DayResult run(int dayNumber, Path input, List<Part> parts) {
+        if (answerCache == null) {
+            return solveWithSnapshot(dayNumber, input, null, parts);
+        }
+
+        // One digest of the content serves both the answer key and the snapshot check.
+        var inputDigest = Digests.inputDigest(input);
+        var key = answerCache.key(registry.get(dayNumber), inputDigest);
+
+        return solveCached(dayNumber, key, parts, missingParts -> solveWithSnapshot(dayNumber, input, inputDigest, missingParts));
+    }
+
+    public DayResult run(int dayNumber, LoadedInput input, List<Part> parts) {
+        if (answerCache == null) {
+            return solve(dayNumber, input, parts);
+        }
+
+        var key = answerCache.key(registry.get(dayNumber), input.content());
+
+        return solveCached(dayNumber, key, parts, missingParts -> solve(dayNumber, input, missingParts));
+    }
+
+    private DayResult solveCached(int dayNumber, AnswerCache.Key key, List<Part> parts, Function<List<Part>, DayResult> solver) {
+        var cachedParts = new EnumMap<Part, PartResult>(Part.class);
+
+        for (var part : parts) {
+            var lookup = PhaseRecorder.measure(() -> answerCache.get(key, part));
+            lookup.value().ifPresent(answer -> cachedParts.put(part, new PartResult(part, answer, lookup.metrics(), true)));
+        }
+
+        var missingParts = parts.stream().filter(part -> !cachedParts.containsKey(part)).toList();
+
+        if (missingParts.isEmpty()) {
+            return DayResult.succeeded(dayNumber, parts.stream().map(cachedParts::get).toList());
+        }
+
+        var solved = solver.apply(missingParts);
+        var solvedParts = new EnumMap<Part, PartResult>(Part.class);
+
+        for (var partResult : solved.parts()) {
+            answerCache.put(key, partResult.part(), partResult.answer());
+            solvedParts.put(partResult.part(), partResult);
+        }
+
+        solvedParts.putAll(cachedParts);
+
+        return DayResult.succeeded(dayNumber, solved.preparation(), parts.stream().map(solvedParts::get).toList(), solved.counters());
+    }
+
+    private DayResult solve(int dayNumber, LoadedInput input, List<Part> parts) {
+        var lines = input.lines();
+
+        return solve(dayNumber, lines, new InputSize(lines.size(), input.content().length), parts);
+    }
+
+    private DayResult solve(int dayNumber, List<String> input, InputSize inputSize, List<Part> parts) {
+        var day = registry.get(dayNumber);
+
+        if (day instanceof PreparedDay<?> preparedDay) {
+            return runPrepared(dayNumber, preparedDay, input, () -> ModelCache.key(day, input), inputSize, parts);
+        }
+
+        return run(dayNumber, inputSize, null, parts, part -> solve(day, part, input));
+    }
+
+    private DayResult solveWithSnapshot(int dayNumber, Path input, String inputDigest, List<Part> parts) {
+        if (snapshots != null && registry.get(dayNumber) instanceof SnapshotDay<?> day) {
+            return solveWithSnapshot(dayNumber, day, input, inputDigest != null ? inputDigest : Digests.inputDigest(input), parts);
+        }
+
+        return solve(dayNumber, input, parts);
+    }
+
+    private <T> DayResult solveWithSnapshot(int dayNumber, SnapshotDay<T> day, Path input, String inputDigest, List<Part> parts) {
+        var loading = PhaseRecorder.measure(() -> snapshots.read(day, input, inputDigest));
+
+        if (loading.value().isPresent()) {
+            var model = loading.value().get();
+            return run(dayNumber, new InputSize(InputSize.UNKNOWN, fileSize(input)), loading.metrics(), parts, part -> solve(day, part, model));
+        }
+
+        try (var mapped = InputLoader.LoadMapped(input)) {
+            var inputSize = new InputSize(mapped.lineCount(), mapped.byteSize());
+            var preparation = measure(new DayParseEvent(dayNumber, inputSize), () -> day.prepare(mapped.asLines()));
+            var model = preparation.value();
+
+            snapshots.write(day, input, inputDigest, model);
+
+            return run(dayNumber, inputSize, preparation.metrics(), parts, part -> solve(day, part, model));
+        }
+    }
+
+    private DayResult solve(int dayNumber, Path input, List<Part> parts) {
+        var day = registry.get(dayNumber);
+
+        // Mapped lines are split across cores, but a compressed input would have to be inflated whole to be mapped.
+        if (day instanceof StreamingDay streamingDay && InputLoader.IsCompressed(input)) {
+            var inputSize = new InputSize(InputSize.UNKNOWN, fileSize(input));
+
+            return run(dayNumber, inputSize, null, parts, part -> {
+                try (var lines = InputLoader.LoadStreamed(input)) {
+                    return solve(streamingDay, part, lines);
+                }
+            });
+        }
+
+        try (var mapped = InputLoader.LoadMapped(input)) {
+            var inputSize = new InputSize(mapped.lineCount(), mapped.byteSize());
+            // Decoded once and shared, since grid days index lines repeatedly and both parts may run at once.
+            var lines = mapped.readLines();
+
+            if (day instanceof PreparedDay<?> preparedDay) {
+                return runPrepared(dayNumber, preparedDay, lines, () -> ModelCache.key(day, lines), inputSize, parts);
+            }
+
+            return run(dayNumber, inputSize, null, parts, part -> solve(day, part, lines));
+        }
+    }
+
+    public RepeatedRunResult runRepeatedly(int dayNumber, Path input, List<Part> parts, int warmups, int iterations) {
+        for (var i = 0; i < warmups; i++) {
+            solve(dayNumber, input, parts);
+        }
+
+        var latencies = new LinkedHashMap<String, LatencyHistogram>();
+
+        for (var i = 0; i < iterations; i++) {
+            for (var phase : ReportFormat.phases(solve(dayNumber, input, parts))) {
+                latencies.computeIfAbsent(phase.name(), _ -> new LatencyHistogram(HIGHEST_TRACKABLE_NANOS, SIGNIFICANT_DIGITS))
+                        .record(phase.metrics().wallNanos());
+            }
+        }
+
+        return new RepeatedRunResult(dayNumber, warmups, iterations, latencies);
+    }
+
+    public List<DayResult> runAll(IntFunction<Path> inputs, List<Part> parts) {
+        // Platform threads, because the JVM reports neither CPU time nor allocations for virtual ones.
+        try (var executor = Executors.newThreadPerTaskExecutor(Thread.ofPlatform().name("day-", 1).factory())) {
+            var futures = registry.dayNumbers().stream()
+                    .map(dayNumber -> executor.submit(() -> runSafely(dayNumber, () -> run(dayNumber, inputs.apply(dayNumber), parts))))
+                    .toList();
+
+            return futures.stream()
+                    .map(DayRunner::await)
+                    .toList();
+        }
+    }
+
+    public BatchResult runBatch(int dayNumber, List<Path> inputs, List<Part> parts) {
+        var totalBytes = inputs.stream().mapToLong(DayRunner::fileSize).sum();
+        var start = System.nanoTime();
+        var parallelism = pool == null ? Runtime.getRuntime().availableProcessors() : pool.getParallelism();
+
+        // Work stealing keeps every core busy when input sizes, and so solve times, vary a lot. Each worker also has
+        // one input read ahead, so the next file is usually in memory by the time it finishes the current one.
+        try (var batchPool = new ForkJoinPool(parallelism, ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, true);
+             var loader = InputLoader.LoadAhead(inputs, parallelism)) {
+            var workers = new Semaphore(parallelism);
+            var futures = new ArrayList<Future<BatchResult.InputResult>>(inputs.size());
+
+            for (var input : inputs) {
+                acquire(workers);
+
+                try {
+                    var loaded = loader.next();
+
+                    futures.add(batchPool.submit(() -> {
+                        try {
+                            return new BatchResult.InputResult(input, runSafely(dayNumber, () -> run(dayNumber, loaded, parts)));
+                        } finally {
+                            workers.release();
+                        }
+                    }));
+                } catch (RuntimeException e) {
+                    // Whatever goes wrong before the input reaches a worker only fails that input.
+                    workers.release();
+                    futures.add(CompletableFuture.completedFuture(new BatchResult.InputResult(input, DayResult.failed(dayNumber, e))));
+                }
+            }
+
+            var results = futures.stream()
+                    .map(DayRunner::await)
+                    .toList();
+
+            return new BatchResult(dayNumber, results, totalBytes, Duration.ofNanos(System.nanoTime() - start));
+        }
+    }
+
+    private <T> DayResult runPrepared(
+            int dayNumber,
+            PreparedDay<T> day,
+            List<String> input,
+            Supplier<ModelCache.Key> modelKey,
+            InputSize inputSize,
+            List<Part> parts
+    ) {
+        var key = modelCache == null ? null : modelKey.get();
+
+        if (key != null) {
+            var cachedModel = modelCache.get(key);
+
+            if (cachedModel.isPresent()) {
+                @SuppressWarnings("unchecked")
+                var model = (T) cachedModel.get();
+                return run(dayNumber, inputSize, null, parts, part -> solve(day, part, model));
+            }
+        }
+
+        var preparation = measure(new DayParseEvent(dayNumber, inputSize), () -> day.prepare(input));
+        var model = preparation.value();
+
+        // What preparing allocated bounds what the model retains. Virtual threads, such as the server's, do not measure
+        // it, so their models are weighed like the lines they were parsed from instead.
+        if (key != null) {
+            var weight = preparation.metrics().hasAllocatedBytes()
+                    ? preparation.metrics().allocatedBytes()
+                    : input.stream().mapToLong(line -> STRING_OVERHEAD_BYTES + line.length()).sum();
+
+            modelCache.put(key, model, weight);
+        }
+
+        return run(dayNumber, inputSize, preparation.metrics(), parts, part -> solve(day, part, model));
+    }
+
+    private DayResult run(int dayNumber, InputSize inputSize, PhaseMetrics preparation, List<Part> parts, Function<Part, String> solver) {
+        var context = solveContext(dayNumber);
+        var partResults = context.call(() -> solveParts(dayNumber, inputSize, parts, solver));
+
+        return DayResult.succeeded(dayNumber, preparation, partResults, context.counters());
+    }
+
+    private SolveContext solveContext(int dayNumber) {
+        var contextPool = pool == null ? ForkJoinPool.commonPool() : pool;
+        var sequentialLineLimit = calibration.sequentialLineLimit(registry.get(dayNumber));
+
+        return sequentialLineLimit.isPresent()
+                ? new SolveContext(contextPool, memoryBudget, sequentialLineLimit.getAsInt())
+                : new SolveContext(contextPool, memoryBudget);
+    }
+
+    private List<PartResult> solveParts(int dayNumber, InputSize inputSize, List<Part> parts, Function<Part, String> solver) {
+        // Parts share the prepared model and run side by side, inheriting the solve context. Platform threads, so
+        // their CPU time and allocations stay measurable.
+        try (var scope = new StructuredTaskScope.ShutdownOnFailure("day-" + dayNumber, Thread.ofPlatform().name("day-" + dayNumber + "-part-", 1).factory())) {
+            var answers = parts.stream()
+                    .map(part -> scope.fork(() -> measure(new DaySolveEvent(dayNumber, part, inputSize), () -> solver.apply(part))))
+                    .toList();
+
+            join(scope, dayNumber);
+            scope.throwIfFailed(DayRunner::partFailure);
+
+            var partResults = new ArrayList<PartResult>(parts.size());
+
+            for (var i = 0; i < parts.size(); i++) {
+                var answer = answers.get(i).get();
+                partResults.add(new PartResult(parts.get(i), answer.value(), answer.metrics()));
+            }
+
+            return partResults;
+        }
+    }
+
+    private void join(StructuredTaskScope<?> scope, int dayNumber) {
+        try {
+            if (deadline == null) {
+                scope.join();
+            } else {
+                scope.joinUntil(Instant.now().plus(deadline));
+            }
+        } catch (InterruptedException e) {
+            scope.shutdown();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while solving day " + dayNumber, e);
+        } catch (TimeoutException e) {
+            // Interrupts the parts still running; closing the scope then waits for them to notice.
+            scope.shutdown();
+            var cancellation = new CancellationException("Day " + dayNumber + " did not finish within " + deadline);
+            cancellation.initCause(e);
+            throw cancellation;
+        }
+    }
+
+    private static RuntimeException partFailure(Throwable failure) {
+        return switch (failure) {
+            case RuntimeException e -> e;
+            case Error e -> throw e;
+            default -> new IllegalStateException("Part execution failed", failure);
+        };
+    }
+
+    private static <T> PhaseRecorder.Measured<T> measure(Event event, Supplier<T> phase) {
+        event.begin();
+
+        try {
+            return PhaseRecorder.measure(phase);
+        } finally {
+            event.commit();
+        }
+    }
+
+    private static long fileSize(Path input) {
+        try {
+            return Files.size(input);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static DayResult runSafely(int dayNumber, Supplier<DayResult> run) {
+        try {
+            return run.get();
+        } catch (RuntimeException e) {
+            return DayResult.failed(dayNumber, e);
+        }
+    }
+
+    private static String solve(Day day, Part part, List<String> input) {
+        return switch (part) {
+            case ONE -> day.partOne(input);
+            case TWO -> day.partTwo(input);
+        };
+    }
+
+    private static <T> String solve(PreparedDay<T> day, Part part, T model) {
+        return switch (part) {
+            case ONE -> day.partOne(model);
+            case TWO -> day.partTwo(model);
+        };
+    }
+
+    private static String solve(StreamingDay day, Part part, Stream<String> input) {
+        return switch (part) {
+            case ONE -> day.partOne(input);
+            case TWO -> day.partTwo(input);
+        };
+    }
+
+    private static void acquire(Semaphore semaphore) {
+        try {
+            semaphore.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a free worker", e);
+        }
+    }
+
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for day results", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Day execution failed", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.codingnagger.adventofcode2023.runner;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.codingnagger.adventofcode2023.DaySolve")
+@Label("Day Solve")
+@Category("Advent of Code")
+@Description("Solving one part of a day")
+class DaySolveEvent extends Event {
+    @Label("Day")
+    int day;
+
+    @Label("Part")
+    int part;
+
+    @Label("Input Lines")
+    @Description("-1 when the input is read while solving")
+    long inputLines;
+
+    @Label("Input Size")
+    @DataAmount
+    @Description("-1 when the input was handed over as lines")
+    long inputBytes;
+
+    DaySolveEvent(int day, Part part, InputSize inputSize) {
+        this.day = day;
+        this.part = part.number();
+        this.inputLines = inputSize.lines();
+        this.inputBytes = inputSize.bytes();
+    }
+}
@@ -0,0 +1,168 @@
+package com.codingnagger.adventofcode2023.runner;
+
+import com.codingnagger.adventofcode2023.days.Day;
+import com.codingnagger.adventofcode2023.utils.InputLoader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+final class Digests {
+    private static final List<String> SHARED_PACKAGES = List.of(
+            "com/codingnagger/adventofcode2023/days",
+            "com/codingnagger/adventofcode2023/utils"
+    );
+    private static final Pattern DAY_CLASS = Pattern.compile("Day\\d+(\\$.*)?\\.class");
+    private static final Map<Path, String> SHARED_CODE_STAMPS = new ConcurrentHashMap<>();
+
+    private Digests() {
+    }
+
+    static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    static void update(MessageDigest digest, Path file) {
+        try (var in = InputLoader.Open(file);
+             var out = new DigestOutputStream(OutputStream.nullOutputStream(), digest)) {
+            in.transferTo(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * The SHA-256 of an input's content, inflated first when the input is compressed.
+     */
+    static String inputDigest(Path input) {
+        var digest = Digests.sha256();
+        update(digest, input);
+
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    static String inputDigest(byte[] input) {
+        return HexFormat.of().formatHex(Digests.sha256().digest(input));
+    }
+
+    static void update(MessageDigest digest, List<String> lines) {
+        for (var line : lines) {
+            digest.update(line.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+        }
+    }
+
+    /**
+     * Hashes the bytecode of a day class and of every class nested in it, together with the shared code days build on,
+     * so that a change to either changes the stamp.
+     */
+    static String codeStamp(Class<?> dayClass) {
+        return codeStamp(dayClass, codeRoot(Day.class));
+    }
+
+    static String codeStamp(Class<?> dayClass, Path sharedCodeRoot) {
+        var digest = Digests.sha256();
+        var classes = new ArrayList<Class<?>>();
+        collectClasses(dayClass, classes);
+        classes.sort(Comparator.comparing(Class::getName));
+
+        for (var type : classes) {
+            var resource = "/" + type.getName().replace('.', '/') + ".class";
+
+            try (InputStream bytecode = type.getResourceAsStream(resource)) {
+                if (bytecode == null) {
+                    throw new IllegalStateException("Cannot read the bytecode of " + type.getName());
+                }
+
+                digest.update(bytecode.readAllBytes());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        digest.update(SHARED_CODE_STAMPS.computeIfAbsent(sharedCodeRoot, Digests::sharedCodeStamp).getBytes(StandardCharsets.UTF_8));
+
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * The directory or jar the application classes were loaded from.
+     */
+    static Path codeRoot(Class<?> type) {
+        try {
+            return Path.of(type.getProtectionDomain().getCodeSource().getLocation().toURI());
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException("Cannot locate the code of " + type.getName(), e);
+        }
+    }
+
+    private static String sharedCodeStamp(Path codeRoot) {
+        if (Files.isDirectory(codeRoot)) {
+            return hashSharedClasses(codeRoot);
+        }
+
+        try (var jar = FileSystems.newFileSystem(codeRoot)) {
+            return hashSharedClasses(jar.getPath("/"));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Every class of the shared packages except the days themselves, which their own stamps already cover.
+    private static String hashSharedClasses(Path root) {
+        var digest = Digests.sha256();
+
+        for (var sharedPackage : SHARED_PACKAGES) {
+            var directory = root.resolve(sharedPackage);
+
+            if (!Files.isDirectory(directory)) {
+                continue;
+            }
+
+            try (var files = Files.walk(directory)) {
+                var classFiles = files
+                        .filter(file -> file.getFileName().toString().endsWith(".class"))
+                        .filter(file -> !DAY_CLASS.matcher(directory.relativize(file).toString()).matches())
+                        .sorted(Comparator.comparing(file -> root.relativize(file).toString()))
+                        .toList();
+
+                for (var file : classFiles) {
+                    digest.update(root.relativize(file).toString().getBytes(StandardCharsets.UTF_8));
+                    digest.update(Files.readAllBytes(file));
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static void collectClasses(Class<?> type, List<Class<?>> classes) {
+        classes.add(type);
+
+        for (var nested : type.getDeclaredClasses()) {
+            collectClasses(nested, classes);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.codingnagger.adventofcode2023.runner;
+
+import com.codingnagger.adventofcode2023.days.Day;
+import com.codingnagger.adventofcode2023.days.StreamingDay;
+import com.codingnagger.adventofcode2023.utils.SolveContext;
+import com.codingnagger.adventofcode2023.utils.generators.InputGenerator;
+import com.codingnagger.adventofcode2023.utils.generators.InputGenerators;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.Properties;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * For every day with a line-sharded engine, the number of input lines up to which its sequential code still beats
+ * forking shards, measured on generated inputs of doubling size until shards win by a clear margin. Measuring takes a
+ * while, so results are saved to a properties file keyed by day class and code stamp, and only trusted on a machine
+ * with the same processor count.
+ */
+public class EngineCalibration {
+    public static final Path DEFAULT_FILE = Path.of(System.getProperty("user.home"), ".cache", "advent-of-code-2023", "calibration.properties");
+    public static final int ALWAYS_SEQUENTIAL = Integer.MAX_VALUE;
+
+    static final int DEFAULT_MAX_LINES = 1 << 17;
+
+    private static final String PROCESSORS_KEY = "processors";
+    private static final int MIN_LINES = 64;
+    // Sizes whose sequential solve is already slower than this are not doubled any further.
+    private static final long TIME_LIMIT_NANOS = TimeUnit.MILLISECONDS.toNanos(250);
+    private static final int WARMUPS = 3;
+    private static final int REPETITIONS = 7;
+    private static final long SEED = 2023L;
+
+    private final Map<String, Integer> sequentialLineLimits;
+
+    EngineCalibration(Map<String, Integer> sequentialLineLimits) {
+        this.sequentialLineLimits = Map.copyOf(sequentialLineLimits);
+    }
+
+    public static EngineCalibration none() {
+        return new EngineCalibration(Map.of());
+    }
+
+    public static EngineCalibration load(Path file) {
+        var properties = new Properties();
+
+        try (var reader = Files.newBufferedReader(file)) {
+            properties.load(reader);
+        } catch (IOException | IllegalArgumentException e) {
+            // Calibration only tunes when to fork, so a missing, unreadable or garbled file leaves every day uncalibrated.
+            return none();
+        }
+
+        // Crossovers measured with another number of cores say nothing about this machine.
+        if (!String.valueOf(processors()).equals(properties.getProperty(PROCESSORS_KEY))) {
+            return none();
+        }
+
+        var limits = new HashMap<String, Integer>();
+
+        for (var name : properties.stringPropertyNames()) {
+            if (name.equals(PROCESSORS_KEY)) {
+                continue;
+            }
+
+            try {
+                limits.put(name, Integer.parseInt(properties.getProperty(name)));
+            } catch (NumberFormatException e) {
+                // A hand-edited entry only costs that day its calibration.
+            }
+        }
+
+        return new EngineCalibration(limits);
+    }
+
+    public static EngineCalibration calibrate(DayRegistry registry, ForkJoinPool pool) {
+        return calibrate(registry, pool, DEFAULT_MAX_LINES);
+    }
+
+    static EngineCalibration calibrate(DayRegistry registry, ForkJoinPool pool, int maxLines) {
+        var limits = new HashMap<String, Integer>();
+
+        for (var dayNumber : registry.dayNumbers()) {
+            // Streaming days are the ones folding their lines through line shards.
+            if (registry.get(dayNumber) instanceof StreamingDay day) {
+                var limit = measureSequentialLineLimit(day, InputGenerators.forDay(dayNumber), pool, maxLines);
+                limits.put(key(day), limit);
+            }
+        }
+
+        return new EngineCalibration(limits);
+    }
+
+    private static int measureSequentialLineLimit(Day day, InputGenerator generator, ForkJoinPool pool, int maxLines) {
+        // The caller only waits while shards run, so a single worker can never beat solving on the caller.
+        if (pool.getParallelism() < 2) {
+            return ALWAYS_SEQUENTIAL;
+        }
+
+        var sequential = new SolveContext(pool, Long.MAX_VALUE, ALWAYS_SEQUENTIAL);
+        var sharded = new SolveContext(pool, Long.MAX_VALUE, 0);
+
+        for (var lines = MIN_LINES; lines <= maxLines; lines *= 2) {
+            var input = generator.generate(lines, SEED);
+            var fastestSequential = Long.MAX_VALUE;
+            var fastestSharded = Long.MAX_VALUE;
+
+            // Alternating the engines keeps JIT warm-up and machine noise from favouring whichever runs last.
+            for (var i = 0; i < WARMUPS + REPETITIONS; i++) {
+                var sequentialNanos = nanos(day, input, sequential);
+                var shardedNanos = nanos(day, input, sharded);
+
+                if (i >= WARMUPS) {
+                    fastestSequential = Math.min(fastestSequential, sequentialNanos);
+                    fastestSharded = Math.min(fastestSharded, shardedNanos);
+                }
+            }
+
+            if (fastestSharded * 10 < fastestSequential * 9) {
+                return lines / 2;
+            }
+
+            if (fastestSequential > TIME_LIMIT_NANOS) {
+                break;
+            }
+        }
+
+        return ALWAYS_SEQUENTIAL;
+    }
+
+    private static long nanos(Day day, List<String> input, SolveContext context) {
+        var start = System.nanoTime();
+        context.call(() -> day.partOne(input));
+        return System.nanoTime() - start;
+    }
+
+    public OptionalInt sequentialLineLimit(Day day) {
+        if (sequentialLineLimits.isEmpty()) {
+            return OptionalInt.empty();
+        }
+
+        var limit = sequentialLineLimits.get(key(day));
+        return limit == null ? OptionalInt.empty() : OptionalInt.of(limit);
+    }
+
+    public void save(Path file) {
+        var properties = new Properties();
+        properties.setProperty(PROCESSORS_KEY, String.valueOf(processors()));
+        sequentialLineLimits.forEach((key, limit) -> properties.setProperty(key, String.valueOf(limit)));
+
+        try {
+            var directory = file.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+
+            var temporary = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+
+            try {
+                try (var writer = Files.newBufferedWriter(temporary)) {
+                    properties.store(writer, "Input lines up to which each day solves sequentially, measured by --calibrate");
+                }
+
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temporary);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static String key(Day day) {
+        return day.getClass().getName() + "@" + Digests.codeStamp(day.getClass());
+    }
+
+    private static int processors() {
+        return Runtime.getRuntime().availableProcessors();
+    }
+}
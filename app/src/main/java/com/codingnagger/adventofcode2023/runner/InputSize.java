@@ -0,0 +1,9 @@
+package com.codingnagger.adventofcode2023.runner;
+
+record InputSize(long lines, long bytes) {
+    static final long UNKNOWN = -1;
+
+    static InputSize ofLines(long lines) {
+        return new InputSize(lines, UNKNOWN);
+    }
+}
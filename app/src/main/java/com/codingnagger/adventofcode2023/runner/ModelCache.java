@@ -0,0 +1,73 @@
+package com.codingnagger.adventofcode2023.runner;
+
+import com.codingnagger.adventofcode2023.days.Day;
+
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Prepared models kept in memory for processes that solve the same inputs again, keyed by day and input content.
+ * Each model weighs what preparing it allocated, an upper bound of what it retains; the least recently used models
+ * are dropped once the total weight goes over the budget.
+ */
+public class ModelCache {
+    private final long maxWeight;
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long weight;
+
+    public ModelCache(long maxWeight) {
+        if (maxWeight < 1) {
+            throw new IllegalArgumentException("A model cache needs a positive weight budget but got " + maxWeight);
+        }
+
+        this.maxWeight = maxWeight;
+    }
+
+    public static Key key(Day day, List<String> input) {
+        var digest = Digests.sha256();
+        Digests.update(digest, input);
+        return new Key(day.getClass(), HexFormat.of().formatHex(digest.digest()));
+    }
+
+    public synchronized Optional<Object> get(Key key) {
+        return Optional.ofNullable(entries.get(key)).map(Entry::model);
+    }
+
+    public synchronized void put(Key key, Object model, long modelWeight) {
+        if (modelWeight > maxWeight) {
+            return;
+        }
+
+        var previous = entries.put(key, new Entry(model, modelWeight));
+
+        if (previous != null) {
+            weight -= previous.weight();
+        }
+
+        weight += modelWeight;
+
+        var eldest = entries.entrySet().iterator();
+
+        while (weight > maxWeight) {
+            weight -= eldest.next().getValue().weight();
+            eldest.remove();
+        }
+    }
+
+    public synchronized long weight() {
+        return weight;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public record Key(Class<? extends Day> day, String inputHash) {
+    }
+
+    private record Entry(Object model, long weight) {
+    }
+}
@@ -0,0 +1,118 @@
+package com.codingnagger.adventofcode2023.runner;
+
+import com.codingnagger.adventofcode2023.days.SnapshotDay;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Prepared models saved under a cache directory, one file per input named after the SHA-256 of the input's path, so
+ * later runs map the snapshot instead of parsing the text. A snapshot is only read back while the input keeps the
+ * content it had when the snapshot was written, and the day keeps the same compiled code; anything else is treated as
+ * a miss and overwritten.
+ */
+public class ModelSnapshots {
+    public static final Path DEFAULT_DIRECTORY = Path.of(System.getProperty("user.home"), ".cache", "advent-of-code-2023", "snapshots");
+    public static final String SUFFIX = ".snapshot";
+
+    private static final int MAGIC = 0x414F4353;
+    // Bump when the header layout changes so older snapshots are never read back.
+    private static final int FORMAT_VERSION = 2;
+
+    private final Path directory;
+    private final Map<Class<?>, String> codeStamps = new ConcurrentHashMap<>();
+
+    public ModelSnapshots(Path directory) {
+        this.directory = directory;
+    }
+
+    public Path snapshotPath(Path input) {
+        var path = input.toAbsolutePath().normalize().toString().getBytes(StandardCharsets.UTF_8);
+
+        return directory.resolve(HexFormat.of().formatHex(Digests.sha256().digest(path)) + SUFFIX);
+    }
+
+    public <T> Optional<T> read(SnapshotDay<T> day, Path input) {
+        return read(day, input, Digests.inputDigest(input));
+    }
+
+    /**
+     * Reads the snapshot of {@code input} back when it was written for content with the given SHA-256, as computed by
+     * {@link Digests#inputDigest(Path)}.
+     */
+    <T> Optional<T> read(SnapshotDay<T> day, Path input, String inputDigest) {
+        var snapshot = snapshotPath(input);
+
+        try (var channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            if (!header(day, inputDigest).equals(readHeader(buffer))) {
+                return Optional.empty();
+            }
+
+            var model = day.readSnapshot(buffer);
+
+            return buffer.hasRemaining() ? Optional.empty() : Optional.of(model);
+        } catch (IOException | RuntimeException e) {
+            // A missing, truncated or corrupt snapshot only costs a parse; the next write replaces it.
+            return Optional.empty();
+        }
+    }
+
+    public <T> void write(SnapshotDay<T> day, Path input, T model) {
+        write(day, input, Digests.inputDigest(input), model);
+    }
+
+    <T> void write(SnapshotDay<T> day, Path input, String inputDigest, T model) {
+        var snapshot = snapshotPath(input);
+
+        try {
+            var header = header(day, inputDigest);
+            Files.createDirectories(directory);
+            var temporary = Files.createTempFile(directory, snapshot.getFileName().toString(), ".tmp");
+
+            try {
+                try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+                    out.writeInt(MAGIC);
+                    out.writeInt(FORMAT_VERSION);
+                    SnapshotDay.writeString(out, header.codeStamp());
+                    SnapshotDay.writeString(out, header.inputDigest());
+                    day.writeSnapshot(model, out);
+                }
+
+                Files.move(temporary, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temporary);
+            }
+        } catch (IOException ignored) {
+            // The snapshot only saves time, so an unwritable cache directory simply never gets one.
+        }
+    }
+
+    private Header header(SnapshotDay<?> day, String inputDigest) {
+        return new Header(codeStamps.computeIfAbsent(day.getClass(), Digests::codeStamp), inputDigest);
+    }
+
+    private static Header readHeader(ByteBuffer snapshot) {
+        if (snapshot.getInt() != MAGIC || snapshot.getInt() != FORMAT_VERSION) {
+            return null;
+        }
+
+        return new Header(SnapshotDay.readString(snapshot), SnapshotDay.readString(snapshot));
+    }
+
+    private record Header(String codeStamp, String inputDigest) {
+    }
+}
@@ -0,0 +1,25 @@
+package com.codingnagger.adventofcode2023.runner;
+
+import java.util.Arrays;
+
+public enum Part {
+    ONE(1),
+    TWO(2);
+
+    private final int number;
+
+    Part(int number) {
+        this.number = number;
+    }
+
+    public int number() {
+        return number;
+    }
+
+    public static Part of(int number) {
+        return Arrays.stream(values())
+                .filter(part -> part.number == number)
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown part: " + number));
+    }
+}
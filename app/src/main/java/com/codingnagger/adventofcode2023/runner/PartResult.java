@@ -0,0 +1,7 @@
+package com.codingnagger.adventofcode2023.runner;
+
+public record PartResult(Part part, String answer, PhaseMetrics metrics, boolean cached) {
+    public PartResult(Part part, String answer, PhaseMetrics metrics) {
+        this(part, answer, metrics, false);
+    }
+}
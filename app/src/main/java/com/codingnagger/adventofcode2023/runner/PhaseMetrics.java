@@ -0,0 +1,23 @@
+package com.codingnagger.adventofcode2023.runner;
+
+import java.time.Duration;
+
+/**
+ * What one phase of a day cost on the thread that ran it. CPU time and allocated bytes are
+ * {@link #UNAVAILABLE} when the JVM cannot measure them for that thread.
+ */
+public record PhaseMetrics(long wallNanos, long cpuNanos, long allocatedBytes) {
+    public static final long UNAVAILABLE = -1;
+
+    public Duration wallTime() {
+        return Duration.ofNanos(wallNanos);
+    }
+
+    public boolean hasCpuTime() {
+        return cpuNanos != UNAVAILABLE;
+    }
+
+    public boolean hasAllocatedBytes() {
+        return allocatedBytes != UNAVAILABLE;
+    }
+}
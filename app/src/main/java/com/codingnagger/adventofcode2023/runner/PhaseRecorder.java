@@ -0,0 +1,62 @@
+package com.codingnagger.adventofcode2023.runner;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.Supplier;
+
+final class PhaseRecorder {
+    private static final java.lang.management.ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static final com.sun.management.ThreadMXBean ALLOCATIONS =
+            THREADS instanceof com.sun.management.ThreadMXBean allocations && allocations.isThreadAllocatedMemorySupported()
+                    ? allocations
+                    : null;
+
+    static {
+        if (THREADS.isThreadCpuTimeSupported() && !THREADS.isThreadCpuTimeEnabled()) {
+            THREADS.setThreadCpuTimeEnabled(true);
+        }
+
+        if (ALLOCATIONS != null && !ALLOCATIONS.isThreadAllocatedMemoryEnabled()) {
+            ALLOCATIONS.setThreadAllocatedMemoryEnabled(true);
+        }
+    }
+
+    private PhaseRecorder() {
+    }
+
+    static <T> Measured<T> measure(Supplier<T> phase) {
+        var cpuStart = cpuTime();
+        var allocatedStart = allocatedBytes();
+        var wallStart = System.nanoTime();
+
+        var value = phase.get();
+
+        var wallEnd = System.nanoTime();
+        var allocatedEnd = allocatedBytes();
+        var cpuEnd = cpuTime();
+
+        return new Measured<>(value, new PhaseMetrics(
+                wallEnd - wallStart,
+                difference(cpuStart, cpuEnd),
+                difference(allocatedStart, allocatedEnd)
+        ));
+    }
+
+    private static long cpuTime() {
+        return THREADS.isThreadCpuTimeSupported() ? THREADS.getCurrentThreadCpuTime() : PhaseMetrics.UNAVAILABLE;
+    }
+
+    private static long allocatedBytes() {
+        return ALLOCATIONS != null ? ALLOCATIONS.getCurrentThreadAllocatedBytes() : PhaseMetrics.UNAVAILABLE;
+    }
+
+    private static long difference(long start, long end) {
+        if (start == PhaseMetrics.UNAVAILABLE || end == PhaseMetrics.UNAVAILABLE) {
+            return PhaseMetrics.UNAVAILABLE;
+        }
+
+        return end - start;
+    }
+
+    record Measured<T>(T value, PhaseMetrics metrics) {
+    }
+}
@@ -0,0 +1,11 @@
+package com.codingnagger.adventofcode2023.runner;
+
+import com.codingnagger.adventofcode2023.utils.LatencyHistogram;
+
+import java.util.SequencedMap;
+
+/**
+ * Wall time of every phase over the measured iterations of a day, keyed by phase name in execution order.
+ */
+public record RepeatedRunResult(int day, int warmups, int iterations, SequencedMap<String, LatencyHistogram> latencies) {
+}
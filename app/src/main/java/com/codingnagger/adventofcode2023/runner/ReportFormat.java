@@ -0,0 +1,146 @@
+package com.codingnagger.adventofcode2023.runner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+public enum ReportFormat {
+    JSON {
+        @Override
+        public String render(List<DayResult> results) {
+            return results.stream()
+                    .map(ReportFormat::jsonDay)
+                    .collect(Collectors.joining(",\n", "[\n", "\n]\n"));
+        }
+    },
+    CSV {
+        @Override
+        public String render(List<DayResult> results) {
+            var csv = new StringBuilder("day,phase,answer,cached,wall_nanos,cpu_nanos,allocated_bytes,failure\n");
+
+            for (var result : results) {
+                var failure = result.potentialFailure().map(ReportFormat::describe).orElse(null);
+
+                if (failure != null) {
+                    csv.append(result.day()).append(",,,,,,,").append(csvValue(failure)).append('\n');
+                }
+
+                for (var phase : phases(result)) {
+                    var metrics = phase.metrics();
+                    csv.append(result.day()).append(',')
+                            .append(phase.name()).append(',')
+                            .append(csvValue(phase.answer())).append(',')
+                            .append(phase.cached()).append(',')
+                            .append(metrics.wallNanos()).append(',')
+                            .append(metrics.cpuNanos()).append(',')
+                            .append(metrics.allocatedBytes()).append(",\n");
+                }
+            }
+
+            return csv.toString();
+        }
+    };
+
+    public static final String PARSE_PHASE = "parse";
+
+    public abstract String render(List<DayResult> results);
+
+    public static ReportFormat of(String name) {
+        try {
+            return valueOf(name.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown report format: " + name + ", expected json or csv", e);
+        }
+    }
+
+    static List<Phase> phases(DayResult result) {
+        var phases = new ArrayList<Phase>();
+
+        result.potentialPreparation().ifPresent(metrics -> phases.add(new Phase(PARSE_PHASE, null, metrics, false)));
+
+        for (var part : result.parts()) {
+            phases.add(new Phase(phaseName(part.part()), part.answer(), part.metrics(), part.cached()));
+        }
+
+        return phases;
+    }
+
+    private static String phaseName(Part part) {
+        return switch (part) {
+            case ONE -> "partOne";
+            case TWO -> "partTwo";
+        };
+    }
+
+    private static String jsonDay(DayResult result) {
+        var phases = phases(result);
+        var renderedPhases = phases.isEmpty() ? "[]" : phases.stream()
+                .map(phase -> "      {\"phase\": " + jsonValue(phase.name())
+                        + ", \"answer\": " + jsonValue(phase.answer())
+                        + ", \"cached\": " + phase.cached()
+                        + ", \"wallNanos\": " + phase.metrics().wallNanos()
+                        + ", \"cpuNanos\": " + phase.metrics().cpuNanos()
+                        + ", \"allocatedBytes\": " + phase.metrics().allocatedBytes() + "}")
+                .collect(Collectors.joining(",\n", "[\n", "\n    ]"));
+
+        var renderedCounters = result.counters().entrySet().stream()
+                .map(counter -> jsonValue(counter.getKey()) + ": " + counter.getValue())
+                .collect(Collectors.joining(", ", "{", "}"));
+
+        return "  {\n"
+                + "    \"day\": " + result.day() + ",\n"
+                + "    \"failure\": " + jsonValue(result.potentialFailure().map(ReportFormat::describe).orElse(null)) + ",\n"
+                + "    \"phases\": " + renderedPhases + ",\n"
+                + "    \"counters\": " + renderedCounters + "\n"
+                + "  }";
+    }
+
+    private static String describe(Throwable failure) {
+        return failure.toString();
+    }
+
+    private static String jsonValue(String value) {
+        if (value == null) {
+            return "null";
+        }
+
+        var json = new StringBuilder("\"");
+
+        for (var i = 0; i < value.length(); i++) {
+            var c = value.charAt(i);
+
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+
+        return json.append('"').toString();
+    }
+
+    private static String csvValue(String value) {
+        if (value == null) {
+            return "";
+        }
+
+        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+
+        return value;
+    }
+
+    record Phase(String name, String answer, PhaseMetrics metrics, boolean cached) {
+    }
+}
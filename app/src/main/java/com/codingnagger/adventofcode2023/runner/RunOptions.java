@@ -0,0 +1,208 @@
+package com.codingnagger.adventofcode2023.runner;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+
+public class RunOptions {
+    public static final Path DEFAULT_JFR_FILE = Path.of("advent-of-code.jfr");
+    public static final int DEFAULT_SERVER_PORT = 2023;
+    public static final int DEFAULT_MODEL_CACHE_MEBIBYTES = 256;
+
+    private Integer day;
+    private List<Part> parts = List.of(Part.values());
+    private Path input;
+    private boolean all;
+    private ReportFormat report;
+    private Path reportFile;
+    private Path jfrFile;
+    private int warmups;
+    private Integer iterations;
+    private boolean cache = true;
+    private String batch;
+    private boolean server;
+    private Integer port;
+    private Duration timeout;
+    private Integer threads;
+    private Integer memoryMebibytes;
+    private Integer modelCacheMebibytes;
+    private boolean calibrate;
+
+    private RunOptions() {
+    }
+
+    public static RunOptions parse(String... args) {
+        var options = new RunOptions();
+
+        for (var i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--day" -> options.day = parseNumber(args, ++i, "--day");
+                case "--part" -> options.parts = List.of(Part.of(parseNumber(args, ++i, "--part")));
+                case "--input" -> options.input = Path.of(valueAt(args, ++i, "--input"));
+                case "--all" -> options.all = true;
+                case "--report" -> options.report = ReportFormat.of(valueAt(args, ++i, "--report"));
+                case "--report-file" -> options.reportFile = Path.of(valueAt(args, ++i, "--report-file"));
+                case "--jfr" -> options.jfrFile = DEFAULT_JFR_FILE;
+                case "--jfr-file" -> options.jfrFile = Path.of(valueAt(args, ++i, "--jfr-file"));
+                case "--warmup" -> options.warmups = parseCount(args, ++i, "--warmup", 0);
+                case "--iterations" -> options.iterations = parseCount(args, ++i, "--iterations", 1);
+                case "--no-cache" -> options.cache = false;
+                case "--batch" -> options.batch = valueAt(args, ++i, "--batch");
+                case "--server" -> options.server = true;
+                case "--port" -> options.port = parseCount(args, ++i, "--port", 0);
+                case "--timeout" -> options.timeout = Duration.ofSeconds(parseCount(args, ++i, "--timeout", 1));
+                case "--threads" -> options.threads = parseCount(args, ++i, "--threads", 1);
+                case "--memory" -> options.memoryMebibytes = parseCount(args, ++i, "--memory", 1);
+                case "--model-cache" -> options.modelCacheMebibytes = parseCount(args, ++i, "--model-cache", 1);
+                case "--calibrate" -> options.calibrate = true;
+                default -> throw new IllegalArgumentException("Unknown argument: " + args[i]);
+            }
+        }
+
+        if (options.all && (options.day != null || options.input != null)) {
+            throw new IllegalArgumentException("--all cannot be combined with --day or --input");
+        }
+
+        if (options.warmups > 0 && options.iterations == null) {
+            throw new IllegalArgumentException("--warmup needs --iterations");
+        }
+
+        if (options.iterations != null && (options.all || options.report != null)) {
+            throw new IllegalArgumentException("--iterations cannot be combined with --all or --report");
+        }
+
+        if (options.batch != null && (options.all || options.input != null || options.iterations != null || options.report != null)) {
+            throw new IllegalArgumentException("--batch cannot be combined with --all, --input, --iterations or --report");
+        }
+
+        if (options.server && (options.day != null || options.all || options.input != null || options.iterations != null
+                || options.report != null || options.batch != null || options.jfrFile != null)) {
+            throw new IllegalArgumentException("--server cannot be combined with --day, --all, --input, --iterations, --report, --batch or --jfr");
+        }
+
+        if (options.calibrate && (options.day != null || options.all || options.input != null || options.iterations != null
+                || options.report != null || options.batch != null || options.server)) {
+            throw new IllegalArgumentException("--calibrate cannot be combined with --day, --all, --input, --iterations, --report, --batch or --server");
+        }
+
+        if (options.port != null && !options.server) {
+            throw new IllegalArgumentException("--port needs --server");
+        }
+
+        if (options.modelCacheMebibytes != null && !options.server && options.batch == null) {
+            throw new IllegalArgumentException("--model-cache needs --server or --batch");
+        }
+
+        if (options.reportFile != null && options.report == null) {
+            throw new IllegalArgumentException("--report-file needs a --report format");
+        }
+
+        return options;
+    }
+
+    private static int parseNumber(String[] args, int index, String flag) {
+        var value = valueAt(args, index, flag);
+
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(flag + " expects a number but got: " + value, e);
+        }
+    }
+
+    private static int parseCount(String[] args, int index, String flag, int minimum) {
+        var count = parseNumber(args, index, flag);
+
+        if (count < minimum) {
+            throw new IllegalArgumentException(flag + " expects at least " + minimum + " but got: " + count);
+        }
+
+        return count;
+    }
+
+    private static String valueAt(String[] args, int index, String flag) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Missing value for " + flag);
+        }
+
+        return args[index];
+    }
+
+    public OptionalInt day() {
+        return day == null ? OptionalInt.empty() : OptionalInt.of(day);
+    }
+
+    public List<Part> parts() {
+        return parts;
+    }
+
+    public Optional<Path> input() {
+        return Optional.ofNullable(input);
+    }
+
+    public boolean all() {
+        return all;
+    }
+
+    public Optional<ReportFormat> report() {
+        return Optional.ofNullable(report);
+    }
+
+    public Optional<Path> reportFile() {
+        return Optional.ofNullable(reportFile);
+    }
+
+    public Optional<Path> jfrFile() {
+        return Optional.ofNullable(jfrFile);
+    }
+
+    public int warmups() {
+        return warmups;
+    }
+
+    public OptionalInt iterations() {
+        return iterations == null ? OptionalInt.empty() : OptionalInt.of(iterations);
+    }
+
+    public boolean cache() {
+        return cache;
+    }
+
+    public Optional<String> batch() {
+        return Optional.ofNullable(batch);
+    }
+
+    public boolean server() {
+        return server;
+    }
+
+    public boolean calibrate() {
+        return calibrate;
+    }
+
+    public int port() {
+        return port == null ? DEFAULT_SERVER_PORT : port;
+    }
+
+    public Optional<Duration> timeout() {
+        return Optional.ofNullable(timeout);
+    }
+
+    public OptionalInt threads() {
+        return threads == null ? OptionalInt.empty() : OptionalInt.of(threads);
+    }
+
+    public OptionalLong memoryBudget() {
+        return memoryMebibytes == null ? OptionalLong.empty() : OptionalLong.of(memoryMebibytes * 1024L * 1024L);
+    }
+
+    /**
+     * How many bytes of prepared models long-running modes (a server or a batch) keep for inputs seen again.
+     */
+    public long modelCacheBytes() {
+        return (modelCacheMebibytes == null ? DEFAULT_MODEL_CACHE_MEBIBYTES : modelCacheMebibytes) * 1024L * 1024L;
+    }
+}
@@ -0,0 +1,105 @@
+package com.codingnagger.adventofcode2023.runner;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps a warm JVM around to solve days over HTTP: {@code POST /day/{n}/part/{p}} with the input as the body answers
+ * with the same JSON as {@code --report json}. Each request runs on its own virtual thread, so the JVM reports wall
+ * time but neither CPU time nor allocations for it.
+ */
+public class SolveServer implements AutoCloseable {
+    private static final Pattern SOLVE_PATH = Pattern.compile("/day/([0-9]{1,9})/part/([0-9]{1,9})");
+    private static final String CONTEXT = "/day/";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final DayRegistry registry;
+    private final DayRunner runner;
+
+    private SolveServer(HttpServer server, ExecutorService executor, DayRegistry registry, DayRunner runner) {
+        this.server = server;
+        this.executor = executor;
+        this.registry = registry;
+        this.runner = runner;
+    }
+
+    public static SolveServer start(DayRegistry registry, DayRunner runner, InetSocketAddress address) {
+        try {
+            var server = new SolveServer(HttpServer.create(address, 0), Executors.newVirtualThreadPerTaskExecutor(), registry, runner);
+            server.server.createContext(CONTEXT, server::handle);
+            server.server.setExecutor(server.executor);
+            server.server.start();
+
+            return server;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public InetSocketAddress address() {
+        return server.getAddress();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.close();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            var matcher = SOLVE_PATH.matcher(exchange.getRequestURI().getPath());
+
+            if (!matcher.matches()) {
+                respond(exchange, 404, "text/plain", "Expected /day/{n}/part/{p}\n");
+                return;
+            }
+
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Allow", "POST");
+                respond(exchange, 405, "text/plain", "Post the input to solve it\n");
+                return;
+            }
+
+            var dayNumber = Integer.parseInt(matcher.group(1));
+            var partNumber = Integer.parseInt(matcher.group(2));
+
+            if (!registry.dayNumbers().contains(dayNumber) || partNumber < 1 || partNumber > Part.values().length) {
+                respond(exchange, 404, "text/plain", "Unknown day " + dayNumber + " or part " + partNumber + "\n");
+                return;
+            }
+
+            var input = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8).lines().toList();
+            var result = solve(dayNumber, input, Part.of(partNumber));
+            var status = result.potentialFailure().isPresent() ? 422 : 200;
+
+            respond(exchange, status, "application/json", ReportFormat.JSON.render(List.of(result)));
+        }
+    }
+
+    private DayResult solve(int dayNumber, List<String> input, Part part) {
+        try {
+            return runner.run(dayNumber, input, List.of(part));
+        } catch (RuntimeException e) {
+            return DayResult.failed(dayNumber, e);
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+        var bytes = body.getBytes(StandardCharsets.UTF_8);
+
+        exchange.getResponseHeaders().set("Content-Type", contentType + "; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+}
@@ -0,0 +1,52 @@
+package com.codingnagger.adventofcode2023.utils;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+public final class AsciiLine implements CharSequence {
+    private final MemorySegment segment;
+    private final long offset;
+    private final int length;
+
+    AsciiLine(MemorySegment segment, long offset, int length) {
+        this.segment = segment;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        Objects.checkIndex(index, length);
+        return (char) byteAt(index);
+    }
+
+    public int byteAt(int index) {
+        return segment.get(ValueLayout.JAVA_BYTE, offset + index) & 0xFF;
+    }
+
+    @Override
+    public AsciiLine subSequence(int start, int end) {
+        Objects.checkFromToIndex(start, end, length);
+        return new AsciiLine(segment, offset + start, end - start);
+    }
+
+    public byte[] toByteArray() {
+        return segment.asSlice(offset, length).toArray(ValueLayout.JAVA_BYTE);
+    }
+
+    public void copyTo(byte[] target, int targetOffset) {
+        MemorySegment.copy(segment, ValueLayout.JAVA_BYTE, offset, target, targetOffset, length);
+    }
+
+    @Override
+    public String toString() {
+        return new String(toByteArray(), StandardCharsets.UTF_8);
+    }
+}
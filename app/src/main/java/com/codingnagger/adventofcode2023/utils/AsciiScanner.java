@@ -0,0 +1,178 @@
+package com.codingnagger.adventofcode2023.utils;
+
+import java.lang.foreign.MemorySegment;
+
+/**
+ * A cursor reading numbers, words and delimiters straight out of ASCII text, without creating intermediate strings
+ * for anything but the words it is explicitly asked for.
+ */
+public final class AsciiScanner {
+    private final CharSequence input;
+    private int position;
+
+    public AsciiScanner(CharSequence input) {
+        this.input = input;
+    }
+
+    public static AsciiScanner of(byte[] bytes) {
+        return new AsciiScanner(new AsciiLine(MemorySegment.ofArray(bytes), 0, bytes.length));
+    }
+
+    public int position() {
+        return position;
+    }
+
+    public boolean hasNext() {
+        return position < input.length();
+    }
+
+    public char peek() {
+        ensureHasNext();
+        return input.charAt(position);
+    }
+
+    public char next() {
+        ensureHasNext();
+        return input.charAt(position++);
+    }
+
+    public AsciiScanner skip(int count) {
+        position = Math.min(input.length(), position + count);
+        return this;
+    }
+
+    public AsciiScanner skipWhitespace() {
+        while (hasNext() && isWhitespace(input.charAt(position))) {
+            position++;
+        }
+
+        return this;
+    }
+
+    public AsciiScanner skipPast(char delimiter) {
+        while (hasNext() && input.charAt(position) != delimiter) {
+            position++;
+        }
+
+        return skip(1);
+    }
+
+    public boolean tryConsume(char expected) {
+        if (hasNext() && input.charAt(position) == expected) {
+            position++;
+            return true;
+        }
+
+        return false;
+    }
+
+    public boolean tryConsume(String expected) {
+        if (!lookingAt(expected)) {
+            return false;
+        }
+
+        position += expected.length();
+        return true;
+    }
+
+    public AsciiScanner expect(char expected) {
+        if (!tryConsume(expected)) {
+            throw unexpected("'" + expected + "'");
+        }
+
+        return this;
+    }
+
+    public AsciiScanner expect(String expected) {
+        if (!tryConsume(expected)) {
+            throw unexpected("\"" + expected + "\"");
+        }
+
+        return this;
+    }
+
+    public boolean lookingAt(String expected) {
+        if (position + expected.length() > input.length()) {
+            return false;
+        }
+
+        for (var i = 0; i < expected.length(); i++) {
+            if (input.charAt(position + i) != expected.charAt(i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    public boolean hasNextNumber() {
+        var cursor = position;
+
+        while (cursor < input.length() && isWhitespace(input.charAt(cursor))) {
+            cursor++;
+        }
+
+        if (cursor < input.length() && input.charAt(cursor) == '-') {
+            cursor++;
+        }
+
+        return cursor < input.length() && isDigit(input.charAt(cursor));
+    }
+
+    public long nextLong() {
+        skipWhitespace();
+
+        var negative = tryConsume('-');
+
+        if (!hasNext() || !isDigit(input.charAt(position))) {
+            throw unexpected("a number");
+        }
+
+        // Accumulated as a negative number, whose range reaches one further, so that Long.MIN_VALUE still parses.
+        var value = 0L;
+
+        while (hasNext() && isDigit(input.charAt(position))) {
+            value = Math.subtractExact(Math.multiplyExact(value, 10), input.charAt(position++) - '0');
+        }
+
+        return negative ? value : Math.negateExact(value);
+    }
+
+    public int nextInt() {
+        return Math.toIntExact(nextLong());
+    }
+
+    public String nextWord() {
+        skipWhitespace();
+
+        var start = position;
+
+        while (hasNext() && Character.isLetterOrDigit(input.charAt(position))) {
+            position++;
+        }
+
+        if (start == position) {
+            throw unexpected("a word");
+        }
+
+        return input.subSequence(start, position).toString();
+    }
+
+    private void ensureHasNext() {
+        if (!hasNext()) {
+            throw unexpected("more input");
+        }
+    }
+
+    private IllegalStateException unexpected(String expected) {
+        return new IllegalStateException("Expected " + expected + " at position " + position + " of: " + input);
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t';
+    }
+}
@@ -0,0 +1,29 @@
+package com.codingnagger.adventofcode2023.utils;
+
+import java.util.concurrent.CancellationException;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Lets long searches notice that the runner gave up on them. The runner interrupts a part past its deadline, but a
+ * part busy computing never blocks, so it has to look for the interrupt itself from time to time.
+ */
+public final class Cancellation {
+    private static final ScopedValue<BooleanSupplier> HANDED_OVER = ScopedValue.newInstance();
+
+    private Cancellation() {
+    }
+
+    public static void checkpoint() {
+        if (Thread.currentThread().isInterrupted() || HANDED_OVER.isBound() && HANDED_OVER.get().getAsBoolean()) {
+            throw new CancellationException("Cancelled by an interrupt");
+        }
+    }
+
+    /**
+     * Runs work handed over to a pool worker, which nobody interrupts, so that its checkpoints stop once
+     * {@code cancelled} says the thread that handed it over was.
+     */
+    public static void handOver(BooleanSupplier cancelled, Runnable work) {
+        ScopedValue.where(HANDED_OVER, cancelled).run(work);
+    }
+}
@@ -0,0 +1,94 @@
+package com.codingnagger.adventofcode2023.utils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * How an input file is stored. Gzip is recognised by its leading bytes rather than its name so that renamed archives
+ * still load. The two-byte zlib header is too weak for that, so zlib streams also need a {@code .zz} or {@code .zlib}
+ * name. Raw deflate streams carry no header to recognise, so deflate is only supported with its zlib wrapper.
+ */
+enum Compression {
+    NONE {
+        @Override
+        InputStream decompress(InputStream compressed) {
+            return compressed;
+        }
+    },
+    GZIP {
+        @Override
+        InputStream decompress(InputStream compressed) throws IOException {
+            return new GZIPInputStream(compressed, BUFFER_SIZE);
+        }
+    },
+    ZLIB {
+        @Override
+        InputStream decompress(InputStream compressed) {
+            return new InflaterInputStream(compressed);
+        }
+    };
+
+    static final int HEADER_LENGTH = 2;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int DEFLATE_METHOD = 8;
+    private static final int PRESET_DICTIONARY_FLAG = 0x20;
+    private static final List<String> ZLIB_EXTENSIONS = List.of(".zz", ".zlib");
+
+    static Compression detect(Path path, byte[] header) {
+        if (header.length < HEADER_LENGTH) {
+            return NONE;
+        }
+
+        var first = header[0] & 0xFF;
+        var second = header[1] & 0xFF;
+
+        if (first == 0x1F && second == 0x8B) {
+            return GZIP;
+        }
+
+        // RFC 1950: deflate with a window of at most 32K, a header that is a multiple of 31 and no preset dictionary.
+        // Plain text such as "x^" or "HK" passes that check too, hence the name.
+        if (namedAsZlib(path)
+                && (first & 0x0F) == DEFLATE_METHOD
+                && (first >> 4) <= 7
+                && ((first << 8) | second) % 31 == 0
+                && (second & PRESET_DICTIONARY_FLAG) == 0) {
+            return ZLIB;
+        }
+
+        return NONE;
+    }
+
+    private static boolean namedAsZlib(Path path) {
+        var name = path.getFileName();
+
+        if (name == null) {
+            return false;
+        }
+
+        var lowerCaseName = name.toString().toLowerCase(Locale.ROOT);
+        return ZLIB_EXTENSIONS.stream().anyMatch(lowerCaseName::endsWith);
+    }
+
+    abstract InputStream decompress(InputStream compressed) throws IOException;
+
+    byte[] decompress(byte[] content) {
+        if (this == NONE) {
+            return content;
+        }
+
+        try (var in = decompress(new ByteArrayInputStream(content))) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -1,15 +1,26 @@
 package com.codingnagger.adventofcode2023.utils;
 
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
 public class InputConverter {
     public static List<Integer> convertToIntegers(List<String> input) {
-        return input.stream().map(Integer::parseInt).collect(Collectors.toList());
+        return input.stream().map(line -> new AsciiScanner(line).nextInt()).collect(Collectors.toList());
     }
 
     public static List<Integer> convertToIntegers(String input, String separator) {
-        return Arrays.stream(input.split(",")).map(Integer::parseInt).collect(Collectors.toList());
+        var scanner = new AsciiScanner(input);
+        var result = new ArrayList<Integer>();
+
+        while (scanner.hasNextNumber()) {
+            result.add(scanner.nextInt());
+
+            if (scanner.hasNext()) {
+                scanner.expect(separator);
+            }
+        }
+
+        return result;
     }
 }
@@ -1,24 +1,106 @@
 package com.codingnagger.adventofcode2023.utils;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.List;
+import java.util.stream.Stream;
 
 public class InputLoader {
     public static List<String> Load(String filename) {
-        return Load("src/main", filename);
+        return Load(ResourcePath(filename));
     }
 
     public static List<String> LoadTest(String filename) {
-        return Load("src/test", filename);
+        return Load(TestResourcePath(filename));
     }
 
-    private static List<String> Load(String resourcesParent, String filename) {
-        try {
-            return Files.readAllLines(Paths.get(resourcesParent, "resources", filename));
+    public static List<String> Load(Path path) {
+        try (var reader = Reader(path)) {
+            return reader.lines().toList();
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
     }
+
+    public static MappedInput LoadMapped(String filename) {
+        return LoadMapped(ResourcePath(filename));
+    }
+
+    public static MappedInput LoadTestMapped(String filename) {
+        return LoadMapped(TestResourcePath(filename));
+    }
+
+    public static MappedInput LoadMapped(Path path) {
+        return MappedInput.open(path);
+    }
+
+    public static Stream<String> LoadStreamed(Path path) {
+        var reader = Reader(path);
+
+        return reader.lines().onClose(() -> {
+            try {
+                reader.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Opens the input's content, inflating it on the fly when the file is gzip or zlib compressed.
+     */
+    public static InputStream Open(Path path) {
+        try {
+            var in = new BufferedInputStream(Files.newInputStream(path));
+
+            try {
+                in.mark(Compression.HEADER_LENGTH);
+                var header = in.readNBytes(Compression.HEADER_LENGTH);
+                in.reset();
+
+                return Compression.detect(path, header).decompress(in);
+            } catch (IOException | RuntimeException e) {
+                in.close();
+                throw e;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static boolean IsCompressed(Path path) {
+        try (var in = Files.newInputStream(path)) {
+            return Compression.detect(path, in.readNBytes(Compression.HEADER_LENGTH)) != Compression.NONE;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static PrefetchingLoader LoadAhead(List<Path> paths, int depth) {
+        return new PrefetchingLoader(paths, depth);
+    }
+
+    public static Path ResourcePath(String filename) {
+        return ResourcePath("src/main", filename);
+    }
+
+    public static Path TestResourcePath(String filename) {
+        return ResourcePath("src/test", filename);
+    }
+
+    private static Path ResourcePath(String resourcesParent, String filename) {
+        return Paths.get(resourcesParent, "resources", filename);
+    }
+
+    private static BufferedReader Reader(Path path) {
+        return new BufferedReader(new InputStreamReader(Open(path), StandardCharsets.UTF_8));
+    }
 }
@@ -0,0 +1,66 @@
+package com.codingnagger.adventofcode2023.utils;
+
+import java.util.NoSuchElementException;
+
+/**
+ * A first-in first-out queue of ints in a growable ring buffer, for searches over indexed states.
+ */
+public final class IntArrayDeque {
+    private static final int MINIMUM_CAPACITY = 16;
+
+    private int[] elements;
+    private int head;
+    private int size;
+
+    public IntArrayDeque() {
+        this(MINIMUM_CAPACITY);
+    }
+
+    public IntArrayDeque(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size cannot be negative but was " + expectedSize);
+        }
+
+        elements = new int[Math.max(MINIMUM_CAPACITY, expectedSize)];
+    }
+
+    public void addLast(int element) {
+        if (size == elements.length) {
+            grow();
+        }
+
+        elements[(head + size) % elements.length] = element;
+        size++;
+    }
+
+    public int removeFirst() {
+        if (size == 0) {
+            throw new NoSuchElementException("The queue is empty");
+        }
+
+        var element = elements[head];
+        head = (head + 1) % elements.length;
+        size--;
+
+        return element;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private void grow() {
+        var grown = new int[elements.length * 2];
+
+        for (var i = 0; i < size; i++) {
+            grown[i] = elements[(head + i) % elements.length];
+        }
+
+        elements = grown;
+        head = 0;
+    }
+}
@@ -0,0 +1,153 @@
+package com.codingnagger.adventofcode2023.utils;
+
+/**
+ * A map from ints to ints kept in open-addressed arrays with linear probing, for tallies keyed by small ids such as
+ * enum ordinals. Like {@link LongOpenHashSet}, zero marks a free slot, so the zero key lives on the side.
+ */
+public final class IntIntOpenHashMap {
+    private static final int MINIMUM_CAPACITY = 8;
+    private static final int EMPTY = 0;
+
+    private int[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+    private boolean containsEmptyKey;
+    private int emptyKeyValue;
+
+    public IntIntOpenHashMap() {
+        this(MINIMUM_CAPACITY);
+    }
+
+    public IntIntOpenHashMap(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size cannot be negative but was " + expectedSize);
+        }
+
+        var capacity = MINIMUM_CAPACITY;
+
+        while (capacity < expectedSize * 2L) {
+            capacity <<= 1;
+        }
+
+        allocate(capacity);
+    }
+
+    public int getOrDefault(int key, int defaultValue) {
+        if (key == EMPTY) {
+            return containsEmptyKey ? emptyKeyValue : defaultValue;
+        }
+
+        var slot = find(key);
+        return keys[slot] == EMPTY ? defaultValue : values[slot];
+    }
+
+    public boolean containsKey(int key) {
+        return key == EMPTY ? containsEmptyKey : keys[find(key)] != EMPTY;
+    }
+
+    public boolean containsValue(int value) {
+        if (containsEmptyKey && emptyKeyValue == value) {
+            return true;
+        }
+
+        for (var slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != EMPTY && values[slot] == value) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    public void put(int key, int value) {
+        if (key == EMPTY) {
+            if (!containsEmptyKey) {
+                containsEmptyKey = true;
+                size++;
+            }
+
+            emptyKeyValue = value;
+            return;
+        }
+
+        var slot = find(key);
+
+        if (keys[slot] == EMPTY) {
+            keys[slot] = key;
+            size++;
+        }
+
+        values[slot] = value;
+
+        // Kept at most half full, so probe runs stay short.
+        if (size * 2 > keys.length) {
+            rehash(keys.length * 2);
+        }
+    }
+
+    /**
+     * Adds {@code increment} to the value of {@code key}, counting from zero when it is absent, and returns the sum.
+     */
+    public int addTo(int key, int increment) {
+        var sum = getOrDefault(key, 0) + increment;
+        put(key, sum);
+
+        return sum;
+    }
+
+    public int[] keys() {
+        var result = new int[size];
+        var next = 0;
+
+        if (containsEmptyKey) {
+            result[next++] = EMPTY;
+        }
+
+        for (var key : keys) {
+            if (key != EMPTY) {
+                result[next++] = key;
+            }
+        }
+
+        return result;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private int find(int key) {
+        var slot = (key * 0x9E3779B9 >>> 16) & mask;
+
+        while (keys[slot] != EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+
+        return slot;
+    }
+
+    private void rehash(int capacity) {
+        var previousKeys = keys;
+        var previousValues = values;
+        allocate(capacity);
+
+        for (var slot = 0; slot < previousKeys.length; slot++) {
+            if (previousKeys[slot] != EMPTY) {
+                var target = find(previousKeys[slot]);
+                keys[target] = previousKeys[slot];
+                values[target] = previousValues[slot];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+    }
+}
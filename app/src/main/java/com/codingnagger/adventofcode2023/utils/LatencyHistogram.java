@@ -0,0 +1,132 @@
+package com.codingnagger.adventofcode2023.utils;
+
+/**
+ * Counts positive values in HdrHistogram's log-linear buckets: every power of two range is split into the same
+ * number of slots, so any recorded value is kept to the requested number of significant digits in a fixed,
+ * small array whatever the spread of the values.
+ */
+public final class LatencyHistogram {
+    private final long highestTrackableValue;
+    private final int subBucketHalfCountMagnitude;
+    private final int subBucketHalfCount;
+    private final long subBucketMask;
+    private final int leadingZeroCountBase;
+    private final long[] counts;
+
+    private long totalCount;
+    private long min = Long.MAX_VALUE;
+    private long max;
+
+    public LatencyHistogram(long highestTrackableValue, int significantDigits) {
+        if (highestTrackableValue < 2) {
+            throw new IllegalArgumentException("Highest trackable value must be at least 2 but was " + highestTrackableValue);
+        }
+
+        if (significantDigits < 1 || significantDigits > 5) {
+            throw new IllegalArgumentException("Significant digits must be between 1 and 5 but was " + significantDigits);
+        }
+
+        var largestValueWithSingleUnitResolution = 2 * (long) Math.pow(10, significantDigits);
+        var subBucketCountMagnitude = 64 - Long.numberOfLeadingZeros(largestValueWithSingleUnitResolution - 1);
+        var subBucketCount = 1 << subBucketCountMagnitude;
+
+        this.highestTrackableValue = highestTrackableValue;
+        this.subBucketHalfCountMagnitude = subBucketCountMagnitude - 1;
+        this.subBucketHalfCount = subBucketCount / 2;
+        this.subBucketMask = subBucketCount - 1;
+        this.leadingZeroCountBase = 64 - subBucketCountMagnitude;
+        this.counts = new long[(bucketsNeeded(highestTrackableValue, subBucketCount) + 1) * subBucketHalfCount];
+    }
+
+    private static int bucketsNeeded(long highestTrackableValue, long subBucketCount) {
+        var smallestUntrackableValue = subBucketCount;
+        var buckets = 1;
+
+        while (smallestUntrackableValue <= highestTrackableValue) {
+            if (smallestUntrackableValue > Long.MAX_VALUE / 2) {
+                return buckets + 1;
+            }
+
+            smallestUntrackableValue <<= 1;
+            buckets++;
+        }
+
+        return buckets;
+    }
+
+    public void record(long value) {
+        if (value < 0 || value > highestTrackableValue) {
+            throw new IllegalArgumentException("Value " + value + " is outside [0, " + highestTrackableValue + "]");
+        }
+
+        counts[countsIndex(value)]++;
+        totalCount++;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    public long totalCount() {
+        return totalCount;
+    }
+
+    public long min() {
+        checkNotEmpty();
+        return min;
+    }
+
+    public long max() {
+        checkNotEmpty();
+        return max;
+    }
+
+    /**
+     * The largest value that at least {@code percentile} percent of the recorded values are equivalent to or below.
+     */
+    public long valueAtPercentile(double percentile) {
+        checkNotEmpty();
+
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100 but was " + percentile);
+        }
+
+        var countAtPercentile = Math.max(1, (long) Math.ceil(percentile / 100 * totalCount));
+        var seen = 0L;
+
+        for (var i = 0; i < counts.length; i++) {
+            seen += counts[i];
+
+            if (seen >= countAtPercentile) {
+                return Math.max(min, Math.min(max, highestEquivalentValue(i)));
+            }
+        }
+
+        return max;
+    }
+
+    private void checkNotEmpty() {
+        if (totalCount == 0) {
+            throw new IllegalStateException("No value recorded yet");
+        }
+    }
+
+    private int countsIndex(long value) {
+        var bucketIndex = leadingZeroCountBase - Long.numberOfLeadingZeros(value | subBucketMask);
+        var subBucketIndex = (int) (value >>> bucketIndex);
+
+        return ((bucketIndex + 1) << subBucketHalfCountMagnitude) + (subBucketIndex - subBucketHalfCount);
+    }
+
+    private long highestEquivalentValue(int countsIndex) {
+        var bucketIndex = (countsIndex >> subBucketHalfCountMagnitude) - 1;
+        var subBucketIndex = (countsIndex & (subBucketHalfCount - 1)) + subBucketHalfCount;
+
+        if (bucketIndex < 0) {
+            subBucketIndex -= subBucketHalfCount;
+            bucketIndex = 0;
+        }
+
+        var lowestEquivalentValue = (long) subBucketIndex << bucketIndex;
+
+        return lowestEquivalentValue + (1L << bucketIndex) - 1;
+    }
+}
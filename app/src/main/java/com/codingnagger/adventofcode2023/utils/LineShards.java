@@ -0,0 +1,109 @@
+package com.codingnagger.adventofcode2023.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.ToLongFunction;
+
+/**
+ * Folds per-line scores on the solve's fork-join pool. The lines are cut into shards small enough to stay in a
+ * worker's cache, each shard is summed into a primitive accumulator, and the partial sums are added back up. Inputs
+ * within the solve's {@link SolveContext#sequentialLineLimit()} are summed on the calling thread.
+ */
+public final class LineShards {
+    static final int SHARD_LINES = 512;
+    // A checkpoint reads the interrupt flag and a scoped value, so it runs once per run of lines rather than per line.
+    static final int CHECKPOINT_LINES = 64;
+
+    private LineShards() {
+    }
+
+    public static <T> long sum(List<T> lines, ToLongFunction<? super T> score) {
+        var context = SolveContext.current();
+
+        if (lines.size() <= context.sequentialLineLimit()) {
+            return sum(lines, 0, lines.size(), score);
+        }
+
+        Cancellation.checkpoint();
+
+        var indexed = lines instanceof RandomAccess ? lines : new ArrayList<>(lines);
+        var cancelled = new AtomicBoolean();
+        var shard = new Shard<>(indexed, 0, indexed.size(), score, context, cancelled);
+
+        try {
+            // Waiting in get() rather than invoke(), because only get() gives up on an interrupt.
+            context.pool().submit(shard).get();
+        } catch (InterruptedException e) {
+            cancelled.set(true);
+            shard.quietlyJoin();
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Cancelled by an interrupt");
+        } catch (ExecutionException e) {
+            throw switch (e.getCause()) {
+                case RuntimeException failure -> failure;
+                case Error failure -> throw failure;
+                default -> new IllegalStateException("Summing line shards failed", e.getCause());
+            };
+        }
+
+        return shard.sum;
+    }
+
+    private static <T> long sum(List<T> lines, int start, int end, ToLongFunction<? super T> score) {
+        var sum = 0L;
+
+        for (var i = start; i < end; i++) {
+            if ((i - start) % CHECKPOINT_LINES == 0) {
+                Cancellation.checkpoint();
+            }
+
+            sum += score.applyAsLong(lines.get(i));
+        }
+
+        return sum;
+    }
+
+    private static final class Shard<T> extends RecursiveAction {
+        private final List<T> lines;
+        private final int start;
+        private final int end;
+        private final ToLongFunction<? super T> score;
+        private final SolveContext context;
+        private final AtomicBoolean cancelled;
+        private long sum;
+
+        Shard(List<T> lines, int start, int end, ToLongFunction<? super T> score, SolveContext context, AtomicBoolean cancelled) {
+            this.lines = lines;
+            this.start = start;
+            this.end = end;
+            this.score = score;
+            this.context = context;
+            this.cancelled = cancelled;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start <= SHARD_LINES) {
+                // Pool workers inherit nothing from the thread that asked for the sum, so its context and its
+                // cancellation are handed over explicitly.
+                context.run(() -> Cancellation.handOver(cancelled::get, () -> sum = LineShards.sum(lines, start, end, score)));
+                return;
+            }
+
+            var middle = (start + end) >>> 1;
+            var left = new Shard<>(lines, start, middle, score, context, cancelled);
+            var right = new Shard<>(lines, middle, end, score, context, cancelled);
+
+            left.fork();
+            right.compute();
+            left.join();
+
+            sum = left.sum + right.sum;
+        }
+    }
+}
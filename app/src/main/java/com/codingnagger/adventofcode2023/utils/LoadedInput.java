@@ -0,0 +1,11 @@
+package com.codingnagger.adventofcode2023.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+
+public record LoadedInput(Path path, byte[] content) {
+    public List<String> lines() {
+        return new String(content, StandardCharsets.UTF_8).lines().toList();
+    }
+}
@@ -0,0 +1,66 @@
+package com.codingnagger.adventofcode2023.utils;
+
+import java.util.NoSuchElementException;
+
+/**
+ * A first-in first-out queue of longs in a growable ring buffer, for searches over packed states.
+ */
+public final class LongArrayDeque {
+    private static final int MINIMUM_CAPACITY = 16;
+
+    private long[] elements;
+    private int head;
+    private int size;
+
+    public LongArrayDeque() {
+        this(MINIMUM_CAPACITY);
+    }
+
+    public LongArrayDeque(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size cannot be negative but was " + expectedSize);
+        }
+
+        elements = new long[Math.max(MINIMUM_CAPACITY, expectedSize)];
+    }
+
+    public void addLast(long element) {
+        if (size == elements.length) {
+            grow();
+        }
+
+        elements[(head + size) % elements.length] = element;
+        size++;
+    }
+
+    public long removeFirst() {
+        if (size == 0) {
+            throw new NoSuchElementException("The queue is empty");
+        }
+
+        var element = elements[head];
+        head = (head + 1) % elements.length;
+        size--;
+
+        return element;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private void grow() {
+        var grown = new long[elements.length * 2];
+
+        for (var i = 0; i < size; i++) {
+            grown[i] = elements[(head + i) % elements.length];
+        }
+
+        elements = grown;
+        head = 0;
+    }
+}
@@ -0,0 +1,119 @@
+package com.codingnagger.adventofcode2023.utils;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.stream.LongStream;
+
+/**
+ * A growable list of longs backed by one array, for number lists parsed from puzzle lines.
+ */
+public final class LongArrayList {
+    private static final int MINIMUM_CAPACITY = 8;
+
+    private long[] elements;
+    private int size;
+
+    public LongArrayList() {
+        this(MINIMUM_CAPACITY);
+    }
+
+    public LongArrayList(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size cannot be negative but was " + expectedSize);
+        }
+
+        elements = new long[Math.max(MINIMUM_CAPACITY, expectedSize)];
+    }
+
+    public static LongArrayList of(long... values) {
+        var list = new LongArrayList(values.length);
+        System.arraycopy(values, 0, list.elements, 0, values.length);
+        list.size = values.length;
+
+        return list;
+    }
+
+    public static LongArrayList copyOf(LongArrayList other) {
+        return of(other.toArray());
+    }
+
+    public void add(long element) {
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, elements.length * 2);
+        }
+
+        elements[size++] = element;
+    }
+
+    public long get(int index) {
+        return elements[Objects.checkIndex(index, size)];
+    }
+
+    public void set(int index, long element) {
+        elements[Objects.checkIndex(index, size)] = element;
+    }
+
+    public long getFirst() {
+        if (size == 0) {
+            throw new NoSuchElementException("The list is empty");
+        }
+
+        return elements[0];
+    }
+
+    public long getLast() {
+        if (size == 0) {
+            throw new NoSuchElementException("The list is empty");
+        }
+
+        return elements[size - 1];
+    }
+
+    public boolean contains(long element) {
+        for (var i = 0; i < size; i++) {
+            if (elements[i] == element) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public long[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+
+    public LongStream stream() {
+        return Arrays.stream(elements, 0, size);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof LongArrayList other && Arrays.equals(elements, 0, size, other.elements, 0, other.size);
+    }
+
+    @Override
+    public int hashCode() {
+        var hash = 1;
+
+        for (var i = 0; i < size; i++) {
+            hash = 31 * hash + Long.hashCode(elements[i]);
+        }
+
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+}
@@ -0,0 +1,143 @@
+package com.codingnagger.adventofcode2023.utils;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * A set of longs kept in one open-addressed table with linear probing, so lookups neither box nor chase pointers.
+ * Zero marks a free slot, so whether the set holds zero is tracked on the side.
+ */
+public final class LongOpenHashSet {
+    private static final int MINIMUM_CAPACITY = 8;
+    private static final long EMPTY = 0L;
+
+    private long[] keys;
+    private int mask;
+    private int size;
+    private boolean containsEmpty;
+
+    public LongOpenHashSet() {
+        this(MINIMUM_CAPACITY);
+    }
+
+    public LongOpenHashSet(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size cannot be negative but was " + expectedSize);
+        }
+
+        allocate(tableSize(expectedSize));
+    }
+
+    public boolean add(long key) {
+        if (key == EMPTY) {
+            if (containsEmpty) {
+                return false;
+            }
+
+            containsEmpty = true;
+            size++;
+            return true;
+        }
+
+        var slot = slot(key);
+
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                return false;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+
+        keys[slot] = key;
+        size++;
+
+        // Kept at most half full, so probe runs stay short.
+        if (size * 2 > keys.length) {
+            rehash(keys.length * 2);
+        }
+
+        return true;
+    }
+
+    public boolean contains(long key) {
+        if (key == EMPTY) {
+            return containsEmpty;
+        }
+
+        var slot = slot(key);
+
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                return true;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        containsEmpty = false;
+        size = 0;
+    }
+
+    public void forEach(LongConsumer action) {
+        if (containsEmpty) {
+            action.accept(EMPTY);
+        }
+
+        for (var key : keys) {
+            if (key != EMPTY) {
+                action.accept(key);
+            }
+        }
+    }
+
+    private int slot(long key) {
+        // Fibonacci hashing spreads packed coordinates, whose low bits barely vary, over the whole table.
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+    }
+
+    private void rehash(int capacity) {
+        var previous = keys;
+        allocate(capacity);
+
+        for (var key : previous) {
+            if (key != EMPTY) {
+                var slot = slot(key);
+
+                while (keys[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+
+                keys[slot] = key;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        mask = capacity - 1;
+    }
+
+    private static int tableSize(int expectedSize) {
+        var capacity = MINIMUM_CAPACITY;
+
+        while (capacity < expectedSize * 2L) {
+            capacity <<= 1;
+        }
+
+        return capacity;
+    }
+}
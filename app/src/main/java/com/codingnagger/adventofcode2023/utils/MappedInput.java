@@ -0,0 +1,169 @@
+package com.codingnagger.adventofcode2023.utils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * A read-only view over an ASCII input file mapped straight from the page cache. Lines are exposed as
+ * {@link AsciiLine} views over the mapped bytes, and only materialised as {@code String}s through {@link #asLines()},
+ * decoded as UTF-8 like every other loader.
+ * Compressed files cannot be mapped, so they are inflated onto the heap instead.
+ */
+public final class MappedInput implements AutoCloseable {
+    private static final byte NEW_LINE = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
+    private static final int SCAN_CHUNK_BYTES = 64 * 1024;
+
+    private final Arena arena;
+    private final MemorySegment segment;
+    private final long[] lineStarts;
+    private final int lineCount;
+
+    private MappedInput(Arena arena, MemorySegment segment) {
+        this.arena = arena;
+        this.segment = segment;
+
+        var starts = new long[16];
+        var count = 0;
+        var size = segment.byteSize();
+
+        if (size > 0) {
+            starts[count++] = 0;
+        }
+
+        // Newlines are searched in chunks copied out in bulk, which the JIT scans far faster than per-byte reads.
+        var chunk = new byte[(int) Math.min(SCAN_CHUNK_BYTES, size)];
+
+        for (var chunkStart = 0L; chunkStart < size; chunkStart += chunk.length) {
+            var chunkLength = (int) Math.min(chunk.length, size - chunkStart);
+            MemorySegment.copy(segment, ValueLayout.JAVA_BYTE, chunkStart, chunk, 0, chunkLength);
+
+            for (var i = 0; i < chunkLength; i++) {
+                if (chunk[i] == NEW_LINE && chunkStart + i + 1 < size) {
+                    if (count + 1 >= starts.length) {
+                        starts = Arrays.copyOf(starts, starts.length * 2);
+                    }
+
+                    starts[count++] = chunkStart + i + 1;
+                }
+            }
+        }
+
+        starts[count] = size;
+        this.lineStarts = starts;
+        this.lineCount = count;
+    }
+
+    public static MappedInput open(Path path) {
+        var arena = Arena.ofShared();
+
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            var header = ByteBuffer.allocate(Compression.HEADER_LENGTH);
+            channel.read(header, 0);
+            var compression = Compression.detect(path, Arrays.copyOf(header.array(), header.position()));
+
+            if (compression != Compression.NONE) {
+                try (var in = compression.decompress(Channels.newInputStream(channel))) {
+                    return new MappedInput(arena, MemorySegment.ofArray(in.readAllBytes()));
+                }
+            }
+
+            return new MappedInput(arena, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), arena));
+        } catch (IOException e) {
+            arena.close();
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            arena.close();
+            throw e;
+        }
+    }
+
+    public int lineCount() {
+        return lineCount;
+    }
+
+    public long byteSize() {
+        return segment.byteSize();
+    }
+
+    public MemorySegment segment() {
+        return segment;
+    }
+
+    public AsciiLine line(int index) {
+        if (index < 0 || index >= lineCount) {
+            throw new IndexOutOfBoundsException("Line " + index + " out of " + lineCount);
+        }
+
+        var start = lineStarts[index];
+        var end = Math.min(lineStarts[index + 1], segment.byteSize());
+
+        if (end > start && segment.get(ValueLayout.JAVA_BYTE, end - 1) == NEW_LINE) {
+            end--;
+        }
+
+        if (end > start && segment.get(ValueLayout.JAVA_BYTE, end - 1) == CARRIAGE_RETURN) {
+            end--;
+        }
+
+        return new AsciiLine(segment, start, Math.toIntExact(end - start));
+    }
+
+    public List<AsciiLine> asAsciiLines() {
+        return new LineList<>() {
+            @Override
+            public AsciiLine get(int index) {
+                return line(index);
+            }
+        };
+    }
+
+    /**
+     * Adapter for days working on {@code List<String>}: every access decodes the line again instead of keeping it.
+     */
+    public List<String> asLines() {
+        return new LineList<>() {
+            @Override
+            public String get(int index) {
+                return line(index).toString();
+            }
+        };
+    }
+
+    /**
+     * Every line decoded once up front, for days that read lines more than once or from parts solved side by side.
+     */
+    public List<String> readLines() {
+        var lines = new String[lineCount];
+
+        for (var i = 0; i < lineCount; i++) {
+            lines[i] = line(i).toString();
+        }
+
+        return List.of(lines);
+    }
+
+    @Override
+    public void close() {
+        arena.close();
+    }
+
+    private abstract class LineList<T> extends AbstractList<T> implements RandomAccess {
+        @Override
+        public int size() {
+            return lineCount;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.codingnagger.adventofcode2023.utils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Hands out inputs in order while reading the next ones in the background, so that reading input N + 1 overlaps with
+ * solving input N. At most {@code depth} inputs are read ahead of the one last handed out, which bounds the memory
+ * they hold; a depth of 2 is classic double buffering. Compressed inputs are inflated as soon as they are read.
+ */
+public final class PrefetchingLoader implements Iterator<LoadedInput>, AutoCloseable {
+    private final Iterator<Path> pending;
+    private final int depth;
+    private final ArrayDeque<CompletableFuture<LoadedInput>> reads = new ArrayDeque<>();
+
+    PrefetchingLoader(List<Path> inputs, int depth) {
+        if (depth < 1) {
+            throw new IllegalArgumentException("Prefetch depth must be at least 1 but was " + depth);
+        }
+
+        this.pending = List.copyOf(inputs).iterator();
+        this.depth = depth;
+
+        fill();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !reads.isEmpty();
+    }
+
+    /**
+     * Waits for the next input, failing with an {@link UncheckedIOException} if it could not be read. Later inputs
+     * stay available after such a failure.
+     */
+    @Override
+    public LoadedInput next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        var read = reads.poll();
+        fill();
+
+        try {
+            return read.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw new UncheckedIOException(io);
+            }
+
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() {
+        reads.forEach(read -> read.cancel(false));
+        reads.clear();
+    }
+
+    private void fill() {
+        while (reads.size() < depth && pending.hasNext()) {
+            reads.add(read(pending.next()));
+        }
+    }
+
+    private static CompletableFuture<LoadedInput> read(Path path) {
+        var result = new CompletableFuture<LoadedInput>();
+
+        try {
+            var channel = AsynchronousFileChannel.open(path, StandardOpenOption.READ);
+            var size = channel.size();
+
+            if (size > Integer.MAX_VALUE) {
+                closeQuietly(channel);
+                throw new IOException(path + " is too large to load at once: " + size + " bytes");
+            }
+
+            var buffer = ByteBuffer.allocate((int) size);
+
+            channel.read(buffer, 0, buffer, new CompletionHandler<>() {
+                @Override
+                public void completed(Integer bytesRead, ByteBuffer target) {
+                    if (result.isCancelled()) {
+                        closeQuietly(channel);
+                    } else if (bytesRead >= 0 && target.hasRemaining()) {
+                        channel.read(target, target.position(), target, this);
+                    } else {
+                        closeQuietly(channel);
+                        // A file that shrank while being read ends early rather than padded with zeros.
+                        var content = Arrays.copyOf(target.array(), target.position());
+
+                        try {
+                            result.complete(new LoadedInput(path, Compression.detect(path, content).decompress(content)));
+                        } catch (UncheckedIOException e) {
+                            result.completeExceptionally(e.getCause());
+                        }
+                    }
+                }
+
+                @Override
+                public void failed(Throwable failure, ByteBuffer target) {
+                    closeQuietly(channel);
+                    result.completeExceptionally(failure instanceof IOException
+                            ? failure
+                            : new IOException("Cannot read " + path, failure));
+                }
+            });
+        } catch (IOException e) {
+            result.completeExceptionally(e);
+        }
+
+        return result;
+    }
+
+    private static void closeQuietly(AsynchronousFileChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // Nothing was written, so a failing close cannot lose data.
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.codingnagger.adventofcode2023.utils;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * What a day may use while it solves, and where it reports the work it did: the pool its parallel engines share, the
+ * input size up to which sequential code is faster, a memory budget, and named counters. The runner binds a fresh
+ * context around every solve; parts and the pool work they fork see it through {@link #current()}. Outside the runner,
+ * days get an unbounded context on the common pool.
+ */
+public final class SolveContext {
+    private static final ScopedValue<SolveContext> CURRENT = ScopedValue.newInstance();
+    private static final SolveContext UNBOUND = new SolveContext(ForkJoinPool.commonPool(), Long.MAX_VALUE);
+    private static final long MEBIBYTE = 1024 * 1024;
+
+    private final ForkJoinPool pool;
+    private final long memoryBudget;
+    private final int sequentialLineLimit;
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+
+    public SolveContext(ForkJoinPool pool, long memoryBudget) {
+        this(pool, memoryBudget, LineShards.SHARD_LINES);
+    }
+
+    public SolveContext(ForkJoinPool pool, long memoryBudget, int sequentialLineLimit) {
+        if (memoryBudget <= 0) {
+            throw new IllegalArgumentException("A memory budget must be positive but was " + memoryBudget);
+        }
+
+        if (sequentialLineLimit < 0) {
+            throw new IllegalArgumentException("A sequential line limit cannot be negative but was " + sequentialLineLimit);
+        }
+
+        this.pool = pool;
+        this.memoryBudget = memoryBudget;
+        this.sequentialLineLimit = sequentialLineLimit;
+    }
+
+    public static SolveContext current() {
+        return CURRENT.orElse(UNBOUND);
+    }
+
+    public <T> T call(Supplier<T> solve) {
+        return ScopedValue.where(CURRENT, this).get(solve);
+    }
+
+    public void run(Runnable solve) {
+        ScopedValue.where(CURRENT, this).run(solve);
+    }
+
+    public ForkJoinPool pool() {
+        return pool;
+    }
+
+    public long memoryBudget() {
+        return memoryBudget;
+    }
+
+    /**
+     * Inputs of at most this many lines are solved on the calling thread, because forking would cost more than it
+     * saves. Calibration measures it per day; without one, a single shard's worth of lines.
+     */
+    public int sequentialLineLimit() {
+        return sequentialLineLimit;
+    }
+
+    /**
+     * Fails the solve before it grows past its budget, rather than letting it take the whole heap down.
+     */
+    public void requireMemory(long bytes, String purpose) {
+        if (bytes > memoryBudget) {
+            throw new IllegalStateException(String.format("%s needs about %d MiB, over the memory budget of %d MiB",
+                    purpose, bytes / MEBIBYTE, memoryBudget / MEBIBYTE));
+        }
+    }
+
+    public LongAdder counter(String name) {
+        return counters.computeIfAbsent(name, _ -> new LongAdder());
+    }
+
+    public Map<String, Long> counters() {
+        var totals = new TreeMap<String, Long>();
+        counters.forEach((name, counter) -> totals.put(name, counter.sum()));
+        return Collections.unmodifiableMap(totals);
+    }
+}
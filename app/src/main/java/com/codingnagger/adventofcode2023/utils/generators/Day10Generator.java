@@ -0,0 +1,93 @@
+package com.codingnagger.adventofcode2023.utils.generators;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.random.RandomGenerator;
+
+// The loop starts in the top left corner, runs back along the top row and hangs teeth of random width and depth
+// below it, so that every tooth encloses a pocket of junk while the rest of the grid stays outside the loop.
+class Day10Generator implements InputGenerator {
+    private static final String JUNK = "....|-LJ7F";
+
+    @Override
+    public void generate(int size, RandomGenerator random, Consumer<String> lines) {
+        var side = InputGenerators.side(size);
+        var grid = new char[side][side];
+
+        for (var row : grid) {
+            for (var x = 0; x < side; x++) {
+                row[x] = InputGenerators.pick(random, JUNK);
+            }
+        }
+
+        var loop = loop(side, random);
+
+        for (var i = 0; i < loop.size(); i++) {
+            var current = loop.get(i);
+            var previous = loop.get((i + loop.size() - 1) % loop.size());
+            var next = loop.get((i + 1) % loop.size());
+
+            grid[current[1]][current[0]] = i == 0 ? 'S' : pipe(current, previous, next);
+        }
+
+        for (var row : grid) {
+            lines.accept(new String(row));
+        }
+    }
+
+    private static List<int[]> loop(int side, RandomGenerator random) {
+        var loop = new ArrayList<int[]>();
+        loop.add(new int[]{0, 0});
+
+        var x = 0;
+
+        while (x < side - 1) {
+            var toothEnd = Math.min(side - 1, x + random.nextInt(1, Math.max(2, side / 4)));
+            var depth = random.nextInt(1, side);
+
+            lineTo(loop, x, depth);
+            lineTo(loop, toothEnd, depth);
+            lineTo(loop, toothEnd, 1);
+
+            x = toothEnd;
+
+            if (x < side - 1) {
+                lineTo(loop, ++x, 1);
+            }
+        }
+
+        lineTo(loop, side - 1, 0);
+        lineTo(loop, 1, 0);
+
+        return loop;
+    }
+
+    private static void lineTo(List<int[]> loop, int x, int y) {
+        var last = loop.getLast();
+
+        while (last[0] != x || last[1] != y) {
+            last = new int[]{last[0] + Integer.signum(x - last[0]), last[1] + Integer.signum(y - last[1])};
+            loop.add(last);
+        }
+    }
+
+    private static char pipe(int[] current, int[] previous, int[] next) {
+        var north = previous[1] < current[1] || next[1] < current[1];
+        var south = previous[1] > current[1] || next[1] > current[1];
+        var west = previous[0] < current[0] || next[0] < current[0];
+        var east = previous[0] > current[0] || next[0] > current[0];
+
+        if (north && south) return '|';
+        if (west && east) return '-';
+        if (north && east) return 'L';
+        if (north && west) return 'J';
+        if (south && west) return '7';
+        return 'F';
+    }
+
+    @Override
+    public int exampleSize() {
+        return 25;
+    }
+}
@@ -0,0 +1,45 @@
+package com.codingnagger.adventofcode2023.utils.generators;
+
+import java.util.ArrayList;
+import java.util.function.Consumer;
+import java.util.random.RandomGenerator;
+import java.util.stream.Collectors;
+
+class Day12Generator implements InputGenerator {
+    private static final int MAX_UNKNOWN_SPRINGS = 10;
+
+    @Override
+    public void generate(int size, RandomGenerator random, Consumer<String> lines) {
+        for (var i = 0; i < size; i++) {
+            var springs = InputGenerators.word(random, "#..", 4, 20).toCharArray();
+            springs[random.nextInt(springs.length)] = '#';
+
+            var damagedCounts = new ArrayList<Integer>();
+            var run = 0;
+
+            for (var spring : springs) {
+                if (spring == '#') {
+                    run++;
+                } else if (run > 0) {
+                    damagedCounts.add(run);
+                    run = 0;
+                }
+            }
+
+            if (run > 0) {
+                damagedCounts.add(run);
+            }
+
+            for (var unknown = random.nextInt(MAX_UNKNOWN_SPRINGS + 1); unknown > 0; unknown--) {
+                springs[random.nextInt(springs.length)] = '?';
+            }
+
+            lines.accept(new String(springs) + " " + damagedCounts.stream().map(String::valueOf).collect(Collectors.joining(",")));
+        }
+    }
+
+    @Override
+    public int exampleSize() {
+        return 6;
+    }
+}
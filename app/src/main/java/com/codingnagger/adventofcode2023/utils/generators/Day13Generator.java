@@ -0,0 +1,63 @@
+package com.codingnagger.adventofcode2023.utils.generators;
+
+import java.util.function.Consumer;
+import java.util.random.RandomGenerator;
+
+// Every pattern is mirrored around a random axis, either between two rows or between two columns.
+class Day13Generator implements InputGenerator {
+    @Override
+    public void generate(int size, RandomGenerator random, Consumer<String> lines) {
+        var remainingLines = size;
+        var first = true;
+
+        while (remainingLines > 0 || first) {
+            if (!first) {
+                lines.accept("");
+            }
+
+            var height = random.nextInt(5, 18);
+            var width = random.nextInt(5, 18);
+            var pattern = pattern(random, width, height);
+
+            for (var row : pattern) {
+                lines.accept(new String(row));
+            }
+
+            remainingLines -= height + 1;
+            first = false;
+        }
+    }
+
+    private static char[][] pattern(RandomGenerator random, int width, int height) {
+        var pattern = new char[height][width];
+
+        for (var row : pattern) {
+            for (var x = 0; x < width; x++) {
+                row[x] = random.nextBoolean() ? '#' : '.';
+            }
+        }
+
+        if (random.nextBoolean()) {
+            var axis = random.nextInt(1, height);
+
+            for (var offset = 0; axis - 1 - offset >= 0 && axis + offset < height; offset++) {
+                pattern[axis + offset] = pattern[axis - 1 - offset].clone();
+            }
+        } else {
+            var axis = random.nextInt(1, width);
+
+            for (var row : pattern) {
+                for (var offset = 0; axis - 1 - offset >= 0 && axis + offset < width; offset++) {
+                    row[axis + offset] = row[axis - 1 - offset];
+                }
+            }
+        }
+
+        return pattern;
+    }
+
+    @Override
+    public int exampleSize() {
+        return 15;
+    }
+}
@@ -0,0 +1,15 @@
+package com.codingnagger.adventofcode2023.utils.generators;
+
+import java.util.random.RandomGenerator;
+
+class Day14Generator extends GridGenerator {
+    @Override
+    char cell(RandomGenerator random) {
+        return InputGenerators.pick(random, "OOO##.......");
+    }
+
+    @Override
+    public int exampleSize() {
+        return 100;
+    }
+}
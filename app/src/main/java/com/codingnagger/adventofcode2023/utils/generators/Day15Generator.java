@@ -0,0 +1,41 @@
+package com.codingnagger.adventofcode2023.utils.generators;
+
+import java.util.function.Consumer;
+import java.util.random.RandomGenerator;
+
+// The whole initialisation sequence lives on a single line, so the size is the number of steps in it.
+class Day15Generator implements InputGenerator {
+    private static final String LETTERS = "abcdefghijklmnopqrstuvwxyz";
+
+    @Override
+    public void generate(int size, RandomGenerator random, Consumer<String> lines) {
+        var labels = new String[Math.max(1, size / 4)];
+
+        for (var i = 0; i < labels.length; i++) {
+            labels[i] = InputGenerators.word(random, LETTERS, 1, 6);
+        }
+
+        var sequence = new StringBuilder();
+
+        for (var i = 0; i < size; i++) {
+            if (i > 0) {
+                sequence.append(',');
+            }
+
+            sequence.append(labels[random.nextInt(labels.length)]);
+
+            if (random.nextInt(3) == 0) {
+                sequence.append('-');
+            } else {
+                sequence.append('=').append(random.nextInt(1, 10));
+            }
+        }
+
+        lines.accept(sequence.toString());
+    }
+
+    @Override
+    public int exampleSize() {
+        return 11;
+    }
+}
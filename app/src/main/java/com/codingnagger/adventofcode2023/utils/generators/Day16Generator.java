@@ -0,0 +1,15 @@
+package com.codingnagger.adventofcode2023.utils.generators;
+
+import java.util.random.RandomGenerator;
+
+class Day16Generator extends GridGenerator {
+    @Override
+    char cell(RandomGenerator random) {
+        return random.nextInt(10) == 0 ? InputGenerators.pick(random, "/\\-|") : '.';
+    }
+
+    @Override
+    public int exampleSize() {
+        return 100;
+    }
+}
@@ -0,0 +1,40 @@
+package com.codingnagger.adventofcode2023.utils.generators;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.random.RandomGenerator;
+
+class Day1Generator implements InputGenerator {
+    private static final List<String> DIGIT_WORDS = List.of("one", "two", "three", "four", "five", "six", "seven", "eight", "nine");
+    private static final String LETTERS = "abcdefghijklmnopqrstuvwxyz";
+    private static final String DIGITS = "123456789";
+
+    @Override
+    public void generate(int size, RandomGenerator random, Consumer<String> lines) {
+        for (var i = 0; i < size; i++) {
+            var line = new StringBuilder();
+            var tokens = random.nextInt(2, 8);
+            var guaranteedDigit = random.nextInt(tokens);
+
+            for (var token = 0; token < tokens; token++) {
+                if (token == guaranteedDigit) {
+                    line.append(InputGenerators.pick(random, DIGITS));
+                    continue;
+                }
+
+                switch (random.nextInt(3)) {
+                    case 0 -> line.append(InputGenerators.pick(random, DIGITS));
+                    case 1 -> line.append(DIGIT_WORDS.get(random.nextInt(DIGIT_WORDS.size())));
+                    default -> line.append(InputGenerators.word(random, LETTERS, 1, 5));
+                }
+            }
+
+            lines.accept(line.toString());
+        }
+    }
+
+    @Override
+    public int exampleSize() {
+        return 4;
+    }
+}
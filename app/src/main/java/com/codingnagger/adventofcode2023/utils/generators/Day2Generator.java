@@ -0,0 +1,34 @@
+package com.codingnagger.adventofcode2023.utils.generators;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.random.RandomGenerator;
+
+class Day2Generator implements InputGenerator {
+    private static final List<String> COLORS = List.of("red", "green", "blue");
+
+    @Override
+    public void generate(int size, RandomGenerator random, Consumer<String> lines) {
+        for (var id = 1; id <= size; id++) {
+            var sets = new ArrayList<String>();
+
+            for (var set = random.nextInt(1, 7); set > 0; set--) {
+                var colors = new ArrayList<>(COLORS);
+                Collections.shuffle(colors, random);
+
+                sets.add(String.join(", ", colors.subList(0, random.nextInt(1, colors.size() + 1)).stream()
+                        .map(color -> random.nextInt(1, 21) + " " + color)
+                        .toList()));
+            }
+
+            lines.accept("Game " + id + ": " + String.join("; ", sets));
+        }
+    }
+
+    @Override
+    public int exampleSize() {
+        return 5;
+    }
+}
@@ -0,0 +1,43 @@
+package com.codingnagger.adventofcode2023.utils.generators;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.random.RandomGenerator;
+
+class Day3Generator implements InputGenerator {
+    private static final String SYMBOLS = "*#+$/=%@&-";
+
+    @Override
+    public void generate(int size, RandomGenerator random, Consumer<String> lines) {
+        var side = InputGenerators.side(size);
+        var row = new char[side];
+
+        for (var y = 0; y < side; y++) {
+            Arrays.fill(row, '.');
+            var x = 0;
+
+            while (x < side) {
+                var roll = random.nextInt(10);
+
+                if (roll < 2) {
+                    var digits = Math.min(random.nextInt(1, 4), side - x);
+
+                    for (var i = 0; i < digits; i++) {
+                        row[x++] = (char) ('0' + random.nextInt(i == 0 ? 1 : 0, 10));
+                    }
+                } else if (roll == 2) {
+                    row[x] = InputGenerators.pick(random, SYMBOLS);
+                }
+
+                x++;
+            }
+
+            lines.accept(new String(row));
+        }
+    }
+
+    @Override
+    public int exampleSize() {
+        return 100;
+    }
+}
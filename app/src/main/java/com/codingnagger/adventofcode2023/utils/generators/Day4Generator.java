@@ -0,0 +1,43 @@
+package com.codingnagger.adventofcode2023.utils.generators;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.random.RandomGenerator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+class Day4Generator implements InputGenerator {
+    private static final int WINNING_COUNT = 10;
+    private static final int MINE_COUNT = 25;
+
+    @Override
+    public void generate(int size, RandomGenerator random, Consumer<String> lines) {
+        var pool = new ArrayList<>(IntStream.range(1, 100).boxed().toList());
+
+        for (var id = 1; id <= size; id++) {
+            Collections.shuffle(pool, random);
+
+            // Winning more cards than there are left would make part two run off the table.
+            var matches = random.nextInt(Math.min(WINNING_COUNT, size - id) + 1);
+            var winning = pool.subList(0, WINNING_COUNT);
+            var mine = new ArrayList<>(pool.subList(0, matches));
+            mine.addAll(pool.subList(WINNING_COUNT, WINNING_COUNT + MINE_COUNT - matches));
+            Collections.shuffle(mine, random);
+
+            lines.accept("Card " + id + ": " + format(winning) + " | " + format(mine));
+        }
+    }
+
+    private static String format(List<Integer> numbers) {
+        return numbers.stream()
+                .map(number -> String.format("%2d", number))
+                .collect(Collectors.joining(" "));
+    }
+
+    @Override
+    public int exampleSize() {
+        return 6;
+    }
+}
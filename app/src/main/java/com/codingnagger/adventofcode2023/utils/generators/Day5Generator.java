@@ -0,0 +1,50 @@
+package com.codingnagger.adventofcode2023.utils.generators;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.random.RandomGenerator;
+import java.util.stream.LongStream;
+
+class Day5Generator implements InputGenerator {
+    private static final List<String> CATEGORIES = List.of(
+            "seed", "soil", "fertilizer", "water", "light", "temperature", "humidity", "location"
+    );
+    private static final long MAX_VALUE = 1L << 32;
+
+    @Override
+    public void generate(int size, RandomGenerator random, Consumer<String> lines) {
+        var converters = CATEGORIES.size() - 1;
+        var rangesPerConverter = Math.max(1, (size - 2 * converters) / converters);
+        var seedPairs = Math.max(1, rangesPerConverter / 2);
+
+        var seeds = new StringBuilder("seeds:");
+        for (var i = 0; i < seedPairs; i++) {
+            var start = random.nextLong(MAX_VALUE / 2);
+            seeds.append(' ').append(start).append(' ').append(random.nextLong(1, MAX_VALUE / (4L * seedPairs)));
+        }
+        lines.accept(seeds.toString());
+
+        for (var converter = 0; converter < converters; converter++) {
+            lines.accept("");
+            lines.accept(CATEGORIES.get(converter) + "-to-" + CATEGORIES.get(converter + 1) + " map:");
+
+            var boundaries = LongStream.concat(
+                    LongStream.of(0, MAX_VALUE),
+                    LongStream.generate(() -> random.nextLong(1, MAX_VALUE)).limit(rangesPerConverter)
+            ).sorted().distinct().toArray();
+
+            for (var i = 0; i < boundaries.length - 1 && i < rangesPerConverter; i++) {
+                var sourceStart = boundaries[i];
+                var length = boundaries[i + 1] - sourceStart;
+                var destinationStart = random.nextLong(MAX_VALUE - length + 1);
+
+                lines.accept(destinationStart + " " + sourceStart + " " + length);
+            }
+        }
+    }
+
+    @Override
+    public int exampleSize() {
+        return 33;
+    }
+}
@@ -0,0 +1,47 @@
+package com.codingnagger.adventofcode2023.utils.generators;
+
+import java.util.ArrayList;
+import java.util.function.Consumer;
+import java.util.random.RandomGenerator;
+
+// The size is the duration of the single race part two reads by joining every race together.
+class Day6Generator implements InputGenerator {
+    @Override
+    public void generate(int size, RandomGenerator random, Consumer<String> lines) {
+        var totalDuration = String.valueOf(random.nextLong(Math.max(1, size / 2), Math.max(2, size) + 1L));
+        var durations = new ArrayList<String>();
+        var start = 0;
+
+        while (start < totalDuration.length()) {
+            var end = Math.min(totalDuration.length(), start + random.nextInt(1, 4));
+
+            while (end < totalDuration.length() && totalDuration.charAt(end) == '0') {
+                end++;
+            }
+
+            durations.add(totalDuration.substring(start, end));
+            start = end;
+        }
+
+        var time = new StringBuilder("Time:    ");
+        var distance = new StringBuilder("Distance:");
+
+        for (var duration : durations) {
+            var raceDuration = Long.parseLong(duration);
+            var bestDistance = (raceDuration / 2) * (raceDuration - raceDuration / 2);
+            var record = String.valueOf(random.nextLong(Math.max(1, bestDistance)));
+            var width = Math.max(duration.length(), record.length()) + 2;
+
+            time.append(String.format("%" + width + "s", duration));
+            distance.append(String.format("%" + width + "s", record));
+        }
+
+        lines.accept(time.toString());
+        lines.accept(distance.toString());
+    }
+
+    @Override
+    public int exampleSize() {
+        return 71530;
+    }
+}
@@ -0,0 +1,20 @@
+package com.codingnagger.adventofcode2023.utils.generators;
+
+import java.util.function.Consumer;
+import java.util.random.RandomGenerator;
+
+class Day7Generator implements InputGenerator {
+    private static final String CARDS = "AKQJT98765432";
+
+    @Override
+    public void generate(int size, RandomGenerator random, Consumer<String> lines) {
+        for (var i = 0; i < size; i++) {
+            lines.accept(InputGenerators.word(random, CARDS, 5, 5) + " " + random.nextInt(1, 1001));
+        }
+    }
+
+    @Override
+    public int exampleSize() {
+        return 5;
+    }
+}
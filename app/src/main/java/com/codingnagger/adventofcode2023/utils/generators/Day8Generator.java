@@ -0,0 +1,66 @@
+package com.codingnagger.adventofcode2023.utils.generators;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.function.Consumer;
+import java.util.random.RandomGenerator;
+
+// Every ghost walks its own chain from a node ending in A to a node ending in Z and loops back to the first step,
+// so the first arrival at Z is also the cycle length, as the puzzle inputs guarantee.
+class Day8Generator implements InputGenerator {
+    private static final String NAME_CHARACTERS = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ";
+    private static final String INNER_NAME_LAST_CHARACTERS = "0123456789BCDEFGHIJKLMNOPQRSTUVWXY";
+    private static final int NAME_PREFIXES = NAME_CHARACTERS.length() * NAME_CHARACTERS.length();
+    private static final int MAX_GHOSTS = 6;
+
+    @Override
+    public void generate(int size, RandomGenerator random, Consumer<String> lines) {
+        var maxNodes = NAME_PREFIXES * INNER_NAME_LAST_CHARACTERS.length();
+
+        if (size > maxNodes) {
+            throw new IllegalArgumentException("Day 8 inputs cannot hold more than " + maxNodes + " nodes");
+        }
+
+        lines.accept(InputGenerators.word(random, "LR", 2, 300));
+        lines.accept("");
+
+        var ghosts = Math.max(1, Math.min(MAX_GHOSTS, size / 2));
+        var nodes = new ArrayList<String>();
+        var innerNames = 0;
+
+        for (var ghost = 0; ghost < ghosts; ghost++) {
+            var chainLength = Math.max(2, size / ghosts + (ghost == 0 ? size % ghosts : 0));
+            var start = ghost == 0 ? "AAA" : prefix(NAME_PREFIXES - 1 - ghost) + "A";
+            var end = ghost == 0 ? "ZZZ" : prefix(NAME_PREFIXES - 1 - ghost) + "Z";
+            var chain = new ArrayList<String>(chainLength);
+
+            chain.add(start);
+            for (var i = 0; i < chainLength - 2; i++) {
+                chain.add(innerName(innerNames++));
+            }
+            chain.add(end);
+
+            for (var i = 0; i < chain.size(); i++) {
+                var next = i == chain.size() - 1 ? chain.get(1) : chain.get(i + 1);
+                nodes.add(chain.get(i) + " = (" + next + ", " + next + ")");
+            }
+        }
+
+        Collections.shuffle(nodes, random);
+        nodes.forEach(lines);
+    }
+
+    private static String innerName(int index) {
+        return prefix(index / INNER_NAME_LAST_CHARACTERS.length())
+                + INNER_NAME_LAST_CHARACTERS.charAt(index % INNER_NAME_LAST_CHARACTERS.length());
+    }
+
+    private static String prefix(int index) {
+        return "" + NAME_CHARACTERS.charAt(index / NAME_CHARACTERS.length()) + NAME_CHARACTERS.charAt(index % NAME_CHARACTERS.length());
+    }
+
+    @Override
+    public int exampleSize() {
+        return 8;
+    }
+}
@@ -0,0 +1,42 @@
+package com.codingnagger.adventofcode2023.utils.generators;
+
+import java.util.function.Consumer;
+import java.util.random.RandomGenerator;
+
+class Day9Generator implements InputGenerator {
+    private static final int HISTORY_LENGTH = 21;
+    private static final int MAX_DEGREE = 5;
+
+    @Override
+    public void generate(int size, RandomGenerator random, Consumer<String> lines) {
+        for (var i = 0; i < size; i++) {
+            var coefficients = new long[random.nextInt(MAX_DEGREE + 1) + 1];
+
+            for (var c = 0; c < coefficients.length; c++) {
+                coefficients[c] = random.nextLong(-9, 10);
+            }
+
+            var line = new StringBuilder();
+
+            for (var x = 0; x < HISTORY_LENGTH; x++) {
+                var value = 0L;
+
+                for (var c = coefficients.length - 1; c >= 0; c--) {
+                    value = value * x + coefficients[c];
+                }
+
+                if (x > 0) {
+                    line.append(' ');
+                }
+                line.append(value);
+            }
+
+            lines.accept(line.toString());
+        }
+    }
+
+    @Override
+    public int exampleSize() {
+        return 3;
+    }
+}
@@ -0,0 +1,22 @@
+package com.codingnagger.adventofcode2023.utils.generators;
+
+import java.util.function.Consumer;
+import java.util.random.RandomGenerator;
+
+abstract class GridGenerator implements InputGenerator {
+    abstract char cell(RandomGenerator random);
+
+    @Override
+    public void generate(int size, RandomGenerator random, Consumer<String> lines) {
+        var side = InputGenerators.side(size);
+        var row = new char[side];
+
+        for (var y = 0; y < side; y++) {
+            for (var x = 0; x < side; x++) {
+                row[x] = cell(random);
+            }
+
+            lines.accept(new String(row));
+        }
+    }
+}
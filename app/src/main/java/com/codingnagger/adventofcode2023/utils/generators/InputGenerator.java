@@ -0,0 +1,45 @@
+package com.codingnagger.adventofcode2023.utils.generators;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+import java.util.random.RandomGenerator;
+
+/**
+ * Produces valid puzzle inputs of arbitrary size. The size is expressed in the unit the day scales with:
+ * lines for line based puzzles and cells for grid based ones. The same size and seed always produce the same input.
+ */
+public interface InputGenerator {
+    void generate(int size, RandomGenerator random, Consumer<String> lines);
+
+    /**
+     * The size of the puzzle example, so that inputs can be generated as multiples of it.
+     */
+    int exampleSize();
+
+    default List<String> generate(int size, long seed) {
+        var lines = new ArrayList<String>();
+        generate(size, new SplittableRandom(seed), lines::add);
+        return lines;
+    }
+
+    default void write(Path path, int size, long seed) {
+        try (var writer = Files.newBufferedWriter(path)) {
+            generate(size, new SplittableRandom(seed), line -> {
+                try {
+                    writer.write(line);
+                    writer.newLine();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
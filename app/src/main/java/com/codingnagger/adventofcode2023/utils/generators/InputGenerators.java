@@ -0,0 +1,49 @@
+package com.codingnagger.adventofcode2023.utils.generators;
+
+import java.util.random.RandomGenerator;
+
+public class InputGenerators {
+    private InputGenerators() {
+    }
+
+    public static InputGenerator forDay(int day) {
+        return switch (day) {
+            case 1 -> new Day1Generator();
+            case 2 -> new Day2Generator();
+            case 3 -> new Day3Generator();
+            case 4 -> new Day4Generator();
+            case 5 -> new Day5Generator();
+            case 6 -> new Day6Generator();
+            case 7 -> new Day7Generator();
+            case 8 -> new Day8Generator();
+            case 9 -> new Day9Generator();
+            case 10 -> new Day10Generator();
+            case 11 -> new Day11Generator();
+            case 12 -> new Day12Generator();
+            case 13 -> new Day13Generator();
+            case 14 -> new Day14Generator();
+            case 15 -> new Day15Generator();
+            case 16 -> new Day16Generator();
+            default -> throw new IllegalArgumentException("No input generator for day " + day);
+        };
+    }
+
+    static int side(int cells) {
+        return Math.max(2, (int) Math.round(Math.sqrt(cells)));
+    }
+
+    static char pick(RandomGenerator random, String characters) {
+        return characters.charAt(random.nextInt(characters.length()));
+    }
+
+    static String word(RandomGenerator random, String characters, int minLength, int maxLength) {
+        var length = random.nextInt(minLength, maxLength + 1);
+        var word = new StringBuilder(length);
+
+        for (var i = 0; i < length; i++) {
+            word.append(pick(random, characters));
+        }
+
+        return word.toString();
+    }
+}
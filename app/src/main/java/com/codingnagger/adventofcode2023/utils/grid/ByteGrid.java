@@ -0,0 +1,256 @@
+package com.codingnagger.adventofcode2023.utils.grid;
+
+import com.codingnagger.adventofcode2023.utils.MappedInput;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A rectangular grid of ASCII cells stored row after row in a single array, so that scanning it walks memory in order.
+ * Cells are addressed either by coordinates or by their index in that array.
+ */
+public final class ByteGrid {
+    public static final int OUTSIDE = -1;
+
+    private final byte[] cells;
+    private final int width;
+    private final int height;
+
+    private ByteGrid(byte[] cells, int width, int height) {
+        // Index arithmetic divides by the width, so rows need at least one cell.
+        if (width == 0 && height > 0) {
+            throw new IllegalArgumentException("Cannot make a grid of " + height + " empty rows");
+        }
+
+        this.cells = cells;
+        this.width = width;
+        this.height = height;
+    }
+
+    public ByteGrid(int width, int height) {
+        this(new byte[Math.multiplyExact(width, height)], width, height);
+    }
+
+    public static ByteGrid of(int width, int height, byte[] cells) {
+        if (width < 0 || height < 0 || cells.length != (long) width * height) {
+            throw new IllegalArgumentException("Cannot make a " + width + "x" + height + " grid out of " + cells.length + " cells");
+        }
+
+        return new ByteGrid(cells.clone(), width, height);
+    }
+
+    public static ByteGrid parse(List<? extends CharSequence> lines) {
+        var width = lines.isEmpty() ? 0 : lines.getFirst().length();
+        var grid = new ByteGrid(width, lines.size());
+
+        for (var y = 0; y < lines.size(); y++) {
+            var line = lines.get(y);
+            checkWidth(line.length(), width, y);
+
+            var offset = y * width;
+            for (var x = 0; x < width; x++) {
+                grid.cells[offset + x] = (byte) line.charAt(x);
+            }
+        }
+
+        return grid;
+    }
+
+    public static ByteGrid parse(MappedInput input) {
+        var width = input.lineCount() == 0 ? 0 : input.line(0).length();
+        var grid = new ByteGrid(width, input.lineCount());
+
+        for (var y = 0; y < input.lineCount(); y++) {
+            var line = input.line(y);
+            checkWidth(line.length(), width, y);
+
+            line.copyTo(grid.cells, y * width);
+        }
+
+        return grid;
+    }
+
+    private static void checkWidth(int lineWidth, int width, int y) {
+        if (lineWidth != width) {
+            throw new IllegalArgumentException("Row " + y + " is " + lineWidth + " wide instead of " + width);
+        }
+    }
+
+    public int width() {
+        return width;
+    }
+
+    public int height() {
+        return height;
+    }
+
+    public int size() {
+        return cells.length;
+    }
+
+    public int index(int x, int y) {
+        return y * width + x;
+    }
+
+    public int x(int index) {
+        return index % width;
+    }
+
+    public int y(int index) {
+        return index / width;
+    }
+
+    public boolean contains(int x, int y) {
+        return x >= 0 && x < width && y >= 0 && y < height;
+    }
+
+    public byte get(int x, int y) {
+        return cells[index(x, y)];
+    }
+
+    public byte get(int index) {
+        return cells[index];
+    }
+
+    public void set(int x, int y, byte value) {
+        cells[index(x, y)] = value;
+    }
+
+    public void set(int index, byte value) {
+        cells[index] = value;
+    }
+
+    /**
+     * The index of the cell next to the given one in that direction, or {@link #OUTSIDE} past the edges.
+     */
+    public int neighbour(int index, Direction direction) {
+        var x = x(index) + direction.dx();
+        var y = y(index) + direction.dy();
+
+        return contains(x, y) ? index(x, y) : OUTSIDE;
+    }
+
+    public int indexOf(byte value) {
+        for (var i = 0; i < cells.length; i++) {
+            if (cells[i] == value) {
+                return i;
+            }
+        }
+
+        return OUTSIDE;
+    }
+
+    public int count(byte value) {
+        var count = 0;
+
+        for (var cell : cells) {
+            if (cell == value) {
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    public void replaceAll(byte from, byte to) {
+        for (var i = 0; i < cells.length; i++) {
+            if (cells[i] == from) {
+                cells[i] = to;
+            }
+        }
+    }
+
+    public boolean rowsEqual(int y1, int y2) {
+        return Arrays.equals(cells, y1 * width, (y1 + 1) * width, cells, y2 * width, (y2 + 1) * width);
+    }
+
+    public boolean columnsEqual(int x1, int x2) {
+        for (var offset = 0; offset < cells.length; offset += width) {
+            if (cells[offset + x1] != cells[offset + x2]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    public CharSequence row(int y) {
+        return new GridLine(y * width, 1, width);
+    }
+
+    public CharSequence column(int x) {
+        return new GridLine(x, width, height);
+    }
+
+    public byte[] toByteArray() {
+        return cells.clone();
+    }
+
+    public ByteGrid copy() {
+        return new ByteGrid(cells.clone(), width, height);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof ByteGrid other
+                && width == other.width
+                && height == other.height
+                && Arrays.equals(cells, other.cells);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * width + Arrays.hashCode(cells);
+    }
+
+    @Override
+    public String toString() {
+        var result = new StringBuilder(cells.length + height);
+
+        for (var y = 0; y < height; y++) {
+            result.append(row(y)).append('\n');
+        }
+
+        return result.toString();
+    }
+
+    private final class GridLine implements CharSequence {
+        private final int start;
+        private final int step;
+        private final int length;
+
+        private GridLine(int start, int step, int length) {
+            this.start = start;
+            this.step = step;
+            this.length = length;
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return (char) (cells[start + step * Objects.checkIndex(index, length)] & 0xFF);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            Objects.checkFromToIndex(start, end, length);
+            return new GridLine(this.start + step * start, step, end - start);
+        }
+
+        @Override
+        public String toString() {
+            var result = new StringBuilder(length);
+
+            for (var i = 0; i < length; i++) {
+                result.append(charAt(i));
+            }
+
+            return result.toString();
+        }
+    }
+}
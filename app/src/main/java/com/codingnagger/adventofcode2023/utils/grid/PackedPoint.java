@@ -0,0 +1,58 @@
+package com.codingnagger.adventofcode2023.utils.grid;
+
+/**
+ * Packs a point and a small tag, such as a direction, into one {@code long}, so searches can queue and remember
+ * millions of them without allocating. Coordinates are signed 28-bit values, enough for a step off any grid's edge,
+ * and the tag takes the top 8 bits.
+ */
+public final class PackedPoint {
+    public static final int MIN_COORDINATE = -(1 << 27);
+    public static final int MAX_COORDINATE = (1 << 27) - 1;
+    public static final int MAX_TAG = 0xFF;
+
+    private static final int COORDINATE_BITS = 28;
+    private static final long COORDINATE_MASK = (1L << COORDINATE_BITS) - 1;
+    private static final int TAG_SHIFT = 2 * COORDINATE_BITS;
+
+    private PackedPoint() {
+    }
+
+    public static long pack(int x, int y) {
+        return pack(x, y, 0);
+    }
+
+    public static long pack(int x, int y, int tag) {
+        if (x < MIN_COORDINATE || x > MAX_COORDINATE || y < MIN_COORDINATE || y > MAX_COORDINATE) {
+            throw new IllegalArgumentException("Point (" + x + ", " + y + ") does not fit in " + COORDINATE_BITS + " bits");
+        }
+
+        if (tag < 0 || tag > MAX_TAG) {
+            throw new IllegalArgumentException("Tag " + tag + " does not fit in 8 bits");
+        }
+
+        return (long) tag << TAG_SHIFT | (y & COORDINATE_MASK) << COORDINATE_BITS | x & COORDINATE_MASK;
+    }
+
+    public static int x(long point) {
+        return (int) (point << (Long.SIZE - COORDINATE_BITS) >> (Long.SIZE - COORDINATE_BITS));
+    }
+
+    public static int y(long point) {
+        return (int) (point << (Long.SIZE - TAG_SHIFT) >> (Long.SIZE - COORDINATE_BITS));
+    }
+
+    public static int tag(long point) {
+        return (int) (point >>> TAG_SHIFT);
+    }
+
+    public static long withTag(long point, int tag) {
+        return pack(x(point), y(point), tag);
+    }
+
+    /**
+     * The neighbouring point one step towards {@code direction}, keeping the tag.
+     */
+    public static long move(long point, Direction direction) {
+        return pack(x(point) + direction.dx(), y(point) + direction.dy(), tag(point));
+    }
+}
@@ -104,4 +104,11 @@ class Day12Test {
         assertThat(result.definition()).isEqualTo(expectedResult.definition());
         assertThat(result.damagedSpringCounts()).containsExactly(expectedResult.damagedSpringCounts());
     }
+
+    @Test
+    void partOne_streamed() {
+        String result = new Day12().partOne(INPUT.stream());
+
+        assertThat(result).isEqualTo("21");
+    }
 }
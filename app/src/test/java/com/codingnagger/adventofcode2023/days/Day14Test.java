@@ -4,8 +4,10 @@ import com.codingnagger.adventofcode2023.utils.InputLoader;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
+import java.util.concurrent.CancellationException;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class Day14Test {
     private static final List<String> INPUT = InputLoader.LoadTest("day14.txt");
@@ -25,13 +27,24 @@ class Day14Test {
         assertThat(result).isEqualTo("64");
     }
 
+    @Test
+    void partTwo_stopsOnceInterrupted() {
+        Thread.currentThread().interrupt();
+
+        try {
+            assertThatThrownBy(() -> DAY.partTwo(INPUT)).isInstanceOf(CancellationException.class);
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
     @Test
     void cycle() {
         var original = Day14.Platform.parse(INPUT);
 
         var firstCycle = original.cycle();
 
-        assertThat(firstCycle.spaces()).isDeepEqualTo(Day14.Platform.parse(List.of(
+        assertThat(firstCycle.spaces()).isEqualTo(Day14.Platform.parse(List.of(
                 ".....#....",
                 "....#...O#",
                 "...OO##...",
@@ -46,7 +59,7 @@ class Day14Test {
 
         var secondCycle = firstCycle.cycle();
 
-        assertThat(secondCycle.spaces()).isDeepEqualTo(Day14.Platform.parse(List.of(
+        assertThat(secondCycle.spaces()).isEqualTo(Day14.Platform.parse(List.of(
                 ".....#....",
                 "....#...O#",
                 ".....##...",
@@ -61,7 +74,7 @@ class Day14Test {
 
         var thirdCycle = secondCycle.cycle();
 
-        assertThat(thirdCycle.spaces()).isDeepEqualTo(Day14.Platform.parse(List.of(
+        assertThat(thirdCycle.spaces()).isEqualTo(Day14.Platform.parse(List.of(
                 ".....#....",
                 "....#...O#",
                 ".....##...",
@@ -4,8 +4,10 @@ import com.codingnagger.adventofcode2023.utils.InputLoader;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
+import java.util.concurrent.CancellationException;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class Day16Test {
     private static final List<String> INPUT = InputLoader.LoadTest("day16.txt");
@@ -24,4 +26,15 @@ class Day16Test {
 
         assertThat(result).isEqualTo("51");
     }
+
+    @Test
+    void partTwo_stopsOnceInterrupted() {
+        Thread.currentThread().interrupt();
+
+        try {
+            assertThatThrownBy(() -> DAY.partTwo(INPUT)).isInstanceOf(CancellationException.class);
+        } finally {
+            Thread.interrupted();
+        }
+    }
 }
@@ -45,4 +45,11 @@ class Day1Test {
 
         assertThat(result).isEqualTo("83");
     }
+
+    @Test
+    void partOne_streamed() {
+        String result = new Day1().partOne(INPUT.stream());
+
+        assertThat(result).isEqualTo("142");
+    }
 }
@@ -24,4 +24,18 @@ class Day2Test {
 
         assertThat(result).isEqualTo("2286");
     }
+
+    @Test
+    void partOne_streamed() {
+        String result = new Day2().partOne(INPUT.stream());
+
+        assertThat(result).isEqualTo("8");
+    }
+
+    @Test
+    void partTwo_streamed() {
+        String result = new Day2().partTwo(INPUT.stream());
+
+        assertThat(result).isEqualTo("2286");
+    }
 }
@@ -24,4 +24,18 @@ class Day4Test {
 
         assertThat(result).isEqualTo("30");
     }
+
+    @Test
+    void partOne_streamed() {
+        String result = new Day4().partOne(INPUT.stream());
+
+        assertThat(result).isEqualTo("13");
+    }
+
+    @Test
+    void partTwo_streamed() {
+        String result = new Day4().partTwo(INPUT.stream());
+
+        assertThat(result).isEqualTo("30");
+    }
 }
@@ -59,4 +59,11 @@ public class Day9Test {
 
         assertThat(result).isEqualTo(expected);
     }
+
+    @Test
+    void partOne_streamed() {
+        String result = new Day9().partOne(INPUT.stream());
+
+        assertThat(result).isEqualTo("114");
+    }
 }
@@ -0,0 +1,129 @@
+package com.codingnagger.adventofcode2023.days;
+
+import com.codingnagger.adventofcode2023.runner.DayRegistry;
+import com.codingnagger.adventofcode2023.runner.Part;
+import com.codingnagger.adventofcode2023.utils.InputLoader;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Hammers one instance of every day, and one shared model for prepared days, from many threads at once, and checks
+ * that every call gives the answer the day's own tests expect.
+ */
+class DayConcurrencyTest {
+    private static final DayRegistry REGISTRY = DayRegistry.load();
+    private static final int THREADS = 8;
+    private static final int CALLS_PER_THREAD = 5;
+
+    static Stream<Arguments> knownAnswers() {
+        return Stream.of(
+                Arguments.of(1, Part.ONE, load("day1.txt"), "142"),
+                Arguments.of(1, Part.TWO, List.of(
+                        "two1nine",
+                        "eightwothree",
+                        "abcone2threexyz",
+                        "xtwone3four",
+                        "4nineeightseven2",
+                        "zoneight234",
+                        "7pqrstsixteen"
+                ), "281"),
+                Arguments.of(2, Part.ONE, load("day2.txt"), "8"),
+                Arguments.of(2, Part.TWO, load("day2.txt"), "2286"),
+                Arguments.of(3, Part.ONE, load("day3.txt"), "4361"),
+                Arguments.of(3, Part.TWO, load("day3.txt"), "467835"),
+                Arguments.of(4, Part.ONE, load("day4.txt"), "13"),
+                Arguments.of(4, Part.TWO, load("day4.txt"), "30"),
+                Arguments.of(5, Part.ONE, load("day5.txt"), "35"),
+                Arguments.of(5, Part.TWO, load("day5.txt"), "46"),
+                Arguments.of(6, Part.ONE, load("day6.txt"), "288"),
+                Arguments.of(6, Part.TWO, load("day6.txt"), "71503"),
+                Arguments.of(7, Part.ONE, load("day7.txt"), "6440"),
+                Arguments.of(7, Part.TWO, load("day7.txt"), "5905"),
+                Arguments.of(8, Part.ONE, load("day8_with_loop.txt"), "6"),
+                Arguments.of(8, Part.TWO, load("day8_partTwo.txt"), "6"),
+                Arguments.of(9, Part.ONE, load("day9.txt"), "114"),
+                Arguments.of(9, Part.TWO, List.of("10 13 16 21 30 45"), "5"),
+                Arguments.of(10, Part.ONE, load("day10_complex.txt"), "8"),
+                Arguments.of(10, Part.TWO, load("day10_partTwo_mostComplex.txt"), "10"),
+                // Day 11 part two's million-fold expansion has no known answer in its tests, which only check 10 and 100.
+                Arguments.of(11, Part.ONE, load("day11.txt"), "374"),
+                // Day 12 part two brute-forces its unfolded rows, which takes minutes and gigabytes even alone.
+                Arguments.of(12, Part.ONE, load("day12.txt"), "21"),
+                // Day 13 part two does not give its tests' known answer yet.
+                Arguments.of(13, Part.ONE, load("day13.txt"), "405"),
+                Arguments.of(14, Part.ONE, load("day14.txt"), "136"),
+                Arguments.of(14, Part.TWO, load("day14.txt"), "64"),
+                Arguments.of(15, Part.ONE, load("day15.txt"), "1320"),
+                Arguments.of(15, Part.TWO, load("day15.txt"), "145"),
+                Arguments.of(16, Part.ONE, load("day16.txt"), "46"),
+                Arguments.of(16, Part.TWO, load("day16.txt"), "51")
+        );
+    }
+
+    @ParameterizedTest(name = "day {0} part {1}")
+    @MethodSource("knownAnswers")
+    void sharedDay_answersCorrectlyFromManyThreads(int dayNumber, Part part, List<String> input, String expected)
+            throws Exception {
+        var solve = solver(REGISTRY.get(dayNumber), part, input);
+        var start = new CountDownLatch(1);
+
+        try (var executor = Executors.newFixedThreadPool(THREADS)) {
+            var futures = new ArrayList<Future<List<String>>>();
+
+            for (var thread = 0; thread < THREADS; thread++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+
+                    var answers = new ArrayList<String>();
+                    for (var call = 0; call < CALLS_PER_THREAD; call++) {
+                        answers.add(solve.get());
+                    }
+
+                    return answers;
+                }));
+            }
+
+            start.countDown();
+
+            // A call that throws surfaces here as an ExecutionException and fails the test.
+            for (var future : futures) {
+                assertThat(future.get()).hasSize(CALLS_PER_THREAD).containsOnly(expected);
+            }
+        }
+    }
+
+    private static List<String> load(String fileName) {
+        return InputLoader.LoadTest(fileName);
+    }
+
+    private static Supplier<String> solver(Day day, Part part, List<String> input) {
+        if (day instanceof PreparedDay<?> preparedDay) {
+            return sharedModelSolver(preparedDay, part, input);
+        }
+
+        return () -> switch (part) {
+            case ONE -> day.partOne(input);
+            case TWO -> day.partTwo(input);
+        };
+    }
+
+    private static <T> Supplier<String> sharedModelSolver(PreparedDay<T> day, Part part, List<String> input) {
+        var model = day.prepare(input);
+
+        return () -> switch (part) {
+            case ONE -> day.partOne(model);
+            case TWO -> day.partTwo(model);
+        };
+    }
+}
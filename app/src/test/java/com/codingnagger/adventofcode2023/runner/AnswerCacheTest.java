@@ -0,0 +1,175 @@
+package com.codingnagger.adventofcode2023.runner;
+
+import com.codingnagger.adventofcode2023.days.Day16;
+import com.codingnagger.adventofcode2023.days.Day4;
+import com.codingnagger.adventofcode2023.utils.InputLoader;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AnswerCacheTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void key_dependsOnInputAndDay() throws IOException {
+        var cache = new AnswerCache(directory.resolve("cache"), 10);
+        var input = Files.writeString(directory.resolve("input.txt"), "abc");
+        var sameInput = Files.writeString(directory.resolve("copy.txt"), "abc");
+        var otherInput = Files.writeString(directory.resolve("other.txt"), "abd");
+
+        assertThat(cache.key(new Day16(), input)).isEqualTo(cache.key(new Day16(), sameInput));
+        assertThat(cache.key(new Day16(), input)).isNotEqualTo(cache.key(new Day16(), otherInput));
+        assertThat(cache.key(new Day16(), input)).isNotEqualTo(cache.key(new Day4(), input));
+    }
+
+    @Test
+    void key_changesWithTheSharedCodeDaysUse() throws IOException {
+        var input = Files.writeString(directory.resolve("input.txt"), "abc");
+        var original = copyOfTheCode("original");
+        var unchanged = copyOfTheCode("unchanged");
+        var changed = copyOfTheCode("changed");
+        var util = changed.resolve("com/codingnagger/adventofcode2023/utils/grid/ByteGrid.class");
+        Files.write(util, new byte[]{0}, StandardOpenOption.APPEND);
+
+        var key = new AnswerCache(directory.resolve("cache"), 10, original).key(new Day16(), input);
+
+        assertThat(new AnswerCache(directory.resolve("cache"), 10, unchanged).key(new Day16(), input)).isEqualTo(key);
+        assertThat(new AnswerCache(directory.resolve("cache"), 10, changed).key(new Day16(), input)).isNotEqualTo(key);
+    }
+
+    private Path copyOfTheCode(String name) throws IOException {
+        var root = Digests.codeRoot(Day16.class);
+        var copy = directory.resolve(name);
+
+        try (var files = Files.walk(root)) {
+            for (var file : (Iterable<Path>) files::iterator) {
+                var target = copy.resolve(root.relativize(file).toString());
+
+                if (Files.isDirectory(file)) {
+                    Files.createDirectories(target);
+                } else {
+                    Files.copy(file, target);
+                }
+            }
+        }
+
+        return copy;
+    }
+
+    @Test
+    void key_hashesDecompressedContent() throws IOException {
+        var cache = new AnswerCache(directory.resolve("cache"), 10);
+        var input = Files.writeString(directory.resolve("input.txt"), "abc");
+        var compressed = directory.resolve("input.txt.gz");
+
+        try (var out = new GZIPOutputStream(Files.newOutputStream(compressed))) {
+            out.write("abc".getBytes(StandardCharsets.UTF_8));
+        }
+
+        assertThat(cache.key(new Day16(), compressed)).isEqualTo(cache.key(new Day16(), input));
+        assertThat(cache.key(new Day16(), compressed)).isEqualTo(cache.key(new Day16(), "abc".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void getAndPut() throws IOException {
+        var cache = new AnswerCache(directory.resolve("cache"), 10);
+        var key = cache.key(new Day16(), Files.writeString(directory.resolve("input.txt"), "abc"));
+
+        assertThat(cache.get(key, Part.ONE)).isEmpty();
+
+        cache.put(key, Part.ONE, "46");
+
+        assertThat(cache.get(key, Part.ONE)).hasValue("46");
+        assertThat(cache.get(key, Part.TWO)).isEmpty();
+    }
+
+    @Test
+    void unusableEntries_areMissesAndLeaveNoTemporaryFiles() throws IOException {
+        var cacheDirectory = directory.resolve("cache");
+        var cache = new AnswerCache(cacheDirectory, 10);
+        var key = cache.key(new Day16(), Files.writeString(directory.resolve("input.txt"), "abc"));
+        // A directory where the entry should be can be neither read nor replaced.
+        Files.createDirectories(cacheDirectory.resolve(key.hash() + "-part1.answer").resolve("blocking"));
+
+        cache.put(key, Part.ONE, "46");
+
+        assertThat(cache.get(key, Part.ONE)).isEmpty();
+        try (var files = Files.list(cacheDirectory)) {
+            assertThat(files).noneMatch(file -> file.getFileName().toString().endsWith(".tmp"));
+        }
+    }
+
+    @Test
+    void unusableDirectory_leavesAnswersUncached() throws IOException {
+        var cache = new AnswerCache(Files.writeString(directory.resolve("cache"), "not a directory"), 10);
+        var key = cache.key(new Day16(), Files.writeString(directory.resolve("input.txt"), "abc"));
+
+        cache.put(key, Part.ONE, "46");
+
+        assertThat(cache.get(key, Part.ONE)).isEmpty();
+    }
+
+    @Test
+    void put_evictsLeastRecentlyUsed() throws IOException {
+        var cacheDirectory = directory.resolve("cache");
+        var cache = new AnswerCache(cacheDirectory, 2);
+        var first = cache.key(new Day16(), Files.writeString(directory.resolve("first.txt"), "1"));
+        var second = cache.key(new Day16(), Files.writeString(directory.resolve("second.txt"), "2"));
+        var third = cache.key(new Day16(), Files.writeString(directory.resolve("third.txt"), "3"));
+
+        cache.put(first, Part.ONE, "1");
+        cache.put(second, Part.ONE, "2");
+        age(cacheDirectory, 60);
+        cache.get(first, Part.ONE);
+        cache.put(third, Part.ONE, "3");
+
+        assertThat(cache.get(first, Part.ONE)).hasValue("1");
+        assertThat(cache.get(second, Part.ONE)).isEmpty();
+        assertThat(cache.get(third, Part.ONE)).hasValue("3");
+    }
+
+    @Test
+    void runner_reusesCachedAnswers() {
+        var cache = new AnswerCache(directory.resolve("cache"), 10);
+        var runner = new DayRunner(DayRegistry.load(), cache, null);
+        var input = InputLoader.TestResourcePath("day16.txt");
+
+        var first = runner.run(16, input, List.of(Part.ONE));
+        var second = runner.run(16, input, List.of(Part.ONE, Part.TWO));
+        var third = runner.run(16, input, List.of(Part.TWO, Part.ONE));
+
+        assertThat(first.parts()).extracting(PartResult::cached).containsExactly(false);
+        assertThat(second.parts()).extracting(PartResult::cached).containsExactly(true, false);
+        assertThat(second.parts()).extracting(PartResult::answer).containsExactly("46", "51");
+        assertThat(second.potentialPreparation()).isPresent();
+        assertThat(third.parts()).extracting(PartResult::answer).containsExactly("51", "46");
+        assertThat(third.parts()).extracting(PartResult::cached).containsExactly(true, true);
+        assertThat(third.potentialPreparation()).isEmpty();
+    }
+
+    @Test
+    void invalidSize_throws() {
+        assertThatThrownBy(() -> new AnswerCache(directory, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void age(Path cacheDirectory, long seconds) throws IOException {
+        try (var files = Files.list(cacheDirectory)) {
+            for (var file : files.toList()) {
+                var lastModified = Files.getLastModifiedTime(file).toInstant();
+                Files.setLastModifiedTime(file, FileTime.from(lastModified.minusSeconds(seconds)));
+            }
+        }
+    }
+}
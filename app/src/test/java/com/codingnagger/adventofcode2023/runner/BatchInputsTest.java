@@ -0,0 +1,46 @@
+package com.codingnagger.adventofcode2023.runner;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BatchInputsTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void resolve_directory_listsItsFiles() throws IOException {
+        var second = Files.writeString(directory.resolve("b.txt"), "2");
+        var first = Files.writeString(directory.resolve("a.txt"), "1");
+        Files.createDirectories(directory.resolve("nested"));
+        Files.writeString(directory.resolve("nested/c.txt"), "3");
+
+        assertThat(BatchInputs.resolve(directory.toString())).containsExactly(first, second);
+    }
+
+    @Test
+    void resolve_glob_matchesFiles() throws IOException {
+        Files.createDirectories(directory.resolve("day5/variants"));
+        var matching = Files.writeString(directory.resolve("day5/one.txt"), "1");
+        var nested = Files.writeString(directory.resolve("day5/variants/two.txt"), "2");
+        Files.writeString(directory.resolve("day5/notes.md"), "3");
+
+        assertThat(BatchInputs.resolve(directory + "/day5/*.txt")).containsExactly(matching);
+        assertThat(BatchInputs.resolve(directory + "/day5/**.txt")).containsExactly(matching, nested);
+    }
+
+    @Test
+    void resolve_singleFile() throws IOException {
+        var file = Files.writeString(directory.resolve("input.txt"), "1");
+
+        assertThat(BatchInputs.resolve(file.toString())).containsExactly(file);
+        assertThatThrownBy(() -> BatchInputs.resolve(directory.resolve("missing.txt").toString()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,47 @@
+package com.codingnagger.adventofcode2023.runner;
+
+import com.codingnagger.adventofcode2023.days.Day1;
+import com.codingnagger.adventofcode2023.days.Day16;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DayRegistryTest {
+    private static final DayRegistry REGISTRY = DayRegistry.load();
+
+    @Test
+    void load_registersEveryDay() {
+        assertThat(REGISTRY.dayNumbers()).containsExactlyElementsOf(IntStream.rangeClosed(1, 16).boxed().toList());
+    }
+
+    @Test
+    void get() {
+        assertThat(REGISTRY.get(1)).isInstanceOf(Day1.class);
+        assertThat(REGISTRY.get(16)).isInstanceOf(Day16.class);
+    }
+
+    @Test
+    void get_unknownDay() {
+        assertThatThrownBy(() -> REGISTRY.get(26)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void latestDayNumber() {
+        assertThat(REGISTRY.latestDayNumber()).isEqualTo(16);
+    }
+
+    @Test
+    void dayNumber() {
+        assertThat(DayRegistry.dayNumber(Day16.class)).isEqualTo(16);
+    }
+
+    @Test
+    void duplicateDay() {
+        assertThatThrownBy(() -> new DayRegistry(List.of(new Day1(), new Day1())))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
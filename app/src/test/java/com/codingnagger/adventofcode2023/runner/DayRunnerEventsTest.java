@@ -0,0 +1,52 @@
+package com.codingnagger.adventofcode2023.runner;
+
+import com.codingnagger.adventofcode2023.utils.InputLoader;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DayRunnerEventsTest {
+    private static final DayRunner RUNNER = new DayRunner(DayRegistry.load());
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void run_emitsParseAndSolveEvents() throws IOException {
+        var file = directory.resolve("run.jfr");
+
+        try (var recording = new Recording()) {
+            recording.enable(DayParseEvent.class);
+            recording.enable(DaySolveEvent.class);
+            recording.start();
+
+            RUNNER.run(16, InputLoader.TestResourcePath("day16.txt"), List.of(Part.ONE, Part.TWO));
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        var events = RecordingFile.readAllEvents(file);
+
+        assertThat(events)
+                .filteredOn(event -> event.getEventType().getName().equals("com.codingnagger.adventofcode2023.DayParse"))
+                .singleElement()
+                .satisfies(event -> {
+                    assertThat(event.getInt("day")).isEqualTo(16);
+                    assertThat(event.getLong("inputLines")).isEqualTo(10);
+                    assertThat(event.getLong("inputBytes")).isPositive();
+                });
+        assertThat(events)
+                .filteredOn(event -> event.getEventType().getName().equals("com.codingnagger.adventofcode2023.DaySolve"))
+                .extracting((RecordedEvent event) -> event.getInt("part"))
+                .containsExactly(1, 2);
+    }
+}
@@ -0,0 +1,322 @@
+package com.codingnagger.adventofcode2023.runner;
+
+import com.codingnagger.adventofcode2023.days.Day;
+import com.codingnagger.adventofcode2023.days.PreparedDay;
+import com.codingnagger.adventofcode2023.utils.Cancellation;
+import com.codingnagger.adventofcode2023.utils.InputLoader;
+import com.codingnagger.adventofcode2023.utils.LineShards;
+import com.codingnagger.adventofcode2023.utils.SolveContext;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+class DayRunnerTest {
+    private static final DayRunner RUNNER = new DayRunner(DayRegistry.load());
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void run() {
+        var result = RUNNER.run(1, InputLoader.LoadTest("day1.txt"), List.of(Part.ONE));
+
+        assertThat(result.day()).isEqualTo(1);
+        assertThat(result.potentialFailure()).isEmpty();
+        assertThat(result.potentialPreparation()).isEmpty();
+        assertThat(result.parts()).extracting(PartResult::answer).containsExactly("142");
+    }
+
+    @Test
+    void run_recordsPhaseMetrics() {
+        var result = RUNNER.run(5, InputLoader.LoadTest("day5.txt"), List.of(Part.ONE, Part.TWO));
+
+        assertThat(result.potentialPreparation()).hasValueSatisfying(DayRunnerTest::assertMeasured);
+        assertThat(result.parts()).extracting(PartResult::metrics).allSatisfy(DayRunnerTest::assertMeasured);
+    }
+
+    private static void assertMeasured(PhaseMetrics metrics) {
+        assertThat(metrics.wallNanos()).isPositive();
+        assertThat(metrics.cpuNanos()).isNotNegative();
+        assertThat(metrics.allocatedBytes()).isPositive();
+    }
+
+    @Test
+    void runBatch() throws IOException {
+        var valid = InputLoader.TestResourcePath("day16.txt");
+        var broken = Files.writeString(directory.resolve("broken.txt"), "..?\n...\n");
+
+        var result = RUNNER.runBatch(16, List.of(valid, broken, valid), List.of(Part.ONE, Part.TWO));
+
+        assertThat(result.inputs()).extracting(BatchResult.InputResult::input).containsExactly(valid, broken, valid);
+        assertThat(result.inputs().get(0).result().parts()).extracting(PartResult::answer).containsExactly("46", "51");
+        assertThat(result.inputs().get(1).result().potentialFailure()).isPresent();
+        assertThat(result.failureCount()).isEqualTo(1);
+        assertThat(result.totalBytes()).isEqualTo(2 * Files.size(valid) + Files.size(broken));
+        assertThat(result.inputsPerSecond()).isPositive();
+        assertThat(result.megabytesPerSecond()).isPositive();
+    }
+
+    @Test
+    void runRepeatedly() {
+        var result = RUNNER.runRepeatedly(16, InputLoader.TestResourcePath("day16.txt"), List.of(Part.ONE, Part.TWO), 2, 5);
+
+        assertThat(result.latencies()).containsOnlyKeys("parse", "partOne", "partTwo");
+        assertThat(result.latencies().sequencedKeySet()).containsExactly("parse", "partOne", "partTwo");
+        assertThat(result.latencies().values()).allSatisfy(latencies -> {
+            assertThat(latencies.totalCount()).isEqualTo(5);
+            assertThat(latencies.valueAtPercentile(50)).isBetween(latencies.min(), latencies.max());
+        });
+    }
+
+    @Test
+    void run_preparedDay_preparesOnce() {
+        var day = new Day42();
+        var runner = new DayRunner(new DayRegistry(List.of(day)));
+
+        var result = runner.run(42, List.of("a", "bc"), List.of(Part.ONE, Part.TWO));
+
+        assertThat(day.preparations).hasValue(1);
+        assertThat(result.potentialPreparation()).isPresent();
+        assertThat(result.parts()).extracting(PartResult::answer).containsExactly("2", "3");
+    }
+
+    @Test
+    void run_fromFile() {
+        var result = RUNNER.run(16, InputLoader.TestResourcePath("day16.txt"), List.of(Part.ONE, Part.TWO));
+
+        assertThat(result.potentialPreparation()).isPresent();
+        assertThat(result.parts()).extracting(PartResult::answer).containsExactly("46", "51");
+    }
+
+    @Test
+    void run_streamingDayFromFile() {
+        var result = RUNNER.run(4, InputLoader.TestResourcePath("day4.txt"), List.of(Part.ONE, Part.TWO));
+
+        assertThat(result.parts()).extracting(PartResult::answer).containsExactly("13", "30");
+    }
+
+    @Test
+    void runAll() {
+        var results = RUNNER.runAll(
+                dayNumber -> InputLoader.TestResourcePath(DayRunner.defaultInputFilename(dayNumber)),
+                List.of(Part.ONE)
+        );
+
+        assertThat(results).extracting(DayResult::day).containsExactlyElementsOf(DayRegistry.load().dayNumbers());
+        assertThat(results.get(0).parts()).extracting(PartResult::answer).containsExactly("142");
+        assertThat(results.get(15).parts()).extracting(PartResult::answer).containsExactly("46");
+        assertThat(results.get(15).parts().get(0).metrics().hasAllocatedBytes()).isTrue();
+        assertThat(results.get(7).potentialFailure()).isPresent();
+    }
+
+    @Test
+    @Timeout(10)
+    void run_solvesPartsConcurrently() {
+        var runner = new DayRunner(new DayRegistry(List.of(new Day43())));
+
+        var result = runner.run(43, List.of("input"), List.of(Part.ONE, Part.TWO));
+
+        assertThat(result.parts()).extracting(PartResult::answer).containsExactly("met", "met");
+    }
+
+    @Test
+    @Timeout(10)
+    void withDeadline_cancelsPartsStillRunning() {
+        var day = new Day44();
+        var runner = new DayRunner(new DayRegistry(List.of(day))).withDeadline(Duration.ofMillis(200));
+
+        assertThatThrownBy(() -> runner.run(44, List.of(), List.of(Part.ONE, Part.TWO)))
+                .isInstanceOf(CancellationException.class)
+                .hasMessageContaining("Day 44");
+        assertThat(day.cancelled).isTrue();
+        assertThatThrownBy(() -> runner.withDeadline(Duration.ZERO)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @Timeout(10)
+    void run_cancelsOtherPartsWhenOneFails() {
+        var day = new Day44();
+        var runner = new DayRunner(new DayRegistry(List.of(day)));
+
+        assertThatThrownBy(() -> runner.run(44, List.of("broken"), List.of(Part.ONE, Part.TWO)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("broken");
+        assertThat(day.cancelled).isTrue();
+    }
+
+    @Test
+    void run_reportsCountersFromPartsAndTheirShards() {
+        var pool = new ForkJoinPool(2);
+
+        try {
+            var runner = new DayRunner(new DayRegistry(List.of(new Day45()))).withPool(pool);
+            var input = IntStream.range(0, 5000).mapToObj(String::valueOf).toList();
+
+            var result = runner.run(45, input, List.of(Part.ONE, Part.TWO));
+
+            assertThat(result.parts()).extracting(PartResult::answer).containsExactly("5000", "2");
+            assertThat(result.counters()).containsExactly(entry("lines", 5000L), entry("parts", 2L));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void withMemoryBudget_failsSolvesNeedingMore() {
+        var runner = new DayRunner(new DayRegistry(List.of(new Day45()))).withMemoryBudget(1024);
+
+        assertThatThrownBy(() -> runner.run(45, List.of("2048"), List.of(Part.ONE)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("memory budget");
+        assertThatThrownBy(() -> runner.withMemoryBudget(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void withCalibration_givesEachDayItsSequentialLineLimit() {
+        var day = new Day46();
+        var calibration = new EngineCalibration(Map.of(EngineCalibration.key(day), 4096));
+        var runner = new DayRunner(new DayRegistry(List.of(day)));
+
+        assertThat(runner.withCalibration(calibration).run(46, List.of(), List.of(Part.ONE)).parts())
+                .extracting(PartResult::answer)
+                .containsExactly("4096");
+        assertThat(runner.run(46, List.of(), List.of(Part.ONE)).parts())
+                .extracting(PartResult::answer)
+                .containsExactly(String.valueOf(new SolveContext(ForkJoinPool.commonPool(), 1).sequentialLineLimit()));
+    }
+
+    static class Day42 implements PreparedDay<String[]> {
+        final AtomicInteger preparations = new AtomicInteger();
+
+        @Override
+        public String[] prepare(List<String> input) {
+            preparations.incrementAndGet();
+            return input.toArray(String[]::new);
+        }
+
+        @Override
+        public String partOne(String[] model) {
+            return String.valueOf(model.length);
+        }
+
+        @Override
+        public String partTwo(String[] model) {
+            return String.valueOf(Arrays.stream(model).mapToInt(String::length).sum());
+        }
+    }
+
+    static class Day43 implements Day {
+        private final CyclicBarrier bothParts = new CyclicBarrier(2);
+
+        @Override
+        public String partOne(List<String> input) {
+            return meet();
+        }
+
+        @Override
+        public String partTwo(List<String> input) {
+            return meet();
+        }
+
+        // Only returns if the other part runs at the same time.
+        private String meet() {
+            try {
+                bothParts.await(5, TimeUnit.SECONDS);
+                return "met";
+            } catch (InterruptedException | BrokenBarrierException | TimeoutException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    static class Day44 implements Day {
+        final CountDownLatch partTwoStarted = new CountDownLatch(1);
+        volatile boolean cancelled;
+
+        @Override
+        public String partOne(List<String> input) {
+            if (input.contains("broken")) {
+                // Failing before part two even starts would leave nothing to cancel.
+                try {
+                    partTwoStarted.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+
+                throw new IllegalArgumentException("broken");
+            }
+
+            return "quick";
+        }
+
+        @Override
+        public String partTwo(List<String> input) {
+            partTwoStarted.countDown();
+
+            try {
+                while (true) {
+                    Cancellation.checkpoint();
+                    Thread.onSpinWait();
+                }
+            } catch (CancellationException e) {
+                cancelled = true;
+                throw e;
+            }
+        }
+    }
+
+    static class Day45 implements Day {
+        @Override
+        public String partOne(List<String> input) {
+            var context = SolveContext.current();
+            context.counter("parts").increment();
+
+            return String.valueOf(LineShards.sum(input, line -> {
+                SolveContext.current().requireMemory(Long.parseLong(line), "Line " + line);
+                SolveContext.current().counter("lines").increment();
+                return 1;
+            }));
+        }
+
+        @Override
+        public String partTwo(List<String> input) {
+            var context = SolveContext.current();
+            context.counter("parts").increment();
+
+            return String.valueOf(context.pool().getParallelism());
+        }
+    }
+
+    static class Day46 implements Day {
+        @Override
+        public String partOne(List<String> input) {
+            return String.valueOf(SolveContext.current().sequentialLineLimit());
+        }
+
+        @Override
+        public String partTwo(List<String> input) {
+            return partOne(input);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.codingnagger.adventofcode2023.runner;
+
+import com.codingnagger.adventofcode2023.days.Day1;
+import com.codingnagger.adventofcode2023.days.Day16;
+import com.codingnagger.adventofcode2023.days.Day2;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EngineCalibrationTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void save_thenLoad_keepsEveryLimit() {
+        var file = directory.resolve("calibration").resolve("calibration.properties");
+
+        new EngineCalibration(Map.of(
+                EngineCalibration.key(new Day1()), 4096,
+                EngineCalibration.key(new Day2()), EngineCalibration.ALWAYS_SEQUENTIAL
+        )).save(file);
+
+        var loaded = EngineCalibration.load(file);
+
+        assertThat(loaded.sequentialLineLimit(new Day1())).hasValue(4096);
+        assertThat(loaded.sequentialLineLimit(new Day2())).hasValue(EngineCalibration.ALWAYS_SEQUENTIAL);
+        assertThat(loaded.sequentialLineLimit(new Day16())).isEmpty();
+    }
+
+    @Test
+    void load_withoutFile_isUncalibrated() {
+        assertThat(EngineCalibration.load(directory.resolve("missing.properties")).sequentialLineLimit(new Day1())).isEmpty();
+    }
+
+    @Test
+    void load_withUnreadableFile_isUncalibrated() throws IOException {
+        var unreadable = Files.createDirectory(directory.resolve("calibration.properties"));
+        var garbled = Files.writeString(directory.resolve("garbled.properties"), "processors=\\u12\n");
+
+        assertThat(EngineCalibration.load(unreadable).sequentialLineLimit(new Day1())).isEmpty();
+        assertThat(EngineCalibration.load(garbled).sequentialLineLimit(new Day1())).isEmpty();
+    }
+
+    @Test
+    void load_ignoresAnotherMachinesCalibration() throws IOException {
+        var file = directory.resolve("calibration.properties");
+        Files.writeString(file, "processors=" + (Runtime.getRuntime().availableProcessors() + 1) + "\n"
+                + EngineCalibration.key(new Day1()) + "=4096\n");
+
+        assertThat(EngineCalibration.load(file).sequentialLineLimit(new Day1())).isEmpty();
+    }
+
+    @Test
+    void load_ignoresLimitsOfChangedCode() throws IOException {
+        var file = directory.resolve("calibration.properties");
+        Files.writeString(file, "processors=" + Runtime.getRuntime().availableProcessors() + "\n"
+                + Day1.class.getName() + "@stale=4096\n");
+
+        assertThat(EngineCalibration.load(file).sequentialLineLimit(new Day1())).isEmpty();
+    }
+
+    @Test
+    void calibrate_measuresLineShardedDaysOnly() {
+        var registry = new DayRegistry(List.of(new Day1(), new Day16()));
+        var pool = new ForkJoinPool(2);
+
+        try {
+            var calibration = EngineCalibration.calibrate(registry, pool, 256);
+
+            assertThat(calibration.sequentialLineLimit(new Day1()).orElseThrow()).isPositive();
+            assertThat(calibration.sequentialLineLimit(new Day16())).isEmpty();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void calibrate_keepsSingleWorkerPoolsSequential() {
+        var pool = new ForkJoinPool(1);
+
+        try {
+            var calibration = EngineCalibration.calibrate(new DayRegistry(List.of(new Day1())), pool, 256);
+
+            assertThat(calibration.sequentialLineLimit(new Day1())).hasValue(EngineCalibration.ALWAYS_SEQUENTIAL);
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.codingnagger.adventofcode2023.runner;
+
+import com.codingnagger.adventofcode2023.days.Day16;
+import com.codingnagger.adventofcode2023.days.Day5;
+import com.codingnagger.adventofcode2023.utils.InputLoader;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ModelCacheTest {
+    private static final ModelCache.Key FIRST = ModelCache.key(new Day16(), List.of("first"));
+    private static final ModelCache.Key SECOND = ModelCache.key(new Day16(), List.of("second"));
+    private static final ModelCache.Key THIRD = ModelCache.key(new Day16(), List.of("third"));
+
+    @Test
+    void key_dependsOnDayAndInputContent() {
+        assertThat(ModelCache.key(new Day16(), List.of("first"))).isEqualTo(FIRST);
+        assertThat(ModelCache.key(new Day5(), List.of("first"))).isNotEqualTo(FIRST);
+        assertThat(ModelCache.key(new Day16(), List.of("first", ""))).isNotEqualTo(FIRST);
+    }
+
+    @Test
+    void put_evictsLeastRecentlyUsedOverBudget() {
+        var cache = new ModelCache(100);
+
+        cache.put(FIRST, "first", 40);
+        cache.put(SECOND, "second", 40);
+        cache.get(FIRST);
+        cache.put(THIRD, "third", 40);
+
+        assertThat(cache.get(FIRST)).hasValue("first");
+        assertThat(cache.get(SECOND)).isEmpty();
+        assertThat(cache.get(THIRD)).hasValue("third");
+        assertThat(cache.weight()).isEqualTo(80);
+    }
+
+    @Test
+    void put_replacesAndSkipsOversizedModels() {
+        var cache = new ModelCache(100);
+
+        cache.put(FIRST, "first", 40);
+        cache.put(FIRST, "first again", 60);
+        cache.put(SECOND, "too big", 101);
+
+        assertThat(cache.get(FIRST)).hasValue("first again");
+        assertThat(cache.get(SECOND)).isEmpty();
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(cache.weight()).isEqualTo(60);
+    }
+
+    @Test
+    void runner_preparesEachInputOnce() {
+        var day = new DayRunnerTest.Day42();
+        var cache = new ModelCache(1L << 30);
+        var runner = new DayRunner(new DayRegistry(List.of(day)), null, cache);
+
+        var first = runner.run(42, List.of("a", "bc"), List.of(Part.ONE));
+        var second = runner.run(42, List.of("a", "bc"), List.of(Part.TWO));
+        runner.run(42, List.of("d"), List.of(Part.ONE));
+
+        assertThat(first.potentialPreparation()).isPresent();
+        assertThat(second.potentialPreparation()).isEmpty();
+        assertThat(second.parts()).extracting(PartResult::answer).containsExactly("3");
+        assertThat(day.preparations).hasValue(2);
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    void runner_sharesModelsBetweenFileAndLineInputs() {
+        var cache = new ModelCache(1L << 30);
+        var runner = new DayRunner(DayRegistry.load(), null, cache);
+
+        runner.run(16, InputLoader.TestResourcePath("day16.txt"), List.of(Part.ONE));
+        var fromLines = runner.run(16, InputLoader.LoadTest("day16.txt"), List.of(Part.TWO));
+
+        assertThat(fromLines.potentialPreparation()).isEmpty();
+        assertThat(fromLines.parts()).extracting(PartResult::answer).containsExactly("51");
+    }
+
+    @Test
+    void invalidBudget_throws() {
+        assertThatThrownBy(() -> new ModelCache(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
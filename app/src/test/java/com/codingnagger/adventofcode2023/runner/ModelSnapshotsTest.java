@@ -0,0 +1,125 @@
+package com.codingnagger.adventofcode2023.runner;
+
+import com.codingnagger.adventofcode2023.days.Day16;
+import com.codingnagger.adventofcode2023.days.Day5;
+import com.codingnagger.adventofcode2023.days.Day8;
+import com.codingnagger.adventofcode2023.days.SnapshotDay;
+import com.codingnagger.adventofcode2023.utils.InputLoader;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ModelSnapshotsTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void readSnapshot_solvesLikeTheParsedModel() throws IOException {
+        assertRoundTrip(new Day5(), "day5.txt");
+        assertRoundTrip(new Day8(), "day8_partTwo.txt");
+        assertRoundTrip(new Day16(), "day16.txt");
+    }
+
+    @Test
+    void read_missesWithoutSnapshot() throws IOException {
+        var input = copy("day16.txt");
+
+        assertThat(snapshots().read(new Day16(), input)).isEmpty();
+    }
+
+    @Test
+    void read_missesOnceInputChanges() throws IOException {
+        var snapshots = snapshots();
+        var day = new Day16();
+        var input = copy("day16.txt");
+
+        snapshots.write(day, input, day.prepare(InputLoader.Load(input)));
+        Files.writeString(input, ".|\n-.\n");
+
+        assertThat(snapshots.read(day, input)).isEmpty();
+    }
+
+    @Test
+    void read_missesOnceInputContentChangesWithSameSizeAndModificationTime() throws IOException {
+        var snapshots = snapshots();
+        var day = new Day16();
+        var input = Files.writeString(directory.resolve("day16.txt"), ".|\n-.\n");
+        var modified = Files.getLastModifiedTime(input);
+
+        snapshots.write(day, input, day.prepare(InputLoader.Load(input)));
+        Files.writeString(input, "|.\n.-\n");
+        Files.setLastModifiedTime(input, modified);
+
+        assertThat(snapshots.read(day, input)).isEmpty();
+    }
+
+    @Test
+    void read_missesOnCorruptSnapshot() throws IOException {
+        var snapshots = snapshots();
+        var day = new Day16();
+        var input = copy("day16.txt");
+
+        snapshots.write(day, input, day.prepare(InputLoader.Load(input)));
+        var snapshot = snapshots.snapshotPath(input);
+        var content = Files.readAllBytes(snapshot);
+        Files.write(snapshot, Arrays.copyOf(content, content.length - 3));
+
+        assertThat(snapshots.read(day, input)).isEmpty();
+    }
+
+    @Test
+    void readSnapshot_rejectsCountsPastTheEnd() {
+        var hugeCount = ByteBuffer.allocate(3 * Integer.BYTES).putInt(Integer.MAX_VALUE).putInt(Integer.MAX_VALUE).putInt(7).flip();
+
+        assertThatThrownBy(() -> new Day5().readSnapshot(hugeCount.duplicate())).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new Day8().readSnapshot(hugeCount.duplicate())).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new Day16().readSnapshot(hugeCount.duplicate())).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void run_writesSnapshotAndAnswersFromIt() throws IOException {
+        var snapshots = snapshots();
+        var runner = new DayRunner(DayRegistry.load(), null, null, snapshots);
+        var input = copy("day16.txt");
+
+        var parsed = runner.run(16, input, List.of(Part.ONE, Part.TWO));
+        assertThat(snapshots.snapshotPath(input)).exists().hasParent(directory.resolve("snapshots"));
+        assertThat(directory.resolve("day16.txt" + ModelSnapshots.SUFFIX)).doesNotExist();
+
+        var loaded = runner.run(16, input, List.of(Part.ONE, Part.TWO));
+
+        assertThat(Stream.of(parsed, loaded))
+                .allSatisfy(result -> assertThat(result.parts()).extracting(PartResult::answer).containsExactly("46", "51"));
+    }
+
+    private <T> void assertRoundTrip(SnapshotDay<T> day, String filename) throws IOException {
+        var snapshots = snapshots();
+        var input = copy(filename);
+        var lines = InputLoader.Load(input);
+
+        snapshots.write(day, input, day.prepare(lines));
+
+        var model = snapshots.read(day, input).orElseThrow();
+
+        assertThat(day.partOne(model)).isEqualTo(day.partOne(lines));
+        assertThat(day.partTwo(model)).isEqualTo(day.partTwo(lines));
+    }
+
+    private ModelSnapshots snapshots() {
+        return new ModelSnapshots(directory.resolve("snapshots"));
+    }
+
+    private Path copy(String filename) throws IOException {
+        return Files.copy(InputLoader.TestResourcePath(filename), directory.resolve(filename));
+    }
+}
@@ -0,0 +1,58 @@
+package com.codingnagger.adventofcode2023.runner;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReportFormatTest {
+    private static final List<DayResult> RESULTS = List.of(
+            DayResult.succeeded(5, new PhaseMetrics(10, 8, 1024), List.of(
+                    new PartResult(Part.ONE, "35", new PhaseMetrics(20, 15, 2048)),
+                    new PartResult(Part.TWO, "46", new PhaseMetrics(30, PhaseMetrics.UNAVAILABLE, 4096), true)
+            ), Map.of("seeds", 20L, "rangeSplits", 7L)),
+            DayResult.failed(8, new IllegalStateException("no \"ZZZ\", node"))
+    );
+
+    @Test
+    void csv() {
+        assertThat(ReportFormat.CSV.render(RESULTS)).isEqualTo("""
+                day,phase,answer,cached,wall_nanos,cpu_nanos,allocated_bytes,failure
+                5,parse,,false,10,8,1024,
+                5,partOne,35,false,20,15,2048,
+                5,partTwo,46,true,30,-1,4096,
+                8,,,,,,,"java.lang.IllegalStateException: no ""ZZZ"", node"
+                """);
+    }
+
+    @Test
+    void json() {
+        assertThat(ReportFormat.JSON.render(RESULTS)).isEqualTo("""
+                [
+                  {
+                    "day": 5,
+                    "failure": null,
+                    "phases": [
+                      {"phase": "parse", "answer": null, "cached": false, "wallNanos": 10, "cpuNanos": 8, "allocatedBytes": 1024},
+                      {"phase": "partOne", "answer": "35", "cached": false, "wallNanos": 20, "cpuNanos": 15, "allocatedBytes": 2048},
+                      {"phase": "partTwo", "answer": "46", "cached": true, "wallNanos": 30, "cpuNanos": -1, "allocatedBytes": 4096}
+                    ],
+                    "counters": {"rangeSplits": 7, "seeds": 20}
+                  },
+                  {
+                    "day": 8,
+                    "failure": "java.lang.IllegalStateException: no \\"ZZZ\\", node",
+                    "phases": [],
+                    "counters": {}
+                  }
+                ]
+                """);
+    }
+
+    @Test
+    void of_ignoresCase() {
+        assertThat(ReportFormat.of("json")).isEqualTo(ReportFormat.JSON);
+    }
+}
@@ -0,0 +1,133 @@
+package com.codingnagger.adventofcode2023.runner;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RunOptionsTest {
+    @Test
+    void parse_defaults() {
+        var options = RunOptions.parse();
+
+        assertThat(options.day()).isEmpty();
+        assertThat(options.parts()).containsExactly(Part.ONE, Part.TWO);
+        assertThat(options.input()).isEmpty();
+        assertThat(options.all()).isFalse();
+        assertThat(options.cache()).isTrue();
+        assertThat(RunOptions.parse("--no-cache").cache()).isFalse();
+    }
+
+    @Test
+    void parse_singleDay() {
+        var options = RunOptions.parse("--day", "7", "--part", "2", "--input", "inputs/day7.txt");
+
+        assertThat(options.day()).hasValue(7);
+        assertThat(options.parts()).containsExactly(Part.TWO);
+        assertThat(options.input()).hasValue(Path.of("inputs/day7.txt"));
+    }
+
+    @Test
+    void parse_all() {
+        var options = RunOptions.parse("--all", "--part", "1");
+
+        assertThat(options.all()).isTrue();
+        assertThat(options.parts()).isEqualTo(List.of(Part.ONE));
+    }
+
+    @Test
+    void parse_report() {
+        var options = RunOptions.parse("--all", "--report", "CSV", "--report-file", "build/metrics.csv");
+
+        assertThat(options.report()).hasValue(ReportFormat.CSV);
+        assertThat(options.reportFile()).hasValue(Path.of("build/metrics.csv"));
+    }
+
+    @Test
+    void parse_jfr() {
+        assertThat(RunOptions.parse().jfrFile()).isEmpty();
+        assertThat(RunOptions.parse("--jfr").jfrFile()).hasValue(RunOptions.DEFAULT_JFR_FILE);
+        assertThat(RunOptions.parse("--jfr-file", "day5.jfr").jfrFile()).hasValue(Path.of("day5.jfr"));
+    }
+
+    @Test
+    void parse_iterations() {
+        var options = RunOptions.parse("--day", "5", "--warmup", "10", "--iterations", "100");
+
+        assertThat(options.warmups()).isEqualTo(10);
+        assertThat(options.iterations()).hasValue(100);
+        assertThat(RunOptions.parse().iterations()).isEmpty();
+    }
+
+    @Test
+    void parse_batch() {
+        var options = RunOptions.parse("--day", "5", "--batch", "inputs/day5/*.txt");
+
+        assertThat(options.batch()).hasValue("inputs/day5/*.txt");
+        assertThat(RunOptions.parse().batch()).isEmpty();
+    }
+
+    @Test
+    void parse_server() {
+        assertThat(RunOptions.parse("--server").server()).isTrue();
+        assertThat(RunOptions.parse("--server").port()).isEqualTo(RunOptions.DEFAULT_SERVER_PORT);
+        assertThat(RunOptions.parse("--server", "--port", "8080").port()).isEqualTo(8080);
+        assertThat(RunOptions.parse().server()).isFalse();
+    }
+
+    @Test
+    void parse_timeout() {
+        assertThat(RunOptions.parse("--all", "--timeout", "30").timeout()).hasValue(Duration.ofSeconds(30));
+        assertThat(RunOptions.parse().timeout()).isEmpty();
+    }
+
+    @Test
+    void parse_solveLimits() {
+        var options = RunOptions.parse("--threads", "4", "--memory", "512");
+
+        assertThat(options.threads()).hasValue(4);
+        assertThat(options.memoryBudget()).hasValue(512L * 1024 * 1024);
+        assertThat(RunOptions.parse().threads()).isEmpty();
+        assertThat(RunOptions.parse().memoryBudget()).isEmpty();
+    }
+
+    @Test
+    void parse_modelCache() {
+        assertThat(RunOptions.parse("--server", "--model-cache", "64").modelCacheBytes()).isEqualTo(64L * 1024 * 1024);
+        assertThat(RunOptions.parse("--batch", "inputs").modelCacheBytes())
+                .isEqualTo(RunOptions.DEFAULT_MODEL_CACHE_MEBIBYTES * 1024L * 1024L);
+    }
+
+    @Test
+    void parse_calibrate() {
+        assertThat(RunOptions.parse("--calibrate", "--threads", "2").calibrate()).isTrue();
+        assertThat(RunOptions.parse().calibrate()).isFalse();
+    }
+
+    @Test
+    void parse_invalidArguments() {
+        assertThatThrownBy(() -> RunOptions.parse("--day")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RunOptions.parse("--day", "seven")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RunOptions.parse("--part", "3")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RunOptions.parse("--all", "--day", "3")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RunOptions.parse("--verbose")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RunOptions.parse("--report", "xml")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RunOptions.parse("--report-file", "out.json")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RunOptions.parse("--iterations", "0")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RunOptions.parse("--warmup", "5")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RunOptions.parse("--all", "--iterations", "5")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RunOptions.parse("--batch", "inputs", "--input", "day5.txt")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RunOptions.parse("--server", "--day", "5")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RunOptions.parse("--port", "8080")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RunOptions.parse("--timeout", "0")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RunOptions.parse("--threads", "0")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RunOptions.parse("--memory", "0")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RunOptions.parse("--model-cache", "64")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RunOptions.parse("--server", "--model-cache", "0")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RunOptions.parse("--calibrate", "--day", "1")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,100 @@
+package com.codingnagger.adventofcode2023.runner;
+
+import com.codingnagger.adventofcode2023.utils.InputLoader;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SolveServerTest {
+    private SolveServer server;
+    private HttpClient client;
+
+    @BeforeEach
+    void setUp() {
+        var registry = DayRegistry.load();
+        server = SolveServer.start(registry, new DayRunner(registry), new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        client = HttpClient.newHttpClient();
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.close();
+        server.close();
+    }
+
+    @Test
+    void post_answersWithJsonReport() throws Exception {
+        var input = String.join("\n", InputLoader.LoadTest("day16.txt"));
+
+        var response = post("/day/16/part/2", input);
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue("Content-Type")).hasValueSatisfying(type -> assertThat(type).startsWith("application/json"));
+        assertThat(response.body())
+                .contains("\"day\": 16")
+                .contains("\"phase\": \"partTwo\", \"answer\": \"51\"")
+                .doesNotContain("partOne");
+    }
+
+    @Test
+    void post_reportsFailingInput() throws Exception {
+        var response = post("/day/16/part/1", "..?\n...\n");
+
+        assertThat(response.statusCode()).isEqualTo(422);
+        assertThat(response.body()).contains("Unknown tile type");
+    }
+
+    @Test
+    void post_rejectsUnknownDayOrPart() throws Exception {
+        assertThat(post("/day/42/part/1", "").statusCode()).isEqualTo(404);
+        assertThat(post("/day/16/part/3", "").statusCode()).isEqualTo(404);
+        assertThat(post("/day/16", "").statusCode()).isEqualTo(404);
+    }
+
+    @Test
+    void post_sameInputAgain_reusesThePreparedModel() throws Exception {
+        var day = new DayRunnerTest.Day42();
+        var registry = new DayRegistry(List.of(day));
+        var runner = new DayRunner(registry, null, new ModelCache(1024 * 1024));
+        server.close();
+        server = SolveServer.start(registry, runner, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+
+        var first = post("/day/42/part/1", "a\nbc\n");
+        var second = post("/day/42/part/2", "a\nbc\n");
+
+        assertThat(first.body()).contains("\"answer\": \"2\"");
+        assertThat(second.body()).contains("\"answer\": \"3\"");
+        assertThat(day.preparations).hasValue(1);
+    }
+
+    @Test
+    void get_isNotAllowed() throws Exception {
+        var response = client.send(HttpRequest.newBuilder(uri("/day/16/part/1")).GET().build(), HttpResponse.BodyHandlers.ofString());
+
+        assertThat(response.statusCode()).isEqualTo(405);
+        assertThat(response.headers().firstValue("Allow")).hasValue("POST");
+    }
+
+    private HttpResponse<String> post(String path, String body) throws IOException, InterruptedException {
+        var request = HttpRequest.newBuilder(uri(path))
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://" + server.address().getHostString() + ":" + server.address().getPort() + path);
+    }
+}
@@ -0,0 +1,98 @@
+package com.codingnagger.adventofcode2023.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AsciiScannerTest {
+    @Test
+    void nextLong() {
+        var scanner = new AsciiScanner("  12 -7\t4294967296");
+
+        assertThat(scanner.nextLong()).isEqualTo(12);
+        assertThat(scanner.nextLong()).isEqualTo(-7);
+        assertThat(scanner.nextLong()).isEqualTo(4294967296L);
+        assertThat(scanner.hasNextNumber()).isFalse();
+        assertThat(scanner.hasNext()).isFalse();
+    }
+
+    @Test
+    void nextInt_overflow() {
+        assertThatThrownBy(() -> new AsciiScanner("4294967296").nextInt()).isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void nextLong_limits() {
+        var scanner = new AsciiScanner("9223372036854775807 -9223372036854775808");
+
+        assertThat(scanner.nextLong()).isEqualTo(Long.MAX_VALUE);
+        assertThat(scanner.nextLong()).isEqualTo(Long.MIN_VALUE);
+    }
+
+    @Test
+    void nextLong_overflow() {
+        assertThatThrownBy(() -> new AsciiScanner("12345678901234567890").nextLong()).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> new AsciiScanner("9223372036854775808").nextLong()).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> new AsciiScanner("-9223372036854775809").nextLong()).isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void nextLong_notANumber() {
+        assertThatThrownBy(() -> new AsciiScanner("abc").nextLong())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("position 0");
+    }
+
+    @Test
+    void wordsAndDelimiters() {
+        var scanner = new AsciiScanner("AAA = (BBB, CCC)");
+
+        assertThat(scanner.nextWord()).isEqualTo("AAA");
+        assertThat(scanner.expect(" = (").nextWord()).isEqualTo("BBB");
+        assertThat(scanner.tryConsume(';')).isFalse();
+        assertThat(scanner.expect(", ").nextWord()).isEqualTo("CCC");
+        assertThat(scanner.lookingAt(")")).isTrue();
+        assertThat(scanner.next()).isEqualTo(')');
+        assertThatThrownBy(scanner::peek).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void expect_mismatch() {
+        assertThatThrownBy(() -> new AsciiScanner("Card 1").expect("Game"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("\"Game\"");
+    }
+
+    @Test
+    void skipPast() {
+        var scanner = new AsciiScanner("Time:      7  15   30");
+        var numbers = new ArrayList<Long>();
+
+        scanner.skipPast(':');
+        while (scanner.hasNextNumber()) {
+            numbers.add(scanner.nextLong());
+        }
+
+        assertThat(numbers).containsExactly(7L, 15L, 30L);
+    }
+
+    @Test
+    void of_bytes() {
+        var scanner = AsciiScanner.of("seeds: 79 14".getBytes(StandardCharsets.US_ASCII));
+
+        assertThat(scanner.nextWord()).isEqualTo("seeds");
+        assertThat(scanner.skipPast(':').nextLong()).isEqualTo(79);
+        assertThat(scanner.nextLong()).isEqualTo(14);
+    }
+
+    @Test
+    void convertToIntegers_usesSeparator() {
+        assertThat(InputConverter.convertToIntegers("1;22;333", ";")).containsExactly(1, 22, 333);
+        assertThat(InputConverter.convertToIntegers(List.of("4", "-5"))).containsExactly(4, -5);
+    }
+}
@@ -0,0 +1,121 @@
+package com.codingnagger.adventofcode2023.utils;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class InputLoaderTest {
+    @TempDir
+    Path directory;
+
+    List<String> expected;
+
+    @BeforeEach
+    void setUp() {
+        expected = InputLoader.LoadTest("day16.txt");
+    }
+
+    @ParameterizedTest
+    @EnumSource(Compression.class)
+    void load_readsCompressedInputs(Compression compression) throws IOException {
+        var input = compressedDay16(compression);
+
+        assertThat(InputLoader.Load(input)).isEqualTo(expected);
+    }
+
+    @ParameterizedTest
+    @EnumSource(Compression.class)
+    void loadStreamed_readsCompressedInputs(Compression compression) throws IOException {
+        var input = compressedDay16(compression);
+
+        try (var lines = InputLoader.LoadStreamed(input)) {
+            assertThat(lines.toList()).isEqualTo(expected);
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(Compression.class)
+    void loadMapped_readsCompressedInputs(Compression compression) throws IOException {
+        var input = compressedDay16(compression);
+
+        try (var mapped = InputLoader.LoadMapped(input)) {
+            assertThat(mapped.asLines()).isEqualTo(expected);
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(Compression.class)
+    void loadAhead_readsCompressedInputs(Compression compression) throws IOException {
+        var input = compressedDay16(compression);
+
+        try (var loader = InputLoader.LoadAhead(List.of(input), 2)) {
+            assertThat(loader.next().lines()).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void open_failsOnCorruptCompressedInput() throws IOException {
+        var content = compress(Compression.GZIP, "corrupt".getBytes(StandardCharsets.UTF_8));
+        var input = Files.write(directory.resolve("corrupt.gz"), Arrays.copyOf(content, content.length / 2));
+
+        assertThatThrownBy(() -> InputLoader.Load(input)).isInstanceOf(RuntimeException.class);
+
+        try (var loader = InputLoader.LoadAhead(List.of(input), 1)) {
+            assertThatThrownBy(loader::next).isInstanceOf(UncheckedIOException.class);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "x", "xy", "..\\.", "467..114..\n", "\u001f", "x^2", "HK", "XG", "hC", "8O", "(S"})
+    void load_readsPlainText(String content) throws IOException {
+        var input = Files.writeString(directory.resolve("plain.txt"), content);
+
+        assertThat(Compression.detect(input, content.getBytes(StandardCharsets.UTF_8))).isEqualTo(Compression.NONE);
+        assertThat(InputLoader.Load(input)).isEqualTo(content.lines().toList());
+    }
+
+    private Path compressedDay16(Compression compression) throws IOException {
+        var content = Files.readAllBytes(InputLoader.TestResourcePath("day16.txt"));
+
+        // Zlib streams are only recognised by name, while gzip is recognised whatever the name.
+        var name = compression == Compression.ZLIB ? "day16.zz" : "day16-" + compression;
+
+        return Files.write(directory.resolve(name), compress(compression, content));
+    }
+
+    private static byte[] compress(Compression compression, byte[] content) throws IOException {
+        var compressed = new ByteArrayOutputStream();
+
+        try (var out = compressor(compression, compressed)) {
+            out.write(content);
+        }
+
+        return compressed.toByteArray();
+    }
+
+    private static OutputStream compressor(Compression compression, OutputStream out) throws IOException {
+        return switch (compression) {
+            case NONE -> out;
+            case GZIP -> new GZIPOutputStream(out);
+            case ZLIB -> new DeflaterOutputStream(out);
+        };
+    }
+}
@@ -0,0 +1,51 @@
+package com.codingnagger.adventofcode2023.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.NoSuchElementException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IntArrayDequeTest {
+    @Test
+    void removeFirst_returnsElementsInInsertionOrder() {
+        var queue = new IntArrayDeque();
+
+        queue.addLast(3);
+        queue.addLast(-1);
+
+        assertThat(queue.size()).isEqualTo(2);
+        assertThat(queue.removeFirst()).isEqualTo(3);
+        assertThat(queue.removeFirst()).isEqualTo(-1);
+        assertThat(queue.isEmpty()).isTrue();
+    }
+
+    @Test
+    void growingWhileWrappedAround_keepsTheOrder() {
+        var queue = new IntArrayDeque(0);
+        var next = 0;
+        var expected = 0;
+
+        for (var round = 0; round < 100; round++) {
+            for (var i = 0; i < 5; i++) {
+                queue.addLast(next++);
+            }
+
+            for (var i = 0; i < 3; i++) {
+                assertThat(queue.removeFirst()).isEqualTo(expected++);
+            }
+        }
+
+        while (!queue.isEmpty()) {
+            assertThat(queue.removeFirst()).isEqualTo(expected++);
+        }
+
+        assertThat(expected).isEqualTo(next);
+    }
+
+    @Test
+    void removeFirst_onEmptyQueue_throws() {
+        assertThatThrownBy(() -> new IntArrayDeque().removeFirst()).isInstanceOf(NoSuchElementException.class);
+    }
+}
@@ -0,0 +1,68 @@
+package com.codingnagger.adventofcode2023.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IntIntOpenHashMapTest {
+    @Test
+    void put_replacesValues() {
+        var map = new IntIntOpenHashMap();
+
+        map.put(7, 1);
+        map.put(7, 2);
+
+        assertThat(map.size()).isEqualTo(1);
+        assertThat(map.getOrDefault(7, -1)).isEqualTo(2);
+        assertThat(map.getOrDefault(8, -1)).isEqualTo(-1);
+        assertThat(map.containsKey(7)).isTrue();
+        assertThat(map.containsKey(8)).isFalse();
+    }
+
+    @Test
+    void zero_isAnOrdinaryKey() {
+        var map = new IntIntOpenHashMap();
+
+        assertThat(map.containsKey(0)).isFalse();
+        assertThat(map.addTo(0, 3)).isEqualTo(3);
+        assertThat(map.addTo(0, 2)).isEqualTo(5);
+        assertThat(map.containsKey(0)).isTrue();
+        assertThat(map.containsValue(5)).isTrue();
+        assertThat(map.keys()).containsExactly(0);
+    }
+
+    @Test
+    void tallies_matchAHashMap() {
+        var random = new Random(2023);
+        var map = new IntIntOpenHashMap();
+        var expected = new HashMap<Integer, Integer>();
+
+        for (var i = 0; i < 10_000; i++) {
+            var key = random.nextInt(-500, 500);
+            map.addTo(key, 1);
+            expected.merge(key, 1, Integer::sum);
+        }
+
+        assertThat(map.size()).isEqualTo(expected.size());
+        assertThat(map.keys()).containsExactlyInAnyOrder(expected.keySet().stream().mapToInt(Integer::intValue).toArray());
+        expected.forEach((key, count) -> assertThat(map.getOrDefault(key, 0)).isEqualTo(count));
+    }
+
+    @Test
+    void containsValue_ignoresFreeSlots() {
+        var map = new IntIntOpenHashMap();
+        map.put(4, 2);
+
+        assertThat(map.containsValue(2)).isTrue();
+        assertThat(map.containsValue(0)).isFalse();
+    }
+
+    @Test
+    void negativeExpectedSize_throws() {
+        assertThatThrownBy(() -> new IntIntOpenHashMap(-1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,54 @@
+package com.codingnagger.adventofcode2023.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.withinPercentage;
+
+class LatencyHistogramTest {
+    @Test
+    void percentiles_areWithinSignificantDigits() {
+        var histogram = new LatencyHistogram(3_600_000_000_000L, 3);
+
+        for (var value = 1L; value <= 100_000; value++) {
+            histogram.record(value * 1_000);
+        }
+
+        assertThat(histogram.totalCount()).isEqualTo(100_000);
+        assertThat(histogram.min()).isEqualTo(1_000);
+        assertThat(histogram.max()).isEqualTo(100_000_000);
+        assertThat(histogram.valueAtPercentile(50)).isCloseTo(50_000_000L, withinPercentage(0.1));
+        assertThat(histogram.valueAtPercentile(90)).isCloseTo(90_000_000L, withinPercentage(0.1));
+        assertThat(histogram.valueAtPercentile(99)).isCloseTo(99_000_000L, withinPercentage(0.1));
+        assertThat(histogram.valueAtPercentile(100)).isEqualTo(100_000_000);
+    }
+
+    @Test
+    void smallValues_areExact() {
+        var histogram = new LatencyHistogram(1_000, 2);
+
+        histogram.record(0);
+        histogram.record(3);
+        histogram.record(3);
+        histogram.record(7);
+
+        assertThat(histogram.valueAtPercentile(25)).isZero();
+        assertThat(histogram.valueAtPercentile(50)).isEqualTo(3);
+        assertThat(histogram.valueAtPercentile(75)).isEqualTo(3);
+        assertThat(histogram.valueAtPercentile(99)).isEqualTo(7);
+    }
+
+    @Test
+    void invalidUse_throws() {
+        var histogram = new LatencyHistogram(1_000, 2);
+
+        assertThatThrownBy(histogram::min).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> histogram.record(1_001)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> histogram.record(-1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new LatencyHistogram(1_000, 6)).isInstanceOf(IllegalArgumentException.class);
+
+        histogram.record(10);
+        assertThatThrownBy(() -> histogram.valueAtPercentile(101)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
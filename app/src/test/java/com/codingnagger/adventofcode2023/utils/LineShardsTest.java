@@ -0,0 +1,101 @@
+package com.codingnagger.adventofcode2023.utils;
+
+import com.codingnagger.adventofcode2023.days.StreamingDay;
+import com.codingnagger.adventofcode2023.runner.DayRegistry;
+import com.codingnagger.adventofcode2023.utils.generators.InputGenerators;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.LinkedList;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LineShardsTest {
+    private static final int LINES = LineShards.SHARD_LINES * 40 + 7;
+
+    @Test
+    void sum_addsUpEveryShard() {
+        var lines = IntStream.range(0, LINES).mapToObj(String::valueOf).toList();
+
+        assertThat(LineShards.sum(lines, Long::parseLong)).isEqualTo(LongStream.range(0, LINES).sum());
+    }
+
+    @Test
+    void sum_acceptsListsWithoutRandomAccess() {
+        var lines = new LinkedList<String>();
+        IntStream.range(0, LINES).mapToObj(String::valueOf).forEach(lines::add);
+
+        assertThat(LineShards.sum(lines, Long::parseLong)).isEqualTo(LongStream.range(0, LINES).sum());
+    }
+
+    @Test
+    void sum_rethrowsScoreFailures() {
+        var lines = IntStream.range(0, LINES).mapToObj(i -> i == LINES - 1 ? "x" : String.valueOf(i)).toList();
+
+        assertThatThrownBy(() -> LineShards.sum(lines, Long::parseLong)).isInstanceOf(NumberFormatException.class);
+    }
+
+    @Test
+    void sum_stopsOnceTheCallerIsInterrupted() {
+        var lines = IntStream.range(0, LINES).mapToObj(String::valueOf).toList();
+
+        Thread.currentThread().interrupt();
+
+        try {
+            assertThatThrownBy(() -> LineShards.sum(lines, Long::parseLong)).isInstanceOf(CancellationException.class);
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    @Test
+    @Timeout(10)
+    void sum_stopsEveryShardWhenTheWaitingCallerIsInterrupted() throws InterruptedException {
+        var lines = IntStream.range(0, LINES).mapToObj(String::valueOf).toList();
+        var started = new CountDownLatch(1);
+        var failure = new AtomicReference<Throwable>();
+
+        var caller = Thread.ofPlatform().start(() -> {
+            try {
+                LineShards.sum(lines, _ -> {
+                    started.countDown();
+
+                    while (true) {
+                        Cancellation.checkpoint();
+                        Thread.onSpinWait();
+                    }
+                });
+            } catch (RuntimeException e) {
+                failure.set(e);
+            }
+        });
+
+        started.await();
+        caller.interrupt();
+        caller.join();
+
+        assertThat(failure.get()).isInstanceOf(CancellationException.class);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 4, 9, 12})
+    void shardedDays_answerLikeTheirStreamedSelves(int dayNumber) {
+        var day = (StreamingDay) DayRegistry.load().get(dayNumber);
+        var input = InputGenerators.forDay(dayNumber).generate(LINES, 2023L);
+
+        assertThat(day.partOne(input)).isEqualTo(day.partOne(input.stream()));
+
+        // Part two of day 12 brute forces five unfolded copies of every row, which random rows make explode.
+        if (dayNumber != 12) {
+            assertThat(day.partTwo(input)).isEqualTo(day.partTwo(input.stream()));
+        }
+    }
+}
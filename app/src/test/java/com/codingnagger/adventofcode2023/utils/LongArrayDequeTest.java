@@ -0,0 +1,53 @@
+package com.codingnagger.adventofcode2023.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.NoSuchElementException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LongArrayDequeTest {
+    @Test
+    void removeFirst_returnsElementsInInsertionOrder() {
+        var queue = new LongArrayDeque();
+
+        queue.addLast(3);
+        queue.addLast(-1);
+        queue.addLast(7);
+
+        assertThat(queue.size()).isEqualTo(3);
+        assertThat(queue.removeFirst()).isEqualTo(3);
+        assertThat(queue.removeFirst()).isEqualTo(-1);
+        assertThat(queue.removeFirst()).isEqualTo(7);
+        assertThat(queue.isEmpty()).isTrue();
+    }
+
+    @Test
+    void growingWhileWrappedAround_keepsTheOrder() {
+        var queue = new LongArrayDeque(0);
+        var next = 0L;
+        var expected = 0L;
+
+        for (var round = 0; round < 100; round++) {
+            for (var i = 0; i < 5; i++) {
+                queue.addLast(next++);
+            }
+
+            for (var i = 0; i < 3; i++) {
+                assertThat(queue.removeFirst()).isEqualTo(expected++);
+            }
+        }
+
+        while (!queue.isEmpty()) {
+            assertThat(queue.removeFirst()).isEqualTo(expected++);
+        }
+
+        assertThat(expected).isEqualTo(next);
+    }
+
+    @Test
+    void removeFirst_onEmptyQueue_throws() {
+        assertThatThrownBy(() -> new LongArrayDeque().removeFirst()).isInstanceOf(NoSuchElementException.class);
+    }
+}
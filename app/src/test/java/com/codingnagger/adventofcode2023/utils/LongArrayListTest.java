@@ -0,0 +1,58 @@
+package com.codingnagger.adventofcode2023.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.NoSuchElementException;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LongArrayListTest {
+    @Test
+    void add_growsPastItsCapacity() {
+        var list = new LongArrayList(0);
+
+        for (var i = 0L; i < 1000; i++) {
+            list.add(i * i);
+        }
+
+        assertThat(list.size()).isEqualTo(1000);
+        assertThat(list.get(999)).isEqualTo(999L * 999);
+        assertThat(list.getFirst()).isZero();
+        assertThat(list.getLast()).isEqualTo(999L * 999);
+        assertThat(list.stream().sum()).isEqualTo(LongStream.range(0, 1000).map(i -> i * i).sum());
+    }
+
+    @Test
+    void contains_onlySeesElementsInTheList() {
+        var list = LongArrayList.of(3, -7, 12);
+
+        assertThat(list.contains(-7)).isTrue();
+        assertThat(list.contains(0)).isFalse();
+    }
+
+    @Test
+    void copies_areEqualButIndependent() {
+        var list = LongArrayList.of(1, 2, 3);
+        var copy = LongArrayList.copyOf(list);
+
+        assertThat(copy).isEqualTo(list).hasSameHashCodeAs(list);
+
+        copy.set(0, 5);
+
+        assertThat(list.get(0)).isEqualTo(1);
+        assertThat(copy).isNotEqualTo(list);
+        assertThat(copy.toArray()).containsExactly(5, 2, 3);
+        assertThat(copy).hasToString("[5, 2, 3]");
+    }
+
+    @Test
+    void get_outsideTheList_throws() {
+        var list = LongArrayList.of(1);
+
+        assertThatThrownBy(() -> list.get(1)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> new LongArrayList().getFirst()).isInstanceOf(NoSuchElementException.class);
+        assertThatThrownBy(() -> new LongArrayList().getLast()).isInstanceOf(NoSuchElementException.class);
+    }
+}
@@ -0,0 +1,69 @@
+package com.codingnagger.adventofcode2023.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LongOpenHashSetTest {
+    @Test
+    void add_reportsOnlyNewKeys() {
+        var set = new LongOpenHashSet();
+
+        assertThat(set.add(42)).isTrue();
+        assertThat(set.add(42)).isFalse();
+        assertThat(set.size()).isEqualTo(1);
+        assertThat(set.contains(42)).isTrue();
+        assertThat(set.contains(43)).isFalse();
+    }
+
+    @Test
+    void zero_isAnOrdinaryKey() {
+        var set = new LongOpenHashSet();
+
+        assertThat(set.contains(0)).isFalse();
+        assertThat(set.add(0)).isTrue();
+        assertThat(set.add(0)).isFalse();
+        assertThat(set.contains(0)).isTrue();
+        assertThat(set.size()).isEqualTo(1);
+    }
+
+    @Test
+    void growingPastItsCapacity_keepsEveryKey() {
+        var random = new Random(2023);
+        var set = new LongOpenHashSet();
+        var expected = new HashSet<Long>();
+
+        for (var i = 0; i < 10_000; i++) {
+            var key = random.nextLong(-5_000, 5_000);
+            assertThat(set.add(key)).isEqualTo(expected.add(key));
+        }
+
+        assertThat(set.size()).isEqualTo(expected.size());
+
+        var seen = new HashSet<Long>();
+        set.forEach(seen::add);
+        assertThat(seen).isEqualTo(expected);
+    }
+
+    @Test
+    void clear_emptiesTheSet() {
+        var set = new LongOpenHashSet(4);
+        set.add(0);
+        set.add(7);
+
+        set.clear();
+
+        assertThat(set.isEmpty()).isTrue();
+        assertThat(set.contains(0)).isFalse();
+        assertThat(set.contains(7)).isFalse();
+    }
+
+    @Test
+    void negativeExpectedSize_throws() {
+        assertThatThrownBy(() -> new LongOpenHashSet(-1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
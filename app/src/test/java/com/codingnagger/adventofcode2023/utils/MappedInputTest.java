@@ -0,0 +1,107 @@
+package com.codingnagger.adventofcode2023.utils;
+
+import com.codingnagger.adventofcode2023.days.Day16;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MappedInputTest {
+    @TempDir
+    Path directory;
+
+    @ParameterizedTest
+    @ValueSource(strings = {"day1.txt", "day5.txt", "day13.txt", "day16.txt"})
+    void asLines_matchesLoadedLines(String filename) {
+        try (var mapped = InputLoader.LoadTestMapped(filename)) {
+            assertThat(mapped.asLines()).isEqualTo(InputLoader.LoadTest(filename));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"day1.txt", "day13.txt"})
+    void readLines_decodesEveryLineOnce(String filename) {
+        try (var mapped = InputLoader.LoadTestMapped(filename)) {
+            var lines = mapped.readLines();
+
+            assertThat(lines).isEqualTo(mapped.asLines());
+            assertThat(lines.get(0)).isSameAs(lines.get(0));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "\n", "a", "a\n", "a\n\n", "a\r\nbc\r\n", "\n\nabc\nde"})
+    void asLines_matchesReadAllLines(String content) throws IOException {
+        var file = directory.resolve("input.txt");
+        Files.writeString(file, content);
+
+        try (var mapped = InputLoader.LoadMapped(file)) {
+            assertThat(mapped.asLines()).isEqualTo(Files.readAllLines(file));
+            assertThat(mapped.byteSize()).isEqualTo(content.length());
+        }
+    }
+
+    @Test
+    void asLines_decodeLikeLoadedLines() throws IOException {
+        var file = directory.resolve("input.txt");
+        Files.writeString(file, "café 3\n— 4\n");
+
+        try (var mapped = InputLoader.LoadMapped(file)) {
+            assertThat(mapped.asLines()).isEqualTo(InputLoader.Load(file)).containsExactly("café 3", "— 4");
+        }
+    }
+
+    @Test
+    void lineIndex_spansScanChunks() throws IOException {
+        var file = directory.resolve("input.txt");
+        var lines = IntStream.range(0, 50_000).mapToObj(i -> "line " + i).toList();
+        Files.write(file, lines);
+
+        try (var mapped = InputLoader.LoadMapped(file)) {
+            assertThat(mapped.asLines()).isEqualTo(lines);
+        }
+    }
+
+    @Test
+    void line_isACharSequenceView() throws IOException {
+        var file = directory.resolve("input.txt");
+        Files.writeString(file, "Game 1: 3 blue\nGame 2: 4 red\n");
+
+        try (var mapped = InputLoader.LoadMapped(file)) {
+            var line = mapped.line(1);
+
+            assertThat(mapped.lineCount()).isEqualTo(2);
+            assertThat(line.length()).isEqualTo(13);
+            assertThat(line.charAt(8)).isEqualTo('4');
+            assertThat(line.subSequence(8, 13).toString()).isEqualTo("4 red");
+            assertThat(mapped.asAsciiLines()).extracting(AsciiLine::toString).containsExactly("Game 1: 3 blue", "Game 2: 4 red");
+            assertThatThrownBy(() -> line.charAt(13)).isInstanceOf(IndexOutOfBoundsException.class);
+            assertThatThrownBy(() -> mapped.line(2)).isInstanceOf(IndexOutOfBoundsException.class);
+        }
+    }
+
+    @Test
+    void asLines_adaptsToExistingDays() {
+        try (var mapped = InputLoader.LoadTestMapped("day16.txt")) {
+            assertThat(new Day16().partOne(mapped.asLines())).isEqualTo("46");
+        }
+    }
+
+    @Test
+    void close_releasesTheMapping() {
+        var mapped = InputLoader.LoadTestMapped("day1.txt");
+        var line = mapped.line(0);
+
+        mapped.close();
+
+        assertThatThrownBy(line::toString).isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,100 @@
+package com.codingnagger.adventofcode2023.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PrefetchingLoaderTest {
+    @TempDir
+    Path directory;
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 5})
+    void next_returnsInputsInOrder(int depth) throws IOException {
+        var inputs = new ArrayList<Path>();
+
+        for (var i = 0; i < 4; i++) {
+            inputs.add(write("input" + i + ".txt", "line " + i + "\nsecond " + i + "\n"));
+        }
+
+        try (var loader = InputLoader.LoadAhead(inputs, depth)) {
+            for (var i = 0; i < 4; i++) {
+                var loaded = loader.next();
+
+                assertThat(loaded.path()).isEqualTo(inputs.get(i));
+                assertThat(loaded.lines()).containsExactly("line " + i, "second " + i);
+            }
+
+            assertThat(loader.hasNext()).isFalse();
+            assertThatThrownBy(loader::next).isInstanceOf(NoSuchElementException.class);
+        }
+    }
+
+    @Test
+    void next_matchesLoadedLines() {
+        var input = InputLoader.TestResourcePath("day16.txt");
+
+        try (var loader = InputLoader.LoadAhead(List.of(input), 2)) {
+            var loaded = loader.next();
+
+            assertThat(loaded.content()).isEqualTo(readAllBytes(input));
+            assertThat(loaded.lines()).isEqualTo(InputLoader.LoadTest("day16.txt"));
+        }
+    }
+
+    @Test
+    void next_readsEmptyFiles() throws IOException {
+        var empty = write("empty.txt", "");
+
+        try (var loader = InputLoader.LoadAhead(List.of(empty), 2)) {
+            var loaded = loader.next();
+
+            assertThat(loaded.content()).isEmpty();
+            assertThat(loaded.lines()).isEmpty();
+        }
+    }
+
+    @Test
+    void next_failsOnlyForUnreadableInput() throws IOException {
+        var first = write("first.txt", "first");
+        var missing = directory.resolve("missing.txt");
+        var last = write("last.txt", "last");
+
+        try (var loader = InputLoader.LoadAhead(List.of(first, missing, last), 2)) {
+            assertThat(loader.next().lines()).containsExactly("first");
+            assertThatThrownBy(loader::next).isInstanceOf(UncheckedIOException.class);
+            assertThat(loader.next().lines()).containsExactly("last");
+        }
+    }
+
+    @Test
+    void loadAhead_rejectsNonPositiveDepth() {
+        assertThatThrownBy(() -> InputLoader.LoadAhead(List.of(), 0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("depth");
+    }
+
+    private Path write(String filename, String content) throws IOException {
+        return Files.writeString(directory.resolve(filename), content);
+    }
+
+    private static byte[] readAllBytes(Path path) {
+        try {
+            return Files.readAllBytes(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.codingnagger.adventofcode2023.utils.generators;
+
+import com.codingnagger.adventofcode2023.runner.DayRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class InputGeneratorsTest {
+    private static final DayRegistry REGISTRY = DayRegistry.load();
+    private static final long SEED = 2023L;
+
+    public static IntStream days() {
+        return IntStream.rangeClosed(1, 16);
+    }
+
+    @ParameterizedTest
+    @MethodSource("days")
+    void generate_isDeterministic(int day) {
+        var generator = InputGenerators.forDay(day);
+
+        assertThat(generator.generate(generator.exampleSize() * 4, SEED))
+                .isEqualTo(generator.generate(generator.exampleSize() * 4, SEED))
+                .isNotEqualTo(generator.generate(generator.exampleSize() * 4, SEED + 1));
+    }
+
+    @ParameterizedTest
+    @MethodSource("days")
+    void generate_producesSolvableInput(int day) {
+        var generator = InputGenerators.forDay(day);
+        var input = generator.generate(generator.exampleSize() * 2, SEED);
+
+        assertThat(REGISTRY.get(day).partOne(input)).isNotBlank();
+
+        // Part two of day 12 brute forces five unfolded copies of every row, which random rows make explode.
+        if (day != 12) {
+            assertThat(REGISTRY.get(day).partTwo(input)).isNotBlank();
+        }
+    }
+
+    @Test
+    void day10_hasSingleAnimalStartOnALoop() {
+        var input = InputGenerators.forDay(10).generate(400, SEED);
+
+        assertThat(String.join("", input).chars().filter(c -> c == 'S').count()).isEqualTo(1);
+        assertThat(Long.parseLong(REGISTRY.get(10).partOne(input))).isPositive();
+    }
+
+    @Test
+    void write(@TempDir Path directory) throws IOException {
+        var generator = InputGenerators.forDay(7);
+        var file = directory.resolve("day7.txt");
+
+        generator.write(file, 1000, SEED);
+
+        assertThat(Files.readAllLines(file)).isEqualTo(generator.generate(1000, SEED));
+    }
+
+    @Test
+    void forDay_unknownDay() {
+        assertThatThrownBy(() -> InputGenerators.forDay(26)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,106 @@
+package com.codingnagger.adventofcode2023.utils.grid;
+
+import com.codingnagger.adventofcode2023.utils.InputLoader;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ByteGridTest {
+    private static final List<String> INPUT = List.of(
+            "#.##",
+            "..#.",
+            "#.##"
+    );
+
+    @Test
+    void parse_keepsDimensionsAndCells() {
+        var grid = ByteGrid.parse(INPUT);
+
+        assertThat(grid.width()).isEqualTo(4);
+        assertThat(grid.height()).isEqualTo(3);
+        assertThat(grid.size()).isEqualTo(12);
+        assertThat((char) grid.get(2, 1)).isEqualTo('#');
+        assertThat(grid.toString()).isEqualTo("#.##\n..#.\n#.##\n");
+    }
+
+    @Test
+    void parse_raggedRows_throws() {
+        assertThatThrownBy(() -> ByteGrid.parse(List.of("...", "..")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void parse_mappedInput_matchesLines() {
+        try (var mapped = InputLoader.LoadTestMapped("day14.txt")) {
+            assertThat(ByteGrid.parse(mapped)).isEqualTo(ByteGrid.parse(InputLoader.LoadTest("day14.txt")));
+        }
+    }
+
+    @Test
+    void indexArithmetic_roundTrips() {
+        var grid = ByteGrid.parse(INPUT);
+        var index = grid.index(3, 2);
+
+        assertThat(index).isEqualTo(11);
+        assertThat(grid.x(index)).isEqualTo(3);
+        assertThat(grid.y(index)).isEqualTo(2);
+        assertThat(grid.get(index)).isEqualTo(grid.get(3, 2));
+    }
+
+    @Test
+    void neighbour_outsideEdges_isOutside() {
+        var grid = ByteGrid.parse(INPUT);
+        var corner = grid.index(3, 0);
+
+        assertThat(grid.neighbour(corner, Direction.UP)).isEqualTo(ByteGrid.OUTSIDE);
+        assertThat(grid.neighbour(corner, Direction.RIGHT)).isEqualTo(ByteGrid.OUTSIDE);
+        assertThat(grid.neighbour(corner, Direction.LEFT)).isEqualTo(grid.index(2, 0));
+        assertThat(grid.neighbour(corner, Direction.DOWN)).isEqualTo(grid.index(3, 1));
+    }
+
+    @Test
+    void rowAndColumnViews() {
+        var grid = ByteGrid.parse(INPUT);
+
+        assertThat(grid.row(1).toString()).isEqualTo("..#.");
+        assertThat(grid.column(2).toString()).isEqualTo("###");
+        assertThat(grid.column(3).subSequence(1, 3).toString()).isEqualTo(".#");
+        assertThat(grid.rowsEqual(0, 2)).isTrue();
+        assertThat(grid.rowsEqual(0, 1)).isFalse();
+        assertThat(grid.columnsEqual(0, 3)).isTrue();
+        assertThat(grid.columnsEqual(0, 1)).isFalse();
+    }
+
+    @Test
+    void copy_isIndependent() {
+        var grid = ByteGrid.parse(INPUT);
+        var copy = grid.copy();
+
+        copy.replaceAll((byte) '#', (byte) 'O');
+
+        assertThat(copy.count((byte) 'O')).isEqualTo(7);
+        assertThat(grid.count((byte) 'O')).isZero();
+        assertThat(copy).isNotEqualTo(grid);
+        assertThat(grid.copy()).isEqualTo(grid).hasSameHashCodeAs(grid);
+    }
+
+    @Test
+    void lines_outsideTheirLength_throw() {
+        var grid = ByteGrid.parse(INPUT);
+
+        assertThatThrownBy(() -> grid.row(0).charAt(4)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> grid.column(0).charAt(-1)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> grid.row(1).subSequence(2, 5)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThat(grid.row(1).subSequence(1, 3).toString()).isEqualTo(".#");
+    }
+
+    @Test
+    void emptyRows_throw() {
+        assertThatThrownBy(() -> ByteGrid.of(0, 2, new byte[0])).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ByteGrid.parse(List.of("", ""))).isInstanceOf(IllegalArgumentException.class);
+        assertThat(ByteGrid.parse(List.of()).size()).isZero();
+    }
+}
@@ -0,0 +1,55 @@
+package com.codingnagger.adventofcode2023.utils.grid;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PackedPointTest {
+    @ParameterizedTest
+    @CsvSource({
+            "0, 0, 0",
+            "3, 7, 2",
+            "-1, 5, 3",
+            "5, -1, 0",
+            "-134217728, 134217727, 255",
+            "134217727, -134217728, 1"
+    })
+    void pack_roundTrips(int x, int y, int tag) {
+        var point = PackedPoint.pack(x, y, tag);
+
+        assertThat(PackedPoint.x(point)).isEqualTo(x);
+        assertThat(PackedPoint.y(point)).isEqualTo(y);
+        assertThat(PackedPoint.tag(point)).isEqualTo(tag);
+    }
+
+    @Test
+    void pack_distinguishesPointsAndTags() {
+        assertThat(PackedPoint.pack(1, 2)).isNotEqualTo(PackedPoint.pack(2, 1));
+        assertThat(PackedPoint.pack(1, 2, 0)).isNotEqualTo(PackedPoint.pack(1, 2, 1));
+        assertThat(PackedPoint.pack(-1, 0)).isNotEqualTo(PackedPoint.pack(0, -1));
+    }
+
+    @Test
+    void pack_outOfRange_throws() {
+        assertThatThrownBy(() -> PackedPoint.pack(PackedPoint.MAX_COORDINATE + 1, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PackedPoint.pack(0, PackedPoint.MIN_COORDINATE - 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PackedPoint.pack(0, 0, PackedPoint.MAX_TAG + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void move_stepsOffTheEdgeAndKeepsTheTag() {
+        var point = PackedPoint.pack(0, 0, Direction.LEFT.ordinal());
+        var moved = PackedPoint.move(point, Direction.LEFT);
+
+        assertThat(PackedPoint.x(moved)).isEqualTo(-1);
+        assertThat(PackedPoint.y(moved)).isZero();
+        assertThat(PackedPoint.tag(moved)).isEqualTo(Direction.LEFT.ordinal());
+        assertThat(PackedPoint.withTag(moved, 0)).isEqualTo(PackedPoint.pack(-1, 0));
+    }
+}
@@ -0,0 +1,38 @@
+plugins {
+    java
+    alias(libs.plugins.jmh)
+}
+
+repositories {
+    // Use Maven Central for resolving dependencies.
+    mavenCentral()
+}
+
+dependencies {
+    jmh(project(":app"))
+}
+
+java {
+    toolchain {
+        languageVersion.set(JavaLanguageVersion.of(21))
+    }
+}
+
+sourceSets {
+    named("jmh") {
+        // The puzzle examples double as the smallest benchmark inputs.
+        resources.srcDir(project(":app").file("src/test/resources"))
+    }
+}
+
+jmh {
+    jmhVersion.set(libs.versions.jmh)
+    jvmArgs.addAll("--enable-preview", "-XX:+UseZGC", "-XX:+ZGenerational")
+    profilers.add("gc")
+    resultFormat.set("JSON")
+}
+
+tasks.withType<JavaCompile>().configureEach {
+    options.compilerArgs.add("--enable-preview")
+    options.compilerArgs.add("-Xlint:preview")
+}
@@ -0,0 +1,48 @@
+package com.codingnagger.adventofcode2023.benchmarks;
+
+import com.codingnagger.adventofcode2023.utils.generators.InputGenerators;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+final class BenchmarkInputs {
+    static final int EXAMPLE_SCALE = 1;
+
+    private static final long SEED = 2023L;
+    private static final Map<Integer, String> EXAMPLES = Map.ofEntries(
+            Map.entry(8, "day8_with_loop.txt"),
+            Map.entry(10, "day10_partTwo_complex.txt")
+    );
+
+    private BenchmarkInputs() {
+    }
+
+    static String load(int day, int scale) {
+        if (scale == EXAMPLE_SCALE) {
+            return loadExample(day);
+        }
+
+        var generator = InputGenerators.forDay(day);
+        var input = new StringBuilder();
+
+        generator.generate(generator.exampleSize() * scale, SEED).forEach(line -> input.append(line).append('\n'));
+
+        return input.toString();
+    }
+
+    private static String loadExample(int day) {
+        var resource = EXAMPLES.getOrDefault(day, "day" + day + ".txt");
+
+        try (var stream = BenchmarkInputs.class.getResourceAsStream("/" + resource)) {
+            if (stream == null) {
+                throw new IllegalArgumentException("Missing benchmark input " + resource);
+            }
+
+            return new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
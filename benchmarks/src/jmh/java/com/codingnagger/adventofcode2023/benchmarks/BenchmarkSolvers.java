@@ -0,0 +1,49 @@
+package com.codingnagger.adventofcode2023.benchmarks;
+
+import com.codingnagger.adventofcode2023.days.Day;
+import com.codingnagger.adventofcode2023.days.PreparedDay;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Binds a day to its input the way the runner would, so prepared days are measured on their model alone.
+ */
+final class BenchmarkSolvers {
+    private BenchmarkSolvers() {
+    }
+
+    static Supplier<Object> prepare(Day day, String rawInput) {
+        if (day instanceof PreparedDay<?> preparedDay) {
+            return () -> preparedDay.prepare(rawInput.lines().toList());
+        }
+
+        return () -> rawInput.lines().toList();
+    }
+
+    static Supplier<String> partOne(Day day, List<String> input) {
+        if (day instanceof PreparedDay<?> preparedDay) {
+            return partOne(preparedDay, input);
+        }
+
+        return () -> day.partOne(input);
+    }
+
+    static Supplier<String> partTwo(Day day, List<String> input) {
+        if (day instanceof PreparedDay<?> preparedDay) {
+            return partTwo(preparedDay, input);
+        }
+
+        return () -> day.partTwo(input);
+    }
+
+    private static <T> Supplier<String> partOne(PreparedDay<T> day, List<String> input) {
+        var model = day.prepare(input);
+        return () -> day.partOne(model);
+    }
+
+    private static <T> Supplier<String> partTwo(PreparedDay<T> day, List<String> input) {
+        var model = day.prepare(input);
+        return () -> day.partTwo(model);
+    }
+}
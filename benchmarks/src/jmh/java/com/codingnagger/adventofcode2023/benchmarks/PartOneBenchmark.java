@@ -0,0 +1,46 @@
+package com.codingnagger.adventofcode2023.benchmarks;
+
+import com.codingnagger.adventofcode2023.runner.DayRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PartOneBenchmark {
+    @Param({"1", "2", "3", "4", "5", "6", "7", "8", "9", "10", "11", "12", "13", "14", "15", "16"})
+    int day;
+
+    @Param({"1", "10", "100", "1000"})
+    int scale;
+
+    private Supplier<String> solver;
+
+    @Setup
+    public void setUp() {
+        solver = BenchmarkSolvers.partOne(
+                DayRegistry.load().get(day),
+                BenchmarkInputs.load(day, scale).lines().toList()
+        );
+    }
+
+    @Benchmark
+    public String partOne() {
+        return solver.get();
+    }
+}
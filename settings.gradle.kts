@@ -12,3 +12,4 @@ plugins {
 
 rootProject.name = "advent-of-code-2023"
 include("app")
+include("benchmarks")